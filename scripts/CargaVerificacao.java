@@ -0,0 +1,80 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CargaVerificacao.java
+ * Gerador de carga em laço fechado: mantém N requisições GET em andamento
+ * com o token no cabeçalho Authorization até completar o total. O cliente
+ * HTTP do JDK é assíncrono, então N pode chegar a dezenas de milhares com
+ * poucas threads (limite real: descritores de arquivo, ulimit -n).
+ *
+ * USO: TOKEN=... java scripts/CargaVerificacao.java <url> <simultaneas> <total>
+ *   (arquivo único, executado direto pelo java 17; usado por bench-verificador.sh)
+ *
+ * SAÍDA (uma linha): simultaneas total req/s p50_ms p99_ms max_ms erros
+ *   erros: respostas diferentes de 200 e falhas de conexão/timeout
+ */
+public class CargaVerificacao {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3 || System.getenv("TOKEN") == null) {
+            System.err.println("uso: TOKEN=... java CargaVerificacao.java <url> <simultaneas> <total>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int simultaneas = Integer.parseInt(args[1]);
+        int total = Integer.parseInt(args[2]);
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + System.getenv("TOKEN"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        // Aquecimento (JIT, pools de conexão dos dois lados) fora da medição
+        executar(cliente, requisicao, Math.min(simultaneas, 200), Math.min(total, 2000), new long[Math.min(total, 2000)]);
+
+        long[] latenciasNs = new long[total];
+        long inicio = System.nanoTime();
+        int erros = executar(cliente, requisicao, simultaneas, total, latenciasNs);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Arrays.sort(latenciasNs);
+        System.out.printf("%d %d %.0f %.1f %.1f %.1f %d%n", simultaneas, total, total / segundos,
+                latenciasNs[total / 2] / 1e6, latenciasNs[(int) (total * 0.99)] / 1e6,
+                latenciasNs[total - 1] / 1e6, erros);
+    }
+
+    private static int executar(HttpClient cliente, HttpRequest requisicao, int simultaneas, int total,
+                                long[] latenciasNs) throws InterruptedException {
+        Semaphore vagas = new Semaphore(simultaneas);
+        AtomicInteger erros = new AtomicInteger();
+        CompletableFuture<?>[] pendentes = new CompletableFuture<?>[total];
+        for (int i = 0; i < total; i++) {
+            vagas.acquire();
+            int indice = i;
+            long enviadaEm = System.nanoTime();
+            pendentes[i] = cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, falha) -> {
+                        latenciasNs[indice] = System.nanoTime() - enviadaEm;
+                        if (falha != null || resposta.statusCode() != 200) {
+                            erros.incrementAndGet();
+                        }
+                        vagas.release();
+                    });
+        }
+        CompletableFuture.allOf(pendentes).exceptionally(falha -> null).join();
+        return erros.get();
+    }
+}
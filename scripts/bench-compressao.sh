@@ -0,0 +1,65 @@
+#!/bin/sh
+# bench-compressao.sh
+# Mede bytes transferidos e latência das respostas típicas da API com e sem
+# gzip, em HTTP/1.1 e HTTP/2 sem TLS (h2c), para calibrar
+# server.compression.min-response-size e server.compression.mime-types
+#
+# USO: LOGIN_EMAIL=... LOGIN_SENHA=... scripts/bench-compressao.sh [repeticoes]
+#   repeticoes: requisições por combinação (padrão 20)
+#   LOGIN_EMAIL / LOGIN_SENHA: usuário ADMIN ativo (a listagem /admin/users exige ADMIN)
+#   BASE_URL: aplicação já em execução (padrão http://localhost:8080)
+#
+# PRÉ-REQUISITO: curl com suporte a HTTP/2 (curl -V lista "HTTP2")
+#
+# SAÍDA: uma linha por combinação: payload, protocolo, codificação,
+#   bytes do corpo, bytes dos cabeçalhos e mediana do tempo total em ms
+set -eu
+
+REPETICOES="${1:-20}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+: "${LOGIN_EMAIL:?defina LOGIN_EMAIL}"
+: "${LOGIN_SENHA:?defina LOGIN_SENHA}"
+
+CORPO_LOGIN=$(printf '{"email":"%s","senha":"%s"}' "$LOGIN_EMAIL" "$LOGIN_SENHA")
+TOKEN=$(curl -sf -X POST -H 'Content-Type: application/json' -d "$CORPO_LOGIN" "$BASE_URL/api/auth/login" \
+  | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+  echo "login falhou para $LOGIN_EMAIL" >&2
+  exit 1
+fi
+
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# requisitar <payload> <opções curl...>: imprime "bytes_corpo bytes_cabecalho tempo_ms"
+requisitar() {
+  case "$1" in
+    login)  shift; curl -s -o /dev/null -w '%{size_download} %{size_header} %{time_total}\n' "$@" \
+              -X POST -H 'Content-Type: application/json' -d "$CORPO_LOGIN" "$BASE_URL/api/auth/login" ;;
+    perfil) shift; curl -s -o /dev/null -w '%{size_download} %{size_header} %{time_total}\n' "$@" \
+              -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/auth/perfil" ;;
+    admin)  shift; curl -s -o /dev/null -w '%{size_download} %{size_header} %{time_total}\n' "$@" \
+              -H "Authorization: Bearer $TOKEN" "$BASE_URL/admin/users" ;;
+  esac
+}
+
+printf '%-8s %-9s %-9s %12s %12s %12s\n' payload protocolo codif bytes_corpo bytes_cabec mediana_ms
+for PAYLOAD in login perfil admin; do
+  for PROTOCOLO in http1.1 h2c; do
+    if [ "$PROTOCOLO" = "h2c" ]; then OPCAO_PROTOCOLO="--http2-prior-knowledge"; else OPCAO_PROTOCOLO="--http1.1"; fi
+    for CODIFICACAO in identity gzip; do
+      AMOSTRAS=""
+      i=1
+      while [ "$i" -le "$REPETICOES" ]; do
+        AMOSTRAS="$AMOSTRAS$(requisitar "$PAYLOAD" "$OPCAO_PROTOCOLO" -H "Accept-Encoding: $CODIFICACAO")
+"
+        i=$((i + 1))
+      done
+      CORPO=$(printf '%s' "$AMOSTRAS" | awk 'NF { print $1 }' | mediana)
+      CABECALHO=$(printf '%s' "$AMOSTRAS" | awk 'NF { print $2 }' | mediana)
+      TEMPO=$(printf '%s' "$AMOSTRAS" | awk 'NF { printf "%.2f\n", $3 * 1000 }' | mediana)
+      printf '%-8s %-9s %-9s %12s %12s %12s\n' "$PAYLOAD" "$PROTOCOLO" "$CODIFICACAO" "$CORPO" "$CABECALHO" "$TEMPO"
+    done
+  done
+done
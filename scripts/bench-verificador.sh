@@ -0,0 +1,48 @@
+#!/bin/sh
+# bench-verificador.sh
+# Compara a verificação de token pelo caminho servlet da API (GET
+# /api/auth/perfil: JwtAuthenticationFilter + consulta JDBC em thread do
+# Tomcat) com o módulo reativo verificador-token (GET /api/token/principal:
+# WebFlux + R2DBC) em níveis crescentes de requisições simultâneas
+#
+# USO: LOGIN_EMAIL=... LOGIN_SENHA=... scripts/bench-verificador.sh [total] [niveis]
+#   total: requisições medidas por nível (padrão 20000)
+#   niveis: requisições simultâneas, separadas por espaço (padrão "100 1000 5000 10000")
+#   LOGIN_EMAIL / LOGIN_SENHA: usuário ativo (o token é obtido no login da API)
+#   API_URL: API em execução (padrão http://localhost:8080)
+#   VERIFICADOR_URL: verificador-token em execução (padrão http://localhost:8081)
+#
+# PRÉ-REQUISITOS:
+# - as duas aplicações apontando para o mesmo banco e com o mesmo JWT_SECRET
+# - ulimit -n acima do maior nível, neste shell e nas duas aplicações
+#
+# SAÍDA: uma linha por caminho e nível: req/s, p50, p99 e máximo em ms e
+#   erros (respostas diferentes de 200, conexões recusadas, timeouts)
+set -eu
+
+TOTAL="${1:-20000}"
+NIVEIS="${2:-100 1000 5000 10000}"
+API_URL="${API_URL:-http://localhost:8080}"
+VERIFICADOR_URL="${VERIFICADOR_URL:-http://localhost:8081}"
+: "${LOGIN_EMAIL:?defina LOGIN_EMAIL}"
+: "${LOGIN_SENHA:?defina LOGIN_SENHA}"
+
+cd "$(dirname "$0")/.."
+
+CORPO_LOGIN=$(printf '{"email":"%s","senha":"%s"}' "$LOGIN_EMAIL" "$LOGIN_SENHA")
+TOKEN=$(curl -sf -X POST -H 'Content-Type: application/json' -d "$CORPO_LOGIN" "$API_URL/api/auth/login" \
+  | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+  echo "login falhou para $LOGIN_EMAIL" >&2
+  exit 1
+fi
+export TOKEN
+
+printf '%-9s %11s %8s %8s %9s %9s %9s %7s\n' caminho simultaneas total req_s p50_ms p99_ms max_ms erros
+for NIVEL in $NIVEIS; do
+  for CAMINHO in servlet reativo; do
+    if [ "$CAMINHO" = "servlet" ]; then URL="$API_URL/api/auth/perfil"; else URL="$VERIFICADOR_URL/api/token/principal"; fi
+    java -Xss256k scripts/CargaVerificacao.java "$URL" "$NIVEL" "$TOTAL" \
+      | awk -v c="$CAMINHO" '{ printf "%-9s %11s %8s %8s %9s %9s %9s %7s\n", c, $1, $2, $3, $4, $5, $6, $7 }'
+  done
+done
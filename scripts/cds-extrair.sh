@@ -0,0 +1,49 @@
+#!/bin/sh
+# cds-extrair.sh
+# Descompacta o fat jar em um layout compatível com AppCDS (Class Data Sharing)
+#
+# USO: scripts/cds-extrair.sh <jar> <diretorio-destino>
+#   jar: jar gerado com "mvn -Pcds package" (inclui as classes do Spring AOT)
+#   Requer JDK (ferramenta "jar"); no Dockerfile roda no estágio de build
+#
+# RESULTADO em <diretorio-destino>:
+#   application.jar   classes e recursos da aplicação; o manifesto aponta a
+#                     classe principal e as dependências em lib/ (Class-Path)
+#   lib/              dependências
+#
+# MOTIVO: o CDS só arquiva classes carregadas de jars do classpath; não aceita
+# jars aninhados (fat jar) nem diretórios como BOOT-INF/classes
+set -eu
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+DESTINO="$2"
+TEMP=$(mktemp -d)
+
+cd "$TEMP"
+jar xf "$JAR"
+
+MAIN_CLASS=$(sed -n 's/^Start-Class: *//p' META-INF/MANIFEST.MF | tr -d '\r')
+
+# Manifesto: linhas de no máximo 72 bytes, continuação iniciada por espaço
+{
+  echo "Main-Class: $MAIN_CLASS"
+  printf 'Class-Path:'
+  for lib in $(ls BOOT-INF/lib | sort); do
+    printf ' lib/%s' "$lib"
+  done
+  echo
+} | awk '{
+  linha = $0
+  print substr(linha, 1, 70)
+  linha = substr(linha, 71)
+  while (length(linha) > 0) {
+    print " " substr(linha, 1, 69)
+    linha = substr(linha, 70)
+  }
+}' > manifesto.mf
+
+mkdir -p "$DESTINO/lib"
+cp BOOT-INF/lib/*.jar "$DESTINO/lib/"
+jar --create --file "$DESTINO/application.jar" --manifest manifesto.mf -C BOOT-INF/classes .
+
+rm -rf "$TEMP"
@@ -0,0 +1,27 @@
+#!/bin/sh
+# cds-treino.sh
+# Gera o arquivo AppCDS (app.jsa) a partir de uma execução de treino
+#
+# USO: scripts/cds-treino.sh <diretorio>
+#   diretorio: resultado de scripts/cds-extrair.sh
+#   Deve rodar com a MESMA JVM que executará a aplicação (no Dockerfile,
+#   no estágio final); o arquivo CDS é rejeitado por outra build da JVM
+#
+# EXECUÇÃO DEPOIS DO TREINO:
+#   java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar application.jar
+#
+# O treino sobe o contexto Spring completo sem banco de dados e encerra ao final
+# do refresh (spring.context.exit=onRefresh); ver FastStartupConfig
+set -eu
+
+cd "$1"
+
+java -XX:ArchiveClassesAtExit=app.jsa \
+     -Xlog:cds=off -Xlog:cds+dynamic=off \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -Dmottu.cds.treino=true \
+     -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+     -jar application.jar
+
+ls -l app.jsa
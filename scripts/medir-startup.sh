@@ -0,0 +1,78 @@
+#!/bin/sh
+# medir-startup.sh
+# Mede o tempo de inicialização até o primeiro POST /api/auth/login com sucesso,
+# comparando o fat jar tradicional com a execução Spring AOT + AppCDS
+#
+# USO: LOGIN_EMAIL=... LOGIN_SENHA=... scripts/medir-startup.sh [repeticoes]
+#   repeticoes: execuções por modo (padrão 5)
+#   LOGIN_EMAIL / LOGIN_SENHA: usuário ativo existente no banco configurado
+#   Banco: o mesmo de application.yml, ou SPRING_DATASOURCE_URL/USERNAME/PASSWORD
+#
+# PRÉ-REQUISITO: mvn -Pcds package -DskipTests
+#   O mesmo jar serve aos dois modos; o fat jar ignora as classes AOT
+#   quando executado sem -Dspring.aot.enabled=true
+#
+# SAÍDA: tempo de cada execução e a mediana por modo, em milissegundos
+set -eu
+
+REPETICOES="${1:-5}"
+PORTA="${SERVER_PORT:-8080}"
+JAR="target/mottu-auth-api-1.0.0.jar"
+CDS_DIR="target/cds"
+: "${LOGIN_EMAIL:?defina LOGIN_EMAIL}"
+: "${LOGIN_SENHA:?defina LOGIN_SENHA}"
+
+cd "$(dirname "$0")/.."
+
+if [ ! -f "$CDS_DIR/app.jsa" ]; then
+  rm -rf "$CDS_DIR"
+  sh scripts/cds-extrair.sh "$JAR" "$CDS_DIR"
+  sh scripts/cds-treino.sh "$CDS_DIR"
+fi
+
+agora_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# medir <diretorio> <argumentos java...>: imprime ms até o primeiro login com HTTP 200
+medir() {
+  DIR="$1"
+  shift
+  INICIO=$(agora_ms)
+  (cd "$DIR" && exec java -Dserver.port="$PORTA" "$@" > /dev/null 2>&1) &
+  PID=$!
+  CORPO=$(printf '{"email":"%s","senha":"%s"}' "$LOGIN_EMAIL" "$LOGIN_SENHA")
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+              -d "$CORPO" "http://localhost:$PORTA/api/auth/login")" = "200" ]; do
+    if ! kill -0 "$PID" 2> /dev/null; then
+      echo "aplicação encerrou antes do primeiro login" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  FIM=$(agora_ms)
+  kill "$PID"
+  wait "$PID" 2> /dev/null || true
+  echo $((FIM - INICIO))
+}
+
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+for MODO in fatjar cds; do
+  TEMPOS=""
+  i=1
+  while [ "$i" -le "$REPETICOES" ]; do
+    if [ "$MODO" = "fatjar" ]; then
+      T=$(medir . -jar "$JAR")
+    else
+      T=$(medir "$CDS_DIR" -XX:SharedArchiveFile=app.jsa -Xlog:cds=off -Dspring.aot.enabled=true -jar application.jar)
+    fi
+    echo "$MODO execução $i: $T ms"
+    TEMPOS="$TEMPOS$T
+"
+    i=$((i + 1))
+  done
+  echo "$MODO mediana: $(printf '%s' "$TEMPOS" | mediana) ms"
+done
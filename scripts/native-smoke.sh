@@ -0,0 +1,100 @@
+#!/bin/sh
+# native-smoke.sh
+# Teste de fumaça do executável nativo contra um Oracle local, com comparação
+# de tempo de inicialização e memória residente (RSS) em relação à JVM
+#
+# USO: scripts/native-smoke.sh
+#
+# PRÉ-REQUISITOS:
+#   mvn -Pnative -DskipTests package   -> target/mottu-auth-api (executável nativo)
+#   mvn -DskipTests package            -> target/mottu-auth-api-1.0.0.jar (JVM)
+#   docker (Oracle Database Free: gvenzl/oracle-free)
+#   (o segundo package sobrescreve o jar, mas preserva o executável nativo)
+#
+# FLUXO:
+#   1. Sobe o Oracle local (usuário de aplicação mottu/mottu) e espera ficar pronto
+#   2. Para cada modo (native, jvm): inicia a aplicação, mede o tempo até o
+#      primeiro login do admin semeado pela migração V2, executa
+#      cadastro -> login -> perfil e lê o RSS do processo
+#   3. Imprime a comparação e remove o container
+set -eu
+
+cd "$(dirname "$0")/.."
+
+PORTA="${SERVER_PORT:-8080}"
+CONTAINER=mottu-oracle-smoke
+BINARIO=target/mottu-auth-api
+JAR=target/mottu-auth-api-1.0.0.jar
+
+[ -x "$BINARIO" ] || { echo "executável nativo ausente: mvn -Pnative -DskipTests package" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "jar ausente: mvn -DskipTests package" >&2; exit 1; }
+
+docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+docker run -d --name "$CONTAINER" -p 1521:1521 \
+  -e ORACLE_PASSWORD=oracle -e APP_USER=mottu -e APP_USER_PASSWORD=mottu \
+  gvenzl/oracle-free:23-slim > /dev/null
+trap 'docker rm -f "$CONTAINER" > /dev/null 2>&1 || true' EXIT
+
+echo "aguardando Oracle..."
+until docker logs "$CONTAINER" 2>&1 | grep -q "DATABASE IS READY TO USE"; do
+  sleep 2
+done
+
+export SPRING_DATASOURCE_URL="jdbc:oracle:thin:@//localhost:1521/FREEPDB1"
+export SPRING_DATASOURCE_USERNAME=mottu
+export SPRING_DATASOURCE_PASSWORD=mottu
+
+agora_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+requisitar() {
+  # requisitar <método> <caminho> <corpo JSON> [token]: imprime "<status> <corpo>"
+  if [ -n "${4:-}" ]; then
+    curl -s -w ' %{http_code}' -X "$1" -H 'Content-Type: application/json' \
+         -H "Authorization: Bearer $4" -d "$3" "http://localhost:$PORTA$2"
+  else
+    curl -s -w ' %{http_code}' -X "$1" -H 'Content-Type: application/json' \
+         -d "$3" "http://localhost:$PORTA$2"
+  fi
+}
+
+status_de() {
+  echo "$1" | awk '{ print $NF }'
+}
+
+executar() {
+  MODO="$1"
+  shift
+  INICIO=$(agora_ms)
+  "$@" --server.port="$PORTA" > "target/smoke-$MODO.log" 2>&1 &
+  PID=$!
+
+  LOGIN_ADMIN='{"email":"admin@mottu.com","senha":"admin123"}'
+  until [ "$(status_de "$(requisitar POST /api/auth/login "$LOGIN_ADMIN" || true)")" = "200" ]; do
+    kill -0 "$PID" 2> /dev/null || { echo "$MODO: aplicação encerrou (ver target/smoke-$MODO.log)" >&2; exit 1; }
+    sleep 0.05
+  done
+  TEMPO=$(( $(agora_ms) - INICIO ))
+
+  EMAIL="smoke-$MODO-$(date +%s)@mottu.com"
+  CADASTRO=$(requisitar POST /api/auth/cadastro "{\"nome\":\"Smoke $MODO\",\"email\":\"$EMAIL\",\"senha\":\"senha123\"}")
+  [ "$(status_de "$CADASTRO")" = "200" ] || { echo "$MODO: cadastro falhou: $CADASTRO" >&2; exit 1; }
+  LOGIN=$(requisitar POST /api/auth/login "{\"email\":\"$EMAIL\",\"senha\":\"senha123\"}")
+  [ "$(status_de "$LOGIN")" = "200" ] || { echo "$MODO: login falhou: $LOGIN" >&2; exit 1; }
+  TOKEN=$(echo "$LOGIN" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+  PERFIL=$(curl -s -w ' %{http_code}' -H "Authorization: Bearer $TOKEN" "http://localhost:$PORTA/api/auth/perfil")
+  [ "$(status_de "$PERFIL")" = "200" ] || { echo "$MODO: perfil falhou: $PERFIL" >&2; exit 1; }
+  PAGINA=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORTA/login")
+  [ "$PAGINA" = "200" ] || { echo "$MODO: página /login falhou: $PAGINA" >&2; exit 1; }
+
+  RSS_KB=$(ps -o rss= -p "$PID" | tr -d ' ')
+  kill "$PID"
+  wait "$PID" 2> /dev/null || true
+
+  printf '%-8s inicialização até o 1º login: %6d ms   RSS: %6d MB\n' "$MODO" "$TEMPO" $((RSS_KB / 1024))
+}
+
+executar native "./$BINARIO"
+executar jvm java -jar "$JAR"
+echo "teste de fumaça OK"
@@ -0,0 +1,193 @@
+-- verificar-indices.sql
+-- Confere os planos das consultas de mottu_usuarios_sistema e mede a
+-- amplificação de escrita dos índices (V10__Redesenhar_Indices_Usuarios.sql
+-- e idx_mottu_usuarios_atualizacao da V11)
+--
+-- USO: sql -S usuario/senha@//host:1521/servico @scripts/verificar-indices.sql
+--      (SQLcl ou SQL*Plus; rodar antes e depois da V10 para comparar)
+--
+-- PRÉ-REQUISITOS:
+-- - PLAN_TABLE (padrão desde o Oracle 10g)
+-- - SELECT em V$MYSTAT e V$STATNAME para a parte de medição
+--
+-- SAÍDA:
+-- 1. Índices atuais da tabela
+-- 2. Por consulta: OK/FALHA (consultas de login) ou OK/ATENÇÃO (listagem),
+--    seguido do plano (DBMS_XPLAN)
+-- 3. Índices mantidos por tipo de comando e, medidos, "db block changes"
+--    e "redo size" por INSERT/UPDATE (tudo desfeito com ROLLBACK)
+
+SET SERVEROUTPUT ON SIZE UNLIMITED
+SET LINESIZE 200
+SET PAGESIZE 200
+SET FEEDBACK OFF
+SET VERIFY OFF
+
+PROMPT
+PROMPT === 1. Índices de MOTTU_USUARIOS_SISTEMA ===
+-- Índices baseados em função aparecem como SYS_NC...$ (ex.: LOWER(email_usuario) da V9)
+SELECT i.index_name,
+       i.uniqueness,
+       LISTAGG(c.column_name, ', ') WITHIN GROUP (ORDER BY c.column_position) AS colunas
+  FROM user_indexes i
+  JOIN user_ind_columns c ON c.index_name = i.index_name
+ WHERE i.table_name = 'MOTTU_USUARIOS_SISTEMA'
+ GROUP BY i.index_name, i.uniqueness
+ ORDER BY i.index_name;
+
+BEGIN
+  DBMS_STATS.GATHER_TABLE_STATS(USER, 'MOTTU_USUARIOS_SISTEMA', cascade => TRUE);
+END;
+/
+
+PROMPT
+PROMPT === 2. Planos das consultas da aplicação ===
+DELETE FROM plan_table WHERE statement_id LIKE 'mottu_%';
+
+-- findByEmailAndAtivoTrue (JwtAuthenticationFilter, loadUserByUsername)
+EXPLAIN PLAN SET STATEMENT_ID = 'mottu_login_ativo' FOR
+SELECT id_usuario, nome_completo, email_usuario, senha_criptografada, perfil_acesso, ativo,
+       data_criacao, data_atualizacao, versao, ultimo_login, total_logins
+  FROM mottu_usuarios_sistema
+ WHERE email_usuario = :email AND ativo = 1;
+
+-- findByEmail (POST /api/auth/login, buscarPorEmail)
+EXPLAIN PLAN SET STATEMENT_ID = 'mottu_login' FOR
+SELECT id_usuario, nome_completo, email_usuario, senha_criptografada, perfil_acesso, ativo,
+       data_criacao, data_atualizacao, versao, ultimo_login, total_logins
+  FROM mottu_usuarios_sistema
+ WHERE email_usuario = :email;
+
+-- buscarIdsPorFiltro (operação em massa do admin)
+EXPLAIN PLAN SET STATEMENT_ID = 'mottu_filtro_massa' FOR
+SELECT id_usuario
+  FROM mottu_usuarios_sistema
+ WHERE perfil_acesso = :perfil AND ativo = :ativo AND email_usuario LIKE :padrao ESCAPE '!'
+ ORDER BY id_usuario;
+
+-- listarResumos (GET /admin/users)
+EXPLAIN PLAN SET STATEMENT_ID = 'mottu_listagem' FOR
+SELECT id_usuario, nome_completo, email_usuario, perfil_acesso, ativo, ultimo_login, total_logins
+  FROM mottu_usuarios_sistema
+ ORDER BY nome_completo;
+
+-- UserChangePoller.sincronizar (alterações desde a marca d'água)
+EXPLAIN PLAN SET STATEMENT_ID = 'mottu_sincronizacao' FOR
+SELECT id_usuario, email_usuario, perfil_acesso, ativo, versao, data_atualizacao
+  FROM mottu_usuarios_sistema
+ WHERE data_atualizacao > :marca
+ ORDER BY data_atualizacao;
+
+DECLARE
+  PROCEDURE conferir(p_id VARCHAR2, p_operacao VARCHAR2, p_opcoes VARCHAR2, p_indice VARCHAR2,
+                     p_sem_tabela BOOLEAN, p_obrigatorio BOOLEAN) IS
+    v_usa_indice NUMBER;
+    v_acessa_tabela NUMBER;
+    v_full NUMBER;
+    v_ok BOOLEAN;
+  BEGIN
+    SELECT COUNT(*) INTO v_usa_indice FROM plan_table
+     WHERE statement_id = p_id AND operation = p_operacao
+       AND (p_opcoes IS NULL OR options = p_opcoes) AND object_name = p_indice;
+    SELECT COUNT(*) INTO v_acessa_tabela FROM plan_table
+     WHERE statement_id = p_id AND operation = 'TABLE ACCESS';
+    SELECT COUNT(*) INTO v_full FROM plan_table
+     WHERE statement_id = p_id AND operation = 'TABLE ACCESS' AND options = 'FULL';
+    v_ok := v_usa_indice > 0 AND v_full = 0 AND (NOT p_sem_tabela OR v_acessa_tabela = 0);
+    DBMS_OUTPUT.PUT_LINE(RPAD(p_id, 22)
+      || CASE WHEN v_ok THEN 'OK      ' WHEN p_obrigatorio THEN 'FALHA   ' ELSE 'ATENÇÃO ' END
+      || 'esperado ' || p_operacao || ' ' || NVL(p_opcoes, '*') || ' em ' || p_indice
+      || CASE WHEN p_sem_tabela THEN ' sem acesso à tabela' END);
+  END;
+BEGIN
+  conferir('mottu_login_ativo',  'INDEX', 'RANGE SCAN', 'IDX_MOTTU_USUARIOS_LOGIN',    FALSE, TRUE);
+  conferir('mottu_login',        'INDEX', 'RANGE SCAN', 'IDX_MOTTU_USUARIOS_LOGIN',    FALSE, TRUE);
+  conferir('mottu_filtro_massa', 'INDEX', NULL,         'IDX_MOTTU_USUARIOS_LISTAGEM', TRUE,  TRUE);
+  -- Tabelas pequenas: o otimizador pode preferir FULL + SORT; só avisa
+  conferir('mottu_listagem',     'INDEX', 'FULL SCAN',  'IDX_MOTTU_USUARIOS_LISTAGEM', FALSE, FALSE);
+  conferir('mottu_sincronizacao', 'INDEX', 'RANGE SCAN', 'IDX_MOTTU_USUARIOS_ATUALIZACAO', FALSE, FALSE);
+END;
+/
+
+SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'mottu_login_ativo', 'BASIC +PREDICATE'));
+SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'mottu_login', 'BASIC +PREDICATE'));
+SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'mottu_filtro_massa', 'BASIC +PREDICATE'));
+SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'mottu_listagem', 'BASIC +PREDICATE'));
+SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'mottu_sincronizacao', 'BASIC +PREDICATE'));
+
+PROMPT
+PROMPT === 3. Amplificação de escrita ===
+PROMPT Índices mantidos por comando (PK incluída; data_atualizacao conta nos
+PROMPT UPDATEs que disparam TRG_MOTTU_USUARIOS_BU e fica fora do INSERT, que a deixa nula)
+SELECT 'INSERT (cadastro)' AS comando, COUNT(DISTINCT index_name) AS indices
+  FROM user_ind_columns WHERE table_name = 'MOTTU_USUARIOS_SISTEMA'
+   AND index_name NOT IN (SELECT index_name FROM user_ind_columns
+                           WHERE table_name = 'MOTTU_USUARIOS_SISTEMA' AND column_name = 'DATA_ATUALIZACAO')
+UNION ALL
+SELECT 'UPDATE ativo (alternarStatusAtivo)', COUNT(DISTINCT index_name)
+  FROM user_ind_columns WHERE table_name = 'MOTTU_USUARIOS_SISTEMA' AND column_name IN ('ATIVO', 'DATA_ATUALIZACAO')
+UNION ALL
+SELECT 'UPDATE nome/email/perfil/ativo (admin)', COUNT(DISTINCT c.index_name)
+  FROM user_ind_columns c
+ WHERE c.table_name = 'MOTTU_USUARIOS_SISTEMA'
+   AND (c.column_name IN ('NOME_COMPLETO', 'EMAIL_USUARIO', 'PERFIL_ACESSO', 'ATIVO', 'DATA_ATUALIZACAO')
+        OR c.column_name LIKE 'SYS_NC%')
+UNION ALL
+SELECT 'UPDATE ultimo_login (LastLoginTracker)', COUNT(DISTINCT index_name)
+  FROM user_ind_columns WHERE table_name = 'MOTTU_USUARIOS_SISTEMA'
+   AND column_name IN ('ULTIMO_LOGIN', 'TOTAL_LOGINS');
+
+PROMPT Medido: média por linha em 500 INSERTs e 500 UPDATEs de cada tipo (desfeitos)
+DECLARE
+  c_linhas CONSTANT PLS_INTEGER := 500;
+  v_blocos_ini NUMBER;
+  v_redo_ini NUMBER;
+  v_base_id NUMBER;
+
+  FUNCTION estatistica(p_nome VARCHAR2) RETURN NUMBER IS
+    v_valor NUMBER;
+  BEGIN
+    SELECT m.value INTO v_valor FROM v$mystat m JOIN v$statname n ON n.statistic# = m.statistic#
+     WHERE n.name = p_nome;
+    RETURN v_valor;
+  END;
+
+  PROCEDURE marcar IS
+  BEGIN
+    v_blocos_ini := estatistica('db block changes');
+    v_redo_ini := estatistica('redo size');
+  END;
+
+  PROCEDURE relatar(p_comando VARCHAR2) IS
+  BEGIN
+    DBMS_OUTPUT.PUT_LINE(RPAD(p_comando, 22)
+      || 'db block changes/linha ' || TO_CHAR(ROUND((estatistica('db block changes') - v_blocos_ini) / c_linhas, 1), 'FM9990.0')
+      || '   redo bytes/linha ' || ROUND((estatistica('redo size') - v_redo_ini) / c_linhas));
+  END;
+BEGIN
+  SELECT NVL(MAX(id_usuario), 0) + 1000000 INTO v_base_id FROM mottu_usuarios_sistema;
+
+  marcar;
+  FOR i IN 1 .. c_linhas LOOP
+    INSERT INTO mottu_usuarios_sistema (id_usuario, nome_completo, email_usuario, senha_criptografada, perfil_acesso, ativo)
+    VALUES (v_base_id + i, 'Medição ' || i, 'medicao-' || (v_base_id + i) || '@mottu.invalid',
+            '$2a$10$medicaomedicaomedicaomedicaomedicaomedicaomedicaomed', 'USUARIO', 1);
+  END LOOP;
+  relatar('INSERT');
+
+  marcar;
+  FOR i IN 1 .. c_linhas LOOP
+    UPDATE mottu_usuarios_sistema SET ativo = 0 WHERE id_usuario = v_base_id + i;
+  END LOOP;
+  relatar('UPDATE ativo');
+
+  marcar;
+  FOR i IN 1 .. c_linhas LOOP
+    UPDATE mottu_usuarios_sistema SET ultimo_login = SYSTIMESTAMP, total_logins = total_logins + 1
+     WHERE id_usuario = v_base_id + i;
+  END LOOP;
+  relatar('UPDATE ultimo_login');
+
+  ROLLBACK;
+END;
+/
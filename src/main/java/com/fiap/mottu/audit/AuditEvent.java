@@ -0,0 +1,65 @@
+package com.fiap.mottu.audit;
+
+import java.time.Instant;
+
+/**
+ * CLASSE: AuditEvent
+ * 
+ * Evento de auditoria imutável, criado na thread da requisição e
+ * gravado depois, em lote, pelo AuditWriter.
+ * 
+ * CAMPOS:
+ * - tipo: o que aconteceu (AuditEventType)
+ * - email: usuário alvo (quem tentou o login, quem foi alterado)
+ * - ator: usuário autenticado que executou a ação (nulo se anônimo)
+ * - detalhe: texto livre curto (ex.: "bulk INATIVAR 12 usuários")
+ * - ip: endereço de origem da requisição
+ * - instante: momento em que o evento ocorreu (não o da gravação)
+ */
+public final class AuditEvent {
+
+    private final AuditEventType tipo;
+
+    private final String email;
+
+    private final String ator;
+
+    private final String detalhe;
+
+    private final String ip;
+
+    private final Instant instante;
+
+    public AuditEvent(AuditEventType tipo, String email, String ator, String detalhe, String ip, Instant instante) {
+        this.tipo = tipo;
+        this.email = email;
+        this.ator = ator;
+        this.detalhe = detalhe;
+        this.ip = ip;
+        this.instante = instante;
+    }
+
+    public AuditEventType getTipo() {
+        return tipo;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getAtor() {
+        return ator;
+    }
+
+    public String getDetalhe() {
+        return detalhe;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.mottu.audit;
+
+/**
+ * ENUM: AuditEventType
+ * 
+ * Tipos de evento gravados na trilha de auditoria
+ * (coluna TIPO_EVENTO de mottu_auditoria_autenticacao).
+ */
+public enum AuditEventType {
+    LOGIN_SUCESSO,
+    LOGIN_FALHA,
+    CADASTRO,
+    CADASTRO_FALHA,
+    TOKEN_REJEITADO,
+    ADMIN_ACAO
+}
@@ -0,0 +1,192 @@
+package com.fiap.mottu.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * COMPONENTE: AuditLog
+ * 
+ * Porta de entrada da trilha de auditoria. Controllers e filtros chamam
+ * registrar(...) na thread da requisição; o evento entra em uma fila em
+ * memória e o AuditWriter grava em lote depois, sem custo de banco na
+ * requisição.
+ * 
+ * FUNÇÃO: Fila limitada e sem locks (write-behind) de eventos de auditoria
+ * 
+ * IMPORTANTE: 
+ * - ConcurrentLinkedQueue + contador atômico de tamanho (CAS) limitam a fila
+ *   a mottu.audit.capacidade sem synchronized
+ * - Fila cheia aplica a AuditOverflowPolicy configurada
+ * - Eventos na fila se perdem se o processo morrer sem shutdown
+ *   (o AuditWriter descarrega a fila no encerramento normal)
+ * 
+ * MÉTRICAS:
+ * - mottu.audit.queue.depth: eventos aguardando gravação
+ * - mottu.audit.events.dropped{motivo=overflow}: descartados por fila cheia
+ */
+@Component
+public class AuditLog {
+
+    private final Queue<AuditEvent> fila = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger tamanho = new AtomicInteger();
+
+    private final AtomicLong excedentes = new AtomicLong();
+
+    private final int capacidade;
+
+    private final AuditOverflowPolicy politica;
+
+    private final int amostragem;
+
+    private final long bloqueioMaxNanos;
+
+    private final Counter descartados;
+
+    public AuditLog(MeterRegistry meterRegistry,
+                    @Value("${mottu.audit.capacidade:10000}") int capacidade,
+                    @Value("${mottu.audit.politica-overflow:DROP}") AuditOverflowPolicy politica,
+                    @Value("${mottu.audit.amostragem:10}") int amostragem,
+                    @Value("${mottu.audit.bloqueio-max-ms:50}") long bloqueioMaxMillis) {
+        this.capacidade = capacidade;
+        this.politica = politica;
+        this.amostragem = Math.max(1, amostragem);
+        this.bloqueioMaxNanos = TimeUnit.MILLISECONDS.toNanos(bloqueioMaxMillis);
+        Gauge.builder("mottu.audit.queue.depth", tamanho, AtomicInteger::get)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("mottu.audit.events.dropped")
+                .description("Eventos de auditoria descartados")
+                .tag("motivo", "overflow")
+                .register(meterRegistry);
+    }
+
+    /**
+     * MÉTODO: registrar(AuditEventType tipo, String email, String detalhe)
+     * 
+     * FUNÇÃO: Enfileira um evento; ator e IP vêm da requisição atual
+     * RETORNO: false se o evento foi descartado pela política de overflow
+     */
+    public boolean registrar(AuditEventType tipo, String email, String detalhe) {
+        return registrar(new AuditEvent(tipo, email, atorAtual(), detalhe, ipAtual(), Instant.now()));
+    }
+
+    public boolean registrar(AuditEvent evento) {
+        if (reservarVaga()) {
+            fila.offer(evento);
+            return true;
+        }
+        return switch (politica) {
+            case DROP -> descartar();
+            case SAMPLE -> amostrar(evento);
+            case BLOCK -> aguardarVaga(evento);
+        };
+    }
+
+    /**
+     * MÉTODO: drenar(int maximo)
+     * 
+     * FUNÇÃO: Retira até maximo eventos da fila, do mais antigo ao mais novo
+     * USO: AuditWriter
+     */
+    public List<AuditEvent> drenar(int maximo) {
+        List<AuditEvent> lote = new ArrayList<>(Math.min(maximo, Math.max(tamanho.get(), 1)));
+        AuditEvent evento;
+        while (lote.size() < maximo && (evento = fila.poll()) != null) {
+            tamanho.decrementAndGet();
+            lote.add(evento);
+        }
+        return lote;
+    }
+
+    public int tamanho() {
+        return tamanho.get();
+    }
+
+    private boolean reservarVaga() {
+        int atual;
+        do {
+            atual = tamanho.get();
+            if (atual >= capacidade) {
+                return false;
+            }
+        } while (!tamanho.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    private boolean descartar() {
+        descartados.increment();
+        return false;
+    }
+
+    /**
+     * SAMPLE: 1 a cada "amostragem" eventos excedentes substitui o mais
+     * antigo da fila; os demais são descartados
+     */
+    private boolean amostrar(AuditEvent evento) {
+        if (excedentes.incrementAndGet() % amostragem != 0) {
+            return descartar();
+        }
+        if (fila.poll() != null) {
+            // Vaga do evento removido passa para o novo; tamanho não muda
+            descartados.increment();
+            fila.offer(evento);
+            return true;
+        }
+        if (reservarVaga()) {
+            fila.offer(evento);
+            return true;
+        }
+        return descartar();
+    }
+
+    /**
+     * BLOCK: espera ativa curta (parkNanos) por uma vaga, limitada a
+     * bloqueioMaxNanos para nunca travar a requisição indefinidamente
+     */
+    private boolean aguardarVaga(AuditEvent evento) {
+        long limite = System.nanoTime() + bloqueioMaxNanos;
+        while (System.nanoTime() < limite) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (reservarVaga()) {
+                fila.offer(evento);
+                return true;
+            }
+        }
+        return descartar();
+    }
+
+    private static String atorAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+
+    private static String ipAtual() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            return atributos.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
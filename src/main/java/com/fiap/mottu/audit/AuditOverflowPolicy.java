@@ -0,0 +1,19 @@
+package com.fiap.mottu.audit;
+
+/**
+ * ENUM: AuditOverflowPolicy
+ * 
+ * O que fazer com um evento quando a fila de auditoria está cheia
+ * (propriedade mottu.audit.politica-overflow).
+ * 
+ * - DROP: descarta o evento novo; a requisição nunca espera
+ * - SAMPLE: aceita 1 a cada mottu.audit.amostragem eventos excedentes,
+ *   removendo o mais antigo da fila; mantém uma amostra do pico
+ * - BLOCK: a requisição espera até mottu.audit.bloqueio-max-ms por uma
+ *   vaga e, se não houver, descarta; nenhum evento é perdido em picos curtos
+ */
+public enum AuditOverflowPolicy {
+    DROP,
+    SAMPLE,
+    BLOCK
+}
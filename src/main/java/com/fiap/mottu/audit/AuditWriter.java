@@ -0,0 +1,192 @@
+package com.fiap.mottu.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * COMPONENTE: AuditWriter
+ * 
+ * Grava em segundo plano os eventos enfileirados no AuditLog, em lotes
+ * de INSERT (JDBC batch) na tabela mottu_auditoria_autenticacao (V6).
+ * 
+ * FUNÇÃO: Escritor assíncrono (write-behind) da trilha de auditoria
+ * AGENDAMENTO: a cada mottu.audit.intervalo-flush-ms (SchedulingConfig)
+ * 
+ * IMPORTANTE: 
+ * - Um ciclo drena a fila inteira, em lotes de até mottu.audit.lote eventos
+ * - Cada lote roda em uma transação: rejeitado, nada dele fica gravado
+ * - Lote rejeitado por um evento (dado inválido): os eventos são gravados
+ *   um a um, e só o que falhar é descartado; um evento ruim (ex.: email
+ *   forjado no login) não apaga os demais
+ * - Banco indisponível descarta o lote (contado em métricas) em vez de
+ *   reenfileirar, para não crescer a fila sem limite durante uma queda
+ * - Textos maiores que a coluna são truncados pelo tamanho em bytes UTF-8:
+ *   VARCHAR2(n) de V6 conta bytes (semântica BYTE), e um texto acentuado
+ *   cortado por caracteres ainda estouraria a coluna (ORA-12899)
+ * - No encerramento (@PreDestroy) descarrega o que restou na fila
+ * - @Lazy(false): criado mesmo com inicialização preguiçosa (perfil
+ *   "inicio-rapido"); sem a instância, o @Scheduled não é registrado
+ * 
+ * MÉTRICAS:
+ * - mottu.audit.flush: latência de cada INSERT em lote
+ * - mottu.audit.events.written: eventos gravados
+ * - mottu.audit.events.dropped{motivo=erro}: eventos perdidos por falha de banco
+ */
+@Component
+@Lazy(false)
+public class AuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    private static final String INSERT = "INSERT INTO mottu_auditoria_autenticacao "
+            + "(tipo_evento, email_usuario, email_ator, detalhe, endereco_ip, data_evento) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int TAMANHO_EMAIL = 100;
+
+    private static final int TAMANHO_DETALHE = 500;
+
+    private static final int TAMANHO_IP = 45;
+
+    private final AuditLog auditLog;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int tamanhoLote;
+
+    private final Timer tempoFlush;
+
+    private final Counter gravados;
+
+    private final Counter perdidos;
+
+    public AuditWriter(AuditLog auditLog,
+                       JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${mottu.audit.lote:500}") int tamanhoLote) {
+        this.auditLog = auditLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.tempoFlush = Timer.builder("mottu.audit.flush")
+                .description("Latência da gravação em lote da auditoria")
+                .register(meterRegistry);
+        this.gravados = Counter.builder("mottu.audit.events.written")
+                .description("Eventos de auditoria gravados")
+                .register(meterRegistry);
+        this.perdidos = Counter.builder("mottu.audit.events.dropped")
+                .description("Eventos de auditoria descartados")
+                .tag("motivo", "erro")
+                .register(meterRegistry);
+    }
+
+    /**
+     * MÉTODO: descarregar()
+     * 
+     * FUNÇÃO: Grava todos os eventos pendentes, lote a lote
+     * USO: Agendado; também chamado no encerramento e pelos testes
+     */
+    @Scheduled(fixedDelayString = "${mottu.audit.intervalo-flush-ms:1000}")
+    public void descarregar() {
+        List<AuditEvent> lote;
+        do {
+            lote = auditLog.drenar(tamanhoLote);
+            if (!lote.isEmpty()) {
+                gravar(lote);
+            }
+        } while (lote.size() == tamanhoLote);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+    }
+
+    private void gravar(List<AuditEvent> lote) {
+        Timer.Sample inicio = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT, lote, lote.size(), AuditWriter::preencher));
+            gravados.increment(lote.size());
+        } catch (DataAccessException | TransactionException ex) {
+            if (lote.size() > 1 && !DatabaseCircuitBreaker.falhaDeBanco(ex)) {
+                log.warn("Lote de {} eventos de auditoria rejeitado ({}); gravando um a um", lote.size(), ex.getMessage());
+                lote.forEach(this::gravarUm);
+            } else {
+                perdidos.increment(lote.size());
+                log.error("Falha ao gravar {} eventos de auditoria: {}", lote.size(), ex.getMessage());
+            }
+        } finally {
+            inicio.stop(tempoFlush);
+        }
+    }
+
+    private void gravarUm(AuditEvent evento) {
+        try {
+            jdbcTemplate.update(INSERT, ps -> preencher(ps, evento));
+            gravados.increment();
+        } catch (DataAccessException ex) {
+            perdidos.increment();
+            log.error("Evento de auditoria {} descartado: {}", evento.getTipo(), ex.getMessage());
+        }
+    }
+
+    private static void preencher(PreparedStatement ps, AuditEvent evento) throws SQLException {
+        ps.setString(1, evento.getTipo().name());
+        ps.setString(2, truncar(evento.getEmail(), TAMANHO_EMAIL));
+        ps.setString(3, truncar(evento.getAtor(), TAMANHO_EMAIL));
+        if (evento.getDetalhe() != null) {
+            ps.setString(4, truncar(evento.getDetalhe(), TAMANHO_DETALHE));
+        } else {
+            ps.setNull(4, Types.VARCHAR);
+        }
+        ps.setString(5, truncar(evento.getIp(), TAMANHO_IP));
+        ps.setTimestamp(6, Timestamp.from(evento.getInstante()));
+    }
+
+    /**
+     * MÉTODO: truncar(String texto, int bytes)
+     * 
+     * FUNÇÃO: Maior prefixo do texto que cabe em "bytes" bytes UTF-8, sem
+     * partir um caractere (nem um par substituto) ao meio
+     */
+    private static String truncar(String texto, int bytes) {
+        if (texto == null || texto.length() * 3 <= bytes) {
+            return texto;
+        }
+        int usados = 0;
+        for (int i = 0; i < texto.length(); ) {
+            int codigo = texto.codePointAt(i);
+            usados += codigo < 0x80 ? 1 : codigo < 0x800 ? 2 : codigo < 0x10000 ? 3 : 4;
+            if (usados > bytes) {
+                return texto.substring(0, i);
+            }
+            i += Character.charCount(codigo);
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,253 @@
+package com.fiap.mottu.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.security.PrincipalUsuario;
+import com.fiap.mottu.service.UsuariosAlteradosEvent;
+
+/**
+ * COMPONENTE: PrincipalCache
+ * 
+ * Principals (usuários ativos) em memória, por email, para que o
+ * JwtAuthenticationFilter não consulte o banco a cada requisição.
+ * 
+ * FUNÇÃO: Cache local de PrincipalUsuario, um por nó
+ * CHAVES: email canônico; índice auxiliar id → email
+ * 
+ * COMO FICA ATUAL:
+ * - Alterações feitas neste nó: UsuariosAlteradosEvent remove as entradas
+ *   logo após o commit
+ * - Alterações feitas em outros nós (ou direto no banco): UserChangePoller
+ *   aplica as linhas com data_atualizacao recente e as exclusões registradas
+ *   em mottu_usuarios_excluidos
+ * - ttl-ms é só a rede de segurança caso a sincronização pare
+ * 
+ * ENTRADAS RESTAURADAS (PrincipalCacheSnapshot):
+ * - Podem ter horas de idade; ficam fora de buscar, buscarUltimoConhecido
+ *   e principais até a primeira sincronização bem-sucedida depois da carga
+ *   (confirmarRestauradas), que aplica o que mudou com o nó parado
+ * - Leitura do banco (guardar) substitui a restaurada na hora
+ * 
+ * BANCO INDISPONÍVEL (DatabaseCircuitBreaker):
+ * - Entradas vencidas não são apagadas na leitura; continuam recebendo as
+ *   alterações do UserChangePoller e só saem por falta de espaço
+ * - buscarUltimoConhecido devolve a entrada guardada há menos de
+ *   ultimo-conhecido-max-ms, mesmo fora do ttl
+ * 
+ * IMPORTANTE: 
+ * - Só guarda usuários ativos; inativação ou exclusão removem a entrada
+ * - Alteração com versao menor que a da entrada é ignorada
+ * - Cheio (capacidade), remove as expiradas; se não bastar, deixa de
+ *   guardar novas entradas até alguma sair
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entrada(PrincipalUsuario principal, long guardadaEmNanos, long expiraEmNanos, boolean restaurada) {
+    }
+
+    private final Map<String, Entrada> porEmail = new ConcurrentHashMap<>();
+
+    private final Map<Long, String> emailPorId = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int capacidade;
+
+    private final long ultimoConhecidoMaxNanos;
+
+    private volatile boolean haRestauradas;
+
+    @Autowired
+    public PrincipalCache(@Value("${mottu.cache.principais.ttl-ms:300000}") long ttlMillis,
+                          @Value("${mottu.cache.principais.capacidade:50000}") int capacidade,
+                          @Value("${mottu.cache.principais.ultimo-conhecido-max-ms:900000}") long ultimoConhecidoMaxMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.capacidade = capacidade;
+        this.ultimoConhecidoMaxNanos = ultimoConhecidoMaxMillis * 1_000_000;
+    }
+
+    public PrincipalCache(long ttlMillis, int capacidade) {
+        this(ttlMillis, capacidade, 0);
+    }
+
+    /**
+     * MÉTODO: buscar(String email)
+     * 
+     * RETORNO: Principal em cache e dentro do ttl, ou vazio
+     */
+    public Optional<PrincipalUsuario> buscar(String email) {
+        Entrada entrada = porEmail.get(email);
+        if (entrada == null || entrada.restaurada()) {
+            return Optional.empty();
+        }
+        if (entrada.expiraEmNanos() - System.nanoTime() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(entrada.principal());
+    }
+
+    /**
+     * MÉTODO: buscarUltimoConhecido(String email)
+     * 
+     * FUNÇÃO: Último estado conhecido do usuário, para atender requisições
+     * com token enquanto o banco está indisponível
+     * RETORNO: Principal guardado há no máximo ultimo-conhecido-max-ms
+     * (dentro ou fora do ttl), ou vazio
+     */
+    public Optional<PrincipalUsuario> buscarUltimoConhecido(String email) {
+        Entrada entrada = porEmail.get(email);
+        if (entrada == null || entrada.restaurada()
+                || System.nanoTime() - entrada.guardadaEmNanos() > ultimoConhecidoMaxNanos) {
+            return Optional.empty();
+        }
+        return Optional.of(entrada.principal());
+    }
+
+    /**
+     * MÉTODO: guardar(PrincipalUsuario principal)
+     * 
+     * FUNÇÃO: Guarda o principal recém-lido do banco
+     * RETORNO: O próprio principal (para encadear em Optional.map)
+     */
+    public PrincipalUsuario guardar(PrincipalUsuario principal) {
+        if (semEspacoPara(principal)) {
+            return principal;
+        }
+        porEmail.compute(principal.email(), (email, atual) ->
+                atual != null && atual.principal().versao() > principal.versao()
+                        ? atual
+                        : novaEntrada(principal, false));
+        emailPorId.put(principal.id(), principal.email());
+        return principal;
+    }
+
+    /**
+     * MÉTODO: restaurar(PrincipalUsuario principal)
+     * 
+     * FUNÇÃO: Guarda um principal lido do snapshot, ainda não confirmado
+     * IMPORTANTE: não substitui entrada já existente
+     */
+    public void restaurar(PrincipalUsuario principal) {
+        if (semEspacoPara(principal)) {
+            return;
+        }
+        if (porEmail.putIfAbsent(principal.email(), novaEntrada(principal, true)) == null) {
+            emailPorId.putIfAbsent(principal.id(), principal.email());
+            haRestauradas = true;
+        }
+    }
+
+    /**
+     * MÉTODO: confirmarRestauradas()
+     * 
+     * FUNÇÃO: Libera as entradas restauradas depois de uma sincronização
+     * bem-sucedida (UserChangePoller); o ttl passa a contar a partir daqui
+     */
+    public void confirmarRestauradas() {
+        if (!haRestauradas) {
+            return;
+        }
+        haRestauradas = false;
+        porEmail.replaceAll((email, entrada) ->
+                entrada.restaurada() ? novaEntrada(entrada.principal(), false) : entrada);
+    }
+
+    /**
+     * MÉTODO: aplicarAlteracao(...)
+     * 
+     * FUNÇÃO: Atualiza a entrada de um usuário alterado em outro nó
+     * 
+     * IMPORTANTE: 
+     * - Usuário fora do cache é ignorado (será lido quando for usado)
+     * - Email alterado: a entrada muda de chave
+     * - Inativo: a entrada é removida
+     */
+    public void aplicarAlteracao(Long id, String email, PerfilUsuario perfil, boolean ativo, Long versao) {
+        String emailEmCache = emailPorId.get(id);
+        if (emailEmCache == null) {
+            return;
+        }
+        Entrada atual = porEmail.get(emailEmCache);
+        if (atual != null && atual.principal().versao() > versao) {
+            return;
+        }
+        remover(id);
+        if (ativo) {
+            guardar(new PrincipalUsuario(id, email, perfil, versao));
+        }
+    }
+
+    /**
+     * MÉTODO: remover(Long id)
+     * 
+     * FUNÇÃO: Remove a entrada do usuário (alteração local ou exclusão)
+     */
+    public void remover(Long id) {
+        String email = emailPorId.remove(id);
+        if (email != null) {
+            porEmail.remove(email);
+        }
+    }
+
+    public int tamanho() {
+        return porEmail.size();
+    }
+
+    /**
+     * MÉTODO: principais()
+     * 
+     * FUNÇÃO: Cópia das entradas confirmadas e dentro do ttl
+     * (PrincipalCacheSnapshot)
+     */
+    public List<PrincipalUsuario> principais() {
+        long agora = System.nanoTime();
+        return porEmail.values().stream()
+                .filter(entrada -> !entrada.restaurada() && entrada.expiraEmNanos() - agora > 0)
+                .map(Entrada::principal)
+                .toList();
+    }
+
+    /**
+     * Alterações feitas por este nó (admin, operações em massa): remove as
+     * entradas depois do commit, antes da próxima sincronização
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarUsuarios(UsuariosAlteradosEvent evento) {
+        evento.getIds().forEach(this::remover);
+    }
+
+    private Entrada novaEntrada(PrincipalUsuario principal, boolean restaurada) {
+        long agora = System.nanoTime();
+        return new Entrada(principal, agora, agora + ttlNanos, restaurada);
+    }
+
+    private boolean semEspacoPara(PrincipalUsuario principal) {
+        if (porEmail.size() < capacidade || porEmail.containsKey(principal.email())) {
+            return false;
+        }
+        removerExpiradas();
+        return porEmail.size() >= capacidade;
+    }
+
+    private void removerExpiradas() {
+        long agora = System.nanoTime();
+        porEmail.values().removeIf(entrada -> {
+            if (entrada.expiraEmNanos() - agora > 0) {
+                return false;
+            }
+            emailPorId.remove(entrada.principal().id(), entrada.principal().email());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,301 @@
+package com.fiap.mottu.cache;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.fiap.mottu.cache.UserChangePoller.MarcaDagua;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.security.PrincipalUsuario;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * COMPONENTE: PrincipalCacheSnapshot
+ *
+ * Grava o PrincipalCache em arquivo no encerramento normal e o restaura na
+ * subida, para o nó voltar com o cache cheio em vez de buscar cada usuário
+ * no banco na primeira requisição dele.
+ *
+ * FUNÇÃO: Snapshot binário do cache + marca d'água do UserChangePoller
+ *
+ * FORMATO (big-endian):
+ * - Cabeçalho: MAGICO, FORMATO, carimbo, gravado em (epoch ms), marca de
+ *   alterações e de exclusões (segundos UTC + nanos), total de entradas
+ * - Entrada: id, versao, perfil (ordinal), email (tamanho + UTF-8)
+ * - CRC32 de tudo o que vem antes
+ *
+ * VALIDAÇÃO NA SUBIDA (qualquer falha descarta o arquivo e o cache começa vazio):
+ * - MAGICO/FORMATO: layout do arquivo
+ * - carimbo: hash do layout, dos valores de PerfilUsuario e de
+ *   spring.datasource.url; snapshot de outro banco ou de outra versão do
+ *   enum não é aproveitado
+ * - CRC32: arquivo truncado ou corrompido
+ * - Idade: mais antigo que retencao-exclusoes-horas não é confiável, pois
+ *   as exclusões desde então podem já ter sido expurgadas
+ *
+ * RECONCILIAÇÃO: o UserChangePoller retoma da marca gravada e uma
+ * sincronização é agendada logo após a carga (thread do agendador), então
+ * alterações e exclusões feitas com o nó parado chegam ao cache em segundo
+ * plano, sem atrasar a subida. Até essa sincronização terminar, as
+ * entradas restauradas não autenticam ninguém (nem como último estado
+ * conhecido com o banco fora do ar): o usuário pode ter sido inativado ou
+ * excluído com o nó parado
+ *
+ * IMPORTANTE:
+ * - Desligado por padrão (mottu.cache.principais.snapshot.enabled)
+ * - Leitura por mmap (FileChannel.map); escrita em arquivo temporário
+ *   seguida de move atômico, para a subida nunca ler um arquivo pela metade
+ * - Encerramento abrupto (kill -9) não grava; a subida usa o último
+ *   snapshot, se ainda dentro da idade máxima
+ * - @Lazy(false): a carga acontece na subida mesmo com lazy-initialization
+ */
+@Component
+@Lazy(false)
+public class PrincipalCacheSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PrincipalCacheSnapshot.class);
+
+    static final int MAGICO = 0x4D505343; // "MPSC"
+
+    static final int FORMATO = 1;
+
+    private static final int TAMANHO_CABECALHO = 4 + 4 + 8 + 8 + (8 + 4) * 2 + 4;
+
+    private static final int TAMANHO_CRC = 8;
+
+    private final PrincipalCache principalCache;
+
+    private final UserChangePoller poller;
+
+    private final TaskScheduler taskScheduler;
+
+    private final boolean habilitado;
+
+    private final Path arquivo;
+
+    private final Duration idadeMaxima;
+
+    private final long carimbo;
+
+    public PrincipalCacheSnapshot(PrincipalCache principalCache,
+                                  UserChangePoller poller,
+                                  TaskScheduler taskScheduler,
+                                  @Value("${mottu.cache.principais.snapshot.enabled:false}") boolean habilitado,
+                                  @Value("${mottu.cache.principais.snapshot.arquivo:${java.io.tmpdir}/mottu-principais.snapshot}") String arquivo,
+                                  @Value("${mottu.sync.usuarios.retencao-exclusoes-horas:24}") long retencaoHoras,
+                                  @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.principalCache = principalCache;
+        this.poller = poller;
+        this.taskScheduler = taskScheduler;
+        this.habilitado = habilitado;
+        this.arquivo = Path.of(arquivo);
+        this.idadeMaxima = Duration.ofHours(retencaoHoras);
+        this.carimbo = calcularCarimbo(datasourceUrl);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (habilitado && carregar() > 0) {
+            taskScheduler.schedule(poller::sincronizar, Instant.now());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (habilitado) {
+            gravar();
+        }
+    }
+
+    /**
+     * MÉTODO: carregar()
+     *
+     * FUNÇÃO: Restaura o cache a partir do arquivo e posiciona o poller na
+     * marca gravada
+     * RETORNO: Entradas restauradas (0 se não havia arquivo válido)
+     */
+    public int carregar() {
+        long inicio = System.nanoTime();
+        Optional<Conteudo> lido;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            lido = ler(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            log.warn("Snapshot de principais ilegível ({}): {}", arquivo, e.getMessage());
+            return 0;
+        }
+        if (lido.isEmpty()) {
+            return 0;
+        }
+        Conteudo conteudo = lido.get();
+        if (!poller.retomarDe(conteudo.marca())) {
+            log.info("Snapshot de principais ignorado: sincronização já iniciada");
+            return 0;
+        }
+        conteudo.principais().forEach(principalCache::restaurar);
+        log.info("Snapshot de principais carregado: {} entrada(s) em {} ms (gravado em {})",
+                conteudo.principais().size(), Duration.ofNanos(System.nanoTime() - inicio).toMillis(),
+                conteudo.gravadoEm());
+        return conteudo.principais().size();
+    }
+
+    /**
+     * MÉTODO: gravar()
+     *
+     * FUNÇÃO: Grava o conteúdo atual do cache
+     * RETORNO: Entradas gravadas (0 se o poller ainda não sincronizou, pois
+     * sem marca d'água não há como reconciliar o snapshot depois)
+     *
+     * IMPORTANTE: a marca é lida antes das entradas; uma alteração aplicada
+     * entre as duas leituras é reaplicada na reconciliação, sem efeito
+     */
+    public int gravar() {
+        Optional<MarcaDagua> marca = poller.marcaDagua();
+        if (marca.isEmpty()) {
+            log.info("Snapshot de principais não gravado: nenhuma sincronização concluída");
+            return 0;
+        }
+        List<PrincipalUsuario> principais = principalCache.principais();
+        List<byte[]> emails = new ArrayList<>(principais.size());
+        int tamanho = TAMANHO_CABECALHO + TAMANHO_CRC;
+        for (PrincipalUsuario principal : principais) {
+            byte[] email = principal.email().getBytes(StandardCharsets.UTF_8);
+            emails.add(email);
+            tamanho += 8 + 8 + 1 + 2 + email.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        buffer.putInt(MAGICO).putInt(FORMATO).putLong(carimbo).putLong(System.currentTimeMillis());
+        escreverData(buffer, marca.get().alteracoes());
+        escreverData(buffer, marca.get().exclusoes());
+        buffer.putInt(principais.size());
+        for (int i = 0; i < principais.size(); i++) {
+            PrincipalUsuario principal = principais.get(i);
+            buffer.putLong(principal.id())
+                    .putLong(principal.versao() != null ? principal.versao() : 0L)
+                    .put((byte) principal.perfil().ordinal())
+                    .putShort((short) emails.get(i).length)
+                    .put(emails.get(i));
+        }
+        buffer.putLong(crc(buffer.duplicate().flip()));
+        buffer.flip();
+
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o snapshot de principais ({}): {}", arquivo, e.getMessage());
+            return 0;
+        }
+        log.info("Snapshot de principais gravado: {} entrada(s), {} bytes", principais.size(), tamanho);
+        return principais.size();
+    }
+
+    private record Conteudo(Instant gravadoEm, MarcaDagua marca, List<PrincipalUsuario> principais) {
+    }
+
+    private Optional<Conteudo> ler(MappedByteBuffer buffer) {
+        try {
+            if (buffer.limit() < TAMANHO_CABECALHO + TAMANHO_CRC) {
+                return descartar("arquivo truncado");
+            }
+            long crcGravado = buffer.getLong(buffer.limit() - TAMANHO_CRC);
+            if (crc(buffer.duplicate().limit(buffer.limit() - TAMANHO_CRC)) != crcGravado) {
+                return descartar("CRC32 não confere");
+            }
+            if (buffer.getInt() != MAGICO || buffer.getInt() != FORMATO) {
+                return descartar("formato desconhecido");
+            }
+            if (buffer.getLong() != carimbo) {
+                return descartar("carimbo diferente (outro banco ou outra versão)");
+            }
+            Instant gravadoEm = Instant.ofEpochMilli(buffer.getLong());
+            if (gravadoEm.isBefore(Instant.now().minus(idadeMaxima))) {
+                return descartar("gravado em " + gravadoEm + ", além da retenção de exclusões");
+            }
+            MarcaDagua marca = new MarcaDagua(lerData(buffer), lerData(buffer));
+            int total = buffer.getInt();
+            PerfilUsuario[] perfis = PerfilUsuario.values();
+            List<PrincipalUsuario> principais = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                long id = buffer.getLong();
+                long versao = buffer.getLong();
+                PerfilUsuario perfil = perfis[buffer.get()];
+                byte[] email = new byte[buffer.getShort()];
+                buffer.get(email);
+                principais.add(new PrincipalUsuario(id, new String(email, StandardCharsets.UTF_8), perfil, versao));
+            }
+            return Optional.of(new Conteudo(gravadoEm, marca, principais));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            return descartar("conteúdo inconsistente");
+        }
+    }
+
+    private Optional<Conteudo> descartar(String motivo) {
+        log.warn("Snapshot de principais descartado ({}): {}", arquivo, motivo);
+        return Optional.empty();
+    }
+
+    private static void escreverData(ByteBuffer buffer, LocalDateTime data) {
+        buffer.putLong(data.toEpochSecond(ZoneOffset.UTC)).putInt(data.getNano());
+    }
+
+    private static LocalDateTime lerData(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    private static long crc(ByteBuffer conteudo) {
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+        return crc.getValue();
+    }
+
+    private static long calcularCarimbo(String datasourceUrl) {
+        String perfis = Arrays.stream(PerfilUsuario.values()).map(Enum::name).collect(Collectors.joining(","));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest((FORMATO + "|" + perfis + "|" + datasourceUrl).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.fiap.mottu.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * COMPONENTE: SingleFlight
+ *
+ * Agrupa cargas simultâneas da mesma chave: a primeira chamada consulta o
+ * banco e as que chegam enquanto ela está em andamento esperam e recebem o
+ * mesmo resultado (ou a mesma exceção).
+ *
+ * FUNÇÃO: Uma consulta por usuário quando muitas requisições dele chegam
+ * juntas (entrada do PrincipalCache vencida, nó recém-iniciado)
+ * USO: MottuUsuarioService (buscarPrincipalAtivo, loadUserByUsername,
+ * buscarPorEmail)
+ *
+ * MÉTRICA: mottu.singleflight (contador), tags operacao e resultado:
+ * - executada: chamada que consultou o banco
+ * - agrupada: chamada atendida pela consulta de outra
+ * - espera_esgotada: passou de espera-max-ms e consultou por conta própria
+ *
+ * IMPORTANTE:
+ * - Só agrupa chamadas em andamento; nada é guardado depois que a
+ *   consulta termina (isso é papel do PrincipalCache)
+ * - Todas as chamadas agrupadas recebem o mesmo objeto; os usos atuais
+ *   só leem o resultado
+ * - Chamada dentro de transação não é agrupada: pode depender do que a
+ *   própria transação gravou e ainda não confirmou
+ * - A chave deve incluir tudo o que muda o resultado (ex.: leitura do
+ *   primário ou da réplica)
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    private final long esperaMaxMillis;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SingleFlight(@Value("${mottu.singleflight.espera-max-ms:5000}") long esperaMaxMillis,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this.esperaMaxMillis = esperaMaxMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * MÉTODO: executar(String operacao, String chave, Supplier<T> carga)
+     *
+     * FUNÇÃO: Executa a carga, ou aguarda a que já está em andamento para
+     * a mesma operação e chave
+     * RETORNO: Resultado da carga (própria ou compartilhada)
+     */
+    public <T> T executar(String operacao, String chave, Supplier<T> carga) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return carga.get();
+        }
+        String chaveCompleta = operacao + '\n' + chave;
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> emVoo = emAndamento.putIfAbsent(chaveCompleta, nova);
+        if (emVoo != null) {
+            return aguardar(operacao, emVoo, carga);
+        }
+        contar(operacao, "executada");
+        try {
+            T resultado = carga.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chaveCompleta, nova);
+        }
+    }
+
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T aguardar(String operacao, CompletableFuture<Object> emVoo, Supplier<T> carga) {
+        try {
+            T resultado = (T) emVoo.get(esperaMaxMillis, TimeUnit.MILLISECONDS);
+            contar(operacao, "agrupada");
+            return resultado;
+        } catch (ExecutionException e) {
+            contar(operacao, "agrupada");
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            contar(operacao, "espera_esgotada");
+            return carga.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando consulta em andamento", e);
+        }
+    }
+
+    private void contar(String operacao, String resultado) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("mottu.singleflight", "operacao", operacao, "resultado", resultado).increment();
+        }
+    }
+}
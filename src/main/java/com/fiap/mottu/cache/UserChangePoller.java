@@ -0,0 +1,206 @@
+package com.fiap.mottu.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fiap.mottu.entity.PerfilUsuario;
+
+/**
+ * COMPONENTE: UserChangePoller
+ * 
+ * Sincroniza o PrincipalCache deste nó com alterações feitas pelos demais
+ * nós (ou direto no banco), sem servidor de cache compartilhado e sem
+ * recarregar tudo: a cada intervalo lê só o que mudou desde a última marca.
+ * 
+ * FONTES:
+ * - mottu_usuarios_sistema.data_atualizacao (TRG_MOTTU_USUARIOS_BU) pelo
+ *   idx_mottu_usuarios_atualizacao (V11)
+ * - mottu_usuarios_excluidos: registro de exclusão (TRG_MOTTU_USUARIOS_AD),
+ *   já que excluirPorId/excluirEmLote apagam a linha
+ * 
+ * MARCA D'ÁGUA:
+ * - Maior data_atualizacao/data_exclusao já lida; só valores do banco são
+ *   comparados entre si (relógios dos nós não entram na conta)
+ * - Cada leitura volta margem-ms antes da marca: a data é a do UPDATE, não
+ *   a do commit, e uma transação mais lenta pode confirmar uma data menor
+ *   depois da leitura anterior. Reaplicar uma linha não tem efeito
+ * - Na primeira leitura a marca recua também o tempo desde a subida, para
+ *   cobrir o que mudou enquanto o nó iniciava; com snapshot carregado
+ *   (PrincipalCacheSnapshot) parte da marca gravada nele
+ * 
+ * IMPORTANTE: 
+ * - Convergência: até intervalo-ms após o commit (transações que levam
+ *   mais que margem-ms entre o UPDATE e o commit dependem do ttl-ms)
+ * - Falha de banco mantém a marca; a próxima execução relê o mesmo trecho
+ * - mottu_usuarios_excluidos é expurgada após retencao-exclusoes-horas
+ * - @Lazy(false): agendado mesmo com spring.main.lazy-initialization=true
+ */
+@Component
+@Lazy(false)
+public class UserChangePoller {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangePoller.class);
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String SQL_ALTERADOS = "SELECT id_usuario, email_usuario, perfil_acesso, ativo, versao, data_atualizacao "
+            + "FROM mottu_usuarios_sistema WHERE data_atualizacao > ? ORDER BY data_atualizacao";
+
+    private static final String SQL_EXCLUIDOS = "SELECT id_usuario, data_exclusao "
+            + "FROM mottu_usuarios_excluidos WHERE data_exclusao > ? ORDER BY data_exclusao";
+
+    private static final String SQL_EXPURGO = "DELETE FROM mottu_usuarios_excluidos WHERE data_exclusao < ?";
+
+    /**
+     * Posição da sincronização: maiores datas já lidas (relógio do banco).
+     */
+    public record MarcaDagua(LocalDateTime alteracoes, LocalDateTime exclusoes) {
+    }
+
+    private record Alteracao(Long id, String email, PerfilUsuario perfil, boolean ativo, Long versao,
+                             LocalDateTime dataAtualizacao) {
+    }
+
+    private record Exclusao(Long id, LocalDateTime dataExclusao) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PrincipalCache principalCache;
+
+    private final Duration margem;
+
+    private final Duration retencaoExclusoes;
+
+    private final long iniciadoEmNanos = System.nanoTime();
+
+    private LocalDateTime marcaAlteracoes;
+
+    private LocalDateTime marcaExclusoes;
+
+    public UserChangePoller(JdbcTemplate jdbcTemplate,
+                            PrincipalCache principalCache,
+                            @Value("${mottu.sync.usuarios.margem-ms:10000}") long margemMillis,
+                            @Value("${mottu.sync.usuarios.retencao-exclusoes-horas:24}") long retencaoHoras) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.principalCache = principalCache;
+        this.margem = Duration.ofMillis(margemMillis);
+        this.retencaoExclusoes = Duration.ofHours(retencaoHoras);
+    }
+
+    /**
+     * MÉTODO: sincronizar()
+     * 
+     * FUNÇÃO: Aplica ao cache as alterações e exclusões desde a última marca
+     */
+    @Scheduled(fixedDelayString = "${mottu.sync.usuarios.intervalo-ms:5000}",
+               initialDelayString = "${mottu.sync.usuarios.intervalo-ms:5000}")
+    public synchronized void sincronizar() {
+        try {
+            if (marcaAlteracoes == null) {
+                Duration desdeASubida = Duration.ofNanos(System.nanoTime() - iniciadoEmNanos);
+                marcaAlteracoes = maiorData("SELECT MAX(data_atualizacao) FROM mottu_usuarios_sistema").minus(desdeASubida);
+                marcaExclusoes = maiorData("SELECT MAX(data_exclusao) FROM mottu_usuarios_excluidos").minus(desdeASubida);
+            }
+
+            List<Alteracao> alteracoes = jdbcTemplate.query(SQL_ALTERADOS, (rs, linha) -> new Alteracao(
+                    rs.getLong("id_usuario"),
+                    rs.getString("email_usuario"),
+                    PerfilUsuario.valueOf(rs.getString("perfil_acesso")),
+                    rs.getBoolean("ativo"),
+                    rs.getLong("versao"),
+                    rs.getObject("data_atualizacao", LocalDateTime.class)),
+                    marcaAlteracoes.minus(margem));
+            for (Alteracao alteracao : alteracoes) {
+                principalCache.aplicarAlteracao(alteracao.id(), alteracao.email(), alteracao.perfil(),
+                        alteracao.ativo(), alteracao.versao());
+                marcaAlteracoes = maisRecente(marcaAlteracoes, alteracao.dataAtualizacao());
+            }
+
+            List<Exclusao> exclusoes = jdbcTemplate.query(SQL_EXCLUIDOS, (rs, linha) -> new Exclusao(
+                    rs.getLong("id_usuario"),
+                    rs.getObject("data_exclusao", LocalDateTime.class)),
+                    marcaExclusoes.minus(margem));
+            for (Exclusao exclusao : exclusoes) {
+                principalCache.remover(exclusao.id());
+                marcaExclusoes = maisRecente(marcaExclusoes, exclusao.dataExclusao());
+            }
+
+            principalCache.confirmarRestauradas();
+
+            if (log.isDebugEnabled() && !(alteracoes.isEmpty() && exclusoes.isEmpty())) {
+                log.debug("Sincronização de usuários: {} alteração(ões), {} exclusão(ões) lidas", alteracoes.size(), exclusoes.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao sincronizar alterações de usuários; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * MÉTODO: marcaDagua()
+     * 
+     * RETORNO: Marca atual, ou vazio se ainda não houve sincronização
+     */
+    public synchronized Optional<MarcaDagua> marcaDagua() {
+        return marcaAlteracoes == null
+                ? Optional.empty()
+                : Optional.of(new MarcaDagua(marcaAlteracoes, marcaExclusoes));
+    }
+
+    /**
+     * MÉTODO: retomarDe(MarcaDagua marca)
+     * 
+     * FUNÇÃO: Define a marca da primeira leitura (cache restaurado de um
+     * snapshot); a próxima sincronização aplica só o que mudou desde então
+     * RETORNO: false (marca ignorada) se a sincronização já começou; nesse
+     * caso as entradas do snapshot não podem ser reconciliadas
+     */
+    public synchronized boolean retomarDe(MarcaDagua marca) {
+        if (marcaAlteracoes != null) {
+            return false;
+        }
+        marcaAlteracoes = marca.alteracoes();
+        marcaExclusoes = marca.exclusoes();
+        return true;
+    }
+
+    /**
+     * MÉTODO: expurgarExclusoes()
+     * 
+     * FUNÇÃO: Apaga registros de exclusão mais antigos que a retenção
+     * IMPORTANTE: a retenção deve ser muito maior que o intervalo de
+     * sincronização; nós parados por mais tempo que isso sobem com cache vazio
+     */
+    @Scheduled(fixedDelayString = "${mottu.sync.usuarios.expurgo-ms:3600000}",
+               initialDelayString = "${mottu.sync.usuarios.expurgo-ms:3600000}")
+    public void expurgarExclusoes() {
+        try {
+            int apagados = jdbcTemplate.update(SQL_EXPURGO, LocalDateTime.now().minus(retencaoExclusoes));
+            if (apagados > 0) {
+                log.info("{} registro(s) de exclusão de usuários expurgado(s)", apagados);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao expurgar registros de exclusão de usuários: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime maiorData(String sql) {
+        LocalDateTime maior = jdbcTemplate.queryForObject(sql, LocalDateTime.class);
+        return maior != null ? maior : INICIO;
+    }
+
+    private static LocalDateTime maisRecente(LocalDateTime marca, LocalDateTime data) {
+        return data != null && data.isAfter(marca) ? data : marca;
+    }
+}
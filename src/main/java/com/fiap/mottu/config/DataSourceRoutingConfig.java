@@ -0,0 +1,75 @@
+package com.fiap.mottu.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.fiap.mottu.datasource.ReadWriteRoutingDataSource;
+import com.fiap.mottu.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * CONFIGURAÇÃO: DataSourceRoutingConfig
+ * 
+ * Ativada apenas com mottu.datasource.replica.enabled=true. Substitui o
+ * DataSource padrão do Spring Boot por dois pools Hikari (primário e
+ * réplica) atrás de um ReadWriteRoutingDataSource.
+ * 
+ * FUNÇÃO: Escalar leituras (login, validação de token) com réplicas
+ * PRIMÁRIO: spring.datasource.* (inclusive spring.datasource.hikari.*)
+ * RÉPLICA: mottu.datasource.replica.* (url, username, password, hikari.*)
+ * 
+ * IMPORTANTE: 
+ * - LazyConnectionDataSourceProxy adia a obtenção da conexão até o primeiro
+ *   comando, quando o flag readOnly da transação já está definido
+ * - Flyway e escritas sempre usam o primário
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mottu.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("mottu.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${mottu.datasource.replica.url}") String url,
+                                              @Value("${mottu.datasource.replica.username}") String username,
+                                              @Value("${mottu.datasource.replica.password}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("HikariPool-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReadYourWritesTracker leituraPropria,
+                                 @Value("${mottu.datasource.replica.retry-interval-ms:30000}") long intervaloNovaTentativa) {
+        ReadWriteRoutingDataSource roteamento = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, leituraPropria, intervaloNovaTentativa);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(roteamento);
+        proxy.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        return proxy;
+    }
+}
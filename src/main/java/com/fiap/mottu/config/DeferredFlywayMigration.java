@@ -0,0 +1,56 @@
+package com.fiap.mottu.config;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * COMPONENTE: DeferredFlywayMigration
+ *
+ * Executa a migração do Flyway depois que o servidor web já subiu
+ * (mottu.startup.migracao-adiada=true, perfil "inicio-rapido").
+ *
+ * FUNÇÃO: Tirar o Flyway do caminho crítico da inicialização
+ *
+ * IMPORTANTE:
+ * - ApplicationRunners rodam antes do ApplicationReadyEvent: durante a
+ *   migração, /actuator/health/liveness responde UP e
+ *   /actuator/health/readiness continua OUT_OF_SERVICE
+ * - Falha na migração interrompe a inicialização, como no modo normal
+ * - É o primeiro runner; o aquecimento (StartupWarmup) só roda com o schema pronto
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeferredFlywayMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredFlywayMigration.class);
+
+    private final AtomicReference<SchemaFingerprint> pendente = new AtomicReference<>();
+
+    /**
+     * MÉTODO: adiar(SchemaFingerprint migracao)
+     *
+     * FUNÇÃO: Guarda a migração (Flyway configurado pelo Boot) para o run()
+     */
+    void adiar(SchemaFingerprint migracao) {
+        pendente.set(migracao);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SchemaFingerprint migracao = pendente.getAndSet(null);
+        if (migracao == null) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean migrou = migracao.migrarSeNecessario();
+        log.info("Verificação do schema concluída em {} ms (Flyway {})",
+                (System.nanoTime() - inicio) / 1_000_000, migrou ? "executado" : "ignorado");
+    }
+}
@@ -0,0 +1,77 @@
+package com.fiap.mottu.config;
+
+import java.util.List;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * CONFIGURAÇÃO: FastStartupConfig
+ * 
+ * Suporte à inicialização rápida com Spring AOT + AppCDS
+ * (perfil Maven "cds", scripts/cds-extrair.sh e scripts/cds-treino.sh).
+ * 
+ * FUNÇÃO: 
+ * - Permite a execução de treino do CDS subir o contexto sem banco de dados
+ * - Mantém o Flyway 10 funcionando quando o contexto vem do AOT
+ *   (JVM com AOT e imagem nativa, perfis Maven "cds" e "native")
+ * 
+ * IMPORTANTE: 
+ * - O treino roda no build da imagem, sem acesso ao Oracle, com
+ *   -Dmottu.cds.treino=true e -Dspring.context.exit=onRefresh
+ * - Com AOT, "spring.flyway.enabled=false" não tem efeito em tempo de
+ *   execução (o bean Flyway já foi decidido no build); por isso a migração
+ *   é pulada pela estratégia abaixo, avaliada em tempo de execução
+ * - Fora do treino, o Flyway roda normalmente; com
+ *   mottu.startup.atalho-flyway=true, só se os scripts mudaram desde a
+ *   última migração (SchemaFingerprint). Com mottu.startup.migracao-adiada=true
+ *   a migração vai para depois da subida do servidor (DeferredFlywayMigration)
+ */
+@Configuration
+public class FastStartupConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${mottu.cds.treino:false}") boolean treino,
+                                                           @Value("${mottu.startup.migracao-adiada:false}") boolean adiada,
+                                                           @Value("${mottu.startup.atalho-flyway:false}") boolean atalho,
+                                                           DeferredFlywayMigration migracaoAdiada) {
+        return flyway -> {
+            if (treino) {
+                return;
+            }
+            SchemaFingerprint migracao = new SchemaFingerprint(flyway, atalho);
+            if (adiada) {
+                migracaoAdiada.adiar(migracao);
+            } else {
+                migracao.migrarSeNecessario();
+            }
+        };
+    }
+
+    /**
+     * BEAN: flywayAotResourceProvider
+     * 
+     * FUNÇÃO: Com AOT, o Spring Boot 3.2 troca o leitor de migrações do Flyway
+     * por uma versão para imagem nativa, incompatível com o Flyway 10 usado
+     * aqui. Definindo antes um leitor próprio (SpringMigrationResourceProvider),
+     * o Boot mantém essa escolha, na JVM com AOT e na imagem nativa.
+     * 
+     * IMPORTANTE: 
+     * - Sem efeito na execução normal (sem AOT)
+     * - Não há migrações Java; o provedor de classes vazio evita a varredura
+     *   de classpath do Flyway, que não funciona na imagem nativa
+     */
+    @Bean
+    public FlywayConfigurationCustomizer flywayAotResourceProvider() {
+        return configuration -> {
+            if (AotDetector.useGeneratedArtifacts() && configuration.getResourceProvider() == null) {
+                configuration.resourceProvider(new SpringMigrationResourceProvider(configuration));
+                configuration.javaMigrationClassProvider(List::of);
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.fiap.mottu.config;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.fiap.mottu.dto.ErroResponse;
+import com.fiap.mottu.dto.IntrospeccaoRequest;
+import com.fiap.mottu.dto.OperacaoEmMassaRequest;
+import com.fiap.mottu.dto.ResultadoOperacaoEmMassa;
+import com.fiap.mottu.dto.TokenIntrospectado;
+import com.fiap.mottu.dto.UsuarioResumo;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.repository.MottuUsuarioRepository;
+import com.fiap.mottu.security.PrincipalUsuario;
+
+/**
+ * CONFIGURAÇÃO: NativeHintsConfig
+ * 
+ * Dicas de reflexão e de recursos para a imagem nativa GraalVM
+ * (perfil Maven "native"). Na JVM não têm efeito.
+ * 
+ * FUNÇÃO: Declarar o que a análise estática do native-image não enxerga
+ * 
+ * COBERTURA:
+ * - jjwt: implementações carregadas por nome (Classes.newInstance) e por ServiceLoader
+ * - Hibernate: construtor de UsuarioResumo (projeção "select new" no JPQL);
+ *   as entidades já são registradas pelo Spring AOT
+ * - Thymeleaf/formulários: getters e setters lidos por expressões e data binding
+ * - Flyway: scripts db/migration/*.sql (lidos pelo SpringMigrationResourceProvider)
+ * - Templates e recursos estáticos
+ * - Proxy JDK do DatabaseCircuitBreaker em volta do MottuUsuarioRepository
+ *   (criado em tempo de execução, fora do que o AOT do Spring Data declara)
+ * - Oracle JDBC: o ojdbc11 já traz sua configuração em META-INF/native-image
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.MottuRuntimeHints.class)
+@RegisterReflectionForBinding({
+        MottuUsuario.class,
+        PerfilUsuario.class,
+        UsuarioResumo.class,
+        OperacaoEmMassaRequest.class,
+        ResultadoOperacaoEmMassa.class,
+        ErroResponse.class,
+        IntrospeccaoRequest.class,
+        TokenIntrospectado.class,
+        PrincipalUsuario.class
+})
+public class NativeHintsConfig {
+
+    /**
+     * Classes do jjwt-impl instanciadas por nome a partir do jjwt-api
+     */
+    static final String[] JJWT_IMPL = {
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static class MottuRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String classe : JJWT_IMPL) {
+                hints.reflection().registerType(TypeReference.of(classe),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            hints.reflection().registerType(UsuarioResumo.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("templates/*.html");
+            hints.resources().registerPattern("static/**");
+
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(MottuUsuarioRepository.class));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.fiap.mottu.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * CONFIGURAÇÃO: SchedulingConfig
+ * 
+ * Habilita @Scheduled na aplicação.
+ * 
+ * USO: Tarefas de segundo plano (ex.: AuditWriter, que grava a
+ * trilha de auditoria em lote)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,158 @@
+package com.fiap.mottu.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * CLASSE: SchemaFingerprint
+ *
+ * Compara a impressão (SHA-256) dos scripts de migração empacotados com a
+ * impressão gravada na última migração bem-sucedida (tabela mottu_schema_impressao, V8).
+ *
+ * FUNÇÃO: Evitar a validação completa do Flyway (leitura do histórico e
+ * checksum de cada script) em toda inicialização quando nada mudou
+ *
+ * IMPORTANTE:
+ * - O atalho só vale com mottu.startup.atalho-flyway=true (perfil
+ *   "inicio-rapido"); sem ele, flyway.migrate() roda em toda subida e o
+ *   validate-on-migrate detecta checksum alterado e migração fora de ordem
+ * - Com o atalho e impressão igual: uma única consulta de uma linha, sem
+ *   flyway.migrate() (e, portanto, sem validate-on-migrate)
+ * - Impressão diferente ou tabela inexistente: flyway.migrate() normal e a
+ *   nova impressão é gravada (nos dois modos, para o atalho já valer na
+ *   primeira subida com ele ligado)
+ * - Usa o DataSource do próprio Flyway (spring.flyway.url, se configurado)
+ * - Alterações manuais no banco fora do Flyway não são detectadas (como antes,
+ *   o Flyway só compara os scripts com o histórico, não o schema em si)
+ */
+class SchemaFingerprint {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaFingerprint.class);
+
+    private static final String CONSULTA = "SELECT impressao FROM mottu_schema_impressao WHERE id = 1";
+
+    private static final String ATUALIZACAO = "UPDATE mottu_schema_impressao "
+            + "SET impressao = ?, total_migracoes = ?, data_registro = ? WHERE id = 1";
+
+    private static final String INSERCAO = "INSERT INTO mottu_schema_impressao "
+            + "(id, impressao, total_migracoes, data_registro) VALUES (1, ?, ?, ?)";
+
+    private final Flyway flyway;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean atalho;
+
+    SchemaFingerprint(Flyway flyway, boolean atalho) {
+        this.flyway = flyway;
+        this.jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        this.atalho = atalho;
+    }
+
+    /**
+     * MÉTODO: migrarSeNecessario()
+     *
+     * FUNÇÃO: Executa o Flyway, exceto com o atalho ligado e os scripts
+     * iguais aos da última migração
+     * RETORNO: true se o Flyway foi executado
+     */
+    boolean migrarSeNecessario() {
+        Map<String, byte[]> scripts = lerScripts();
+        String esperada = calcular(scripts);
+        boolean inalterada = esperada.equals(lerAplicada());
+        if (atalho && inalterada) {
+            log.info("Schema já migrado ({} scripts, impressão {}); validação do Flyway ignorada",
+                    scripts.size(), esperada.substring(0, 12));
+            return false;
+        }
+        flyway.migrate();
+        if (!inalterada) {
+            registrar(esperada, scripts.size());
+        }
+        return true;
+    }
+
+    /**
+     * MÉTODO: lerAplicada()
+     *
+     * FUNÇÃO: Impressão gravada na última migração
+     * RETORNO: null se não houver (primeira execução, tabela ainda não criada pela V8)
+     */
+    String lerAplicada() {
+        try {
+            return jdbcTemplate.query(CONSULTA, rs -> rs.next() ? rs.getString(1) : null);
+        } catch (DataAccessException e) {
+            log.debug("Impressão do schema indisponível: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void registrar(String impressao, int totalMigracoes) {
+        Timestamp agora = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update(ATUALIZACAO, impressao, totalMigracoes, agora) == 0) {
+            jdbcTemplate.update(INSERCAO, impressao, totalMigracoes, agora);
+        }
+    }
+
+    /**
+     * MÉTODO: lerScripts()
+     *
+     * FUNÇÃO: Lê os scripts .sql dos locais "classpath:" do Flyway,
+     * ordenados pelo caminho relativo ao local (independe de jar/diretório)
+     */
+    Map<String, byte[]> lerScripts() {
+        PathMatchingResourcePatternResolver resolver =
+                new PathMatchingResourcePatternResolver(flyway.getConfiguration().getClassLoader());
+        Map<String, byte[]> scripts = new TreeMap<>();
+        try {
+            for (Location location : flyway.getConfiguration().getLocations()) {
+                if (!location.isClassPath()) {
+                    continue;
+                }
+                for (Resource resource : resolver.getResources("classpath*:" + location.getRootPath() + "/**/*.sql")) {
+                    String url = resource.getURL().toString();
+                    String nome = url.substring(url.indexOf(location.getRootPath()));
+                    try (InputStream in = resource.getInputStream()) {
+                        scripts.put(nome, in.readAllBytes());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler os scripts de migração", e);
+        }
+        return scripts;
+    }
+
+    static String calcular(Map<String, byte[]> scripts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, byte[]> script : scripts.entrySet()) {
+                digest.update(script.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(script.getValue());
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,14 +3,18 @@ package com.fiap.mottu.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import com.fiap.mottu.security.GatewayCredentialFilter;
 import com.fiap.mottu.security.JwtAuthenticationFilter;
 
 /**
@@ -50,6 +54,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthFilter;
 
+    /**
+     * FILTRO DE GATEWAY
+     * 
+     * FUNÇÃO: Autentica a chave X-Gateway-Key em /api/auth/introspect
+     * ROLE: GATEWAY (além de ADMIN, única que pode introspectar tokens)
+     */
+    @Autowired
+    private GatewayCredentialFilter gatewayCredentialFilter;
+
     /**
      * PROVEDOR DE AUTENTICAÇÃO
      * 
@@ -117,19 +130,32 @@ public class SecurityConfig {
              * - /dashboard: Dashboard (acesso após login)
              * - /admin: Área administrativa (acesso após login)
              * - /css/**, /js/**, /images/**: Recursos estáticos
+             * - /actuator/health/liveness e /readiness: probes (apenas o estado, sem detalhes)
              * 
              * ENDPOINTS PROTEGIDOS:
+             * - /api/auth/introspect: role GATEWAY (X-Gateway-Key) ou ADMIN;
+             *   precede /api/auth/** para não herdar o permitAll
              * - /api/admin/**: Apenas usuários com role ADMIN
              * - /api/user/**: Apenas usuários com role USUARIO
              * - anyRequest().authenticated(): Demais endpoints precisam de autenticação
              */
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**", "/", "/login", "/cadastro", "/dashboard", "/admin", "/css/**", "/js/**", "/images/**").permitAll()
+                .requestMatchers(GatewayCredentialFilter.ENDPOINT).hasAnyRole(GatewayCredentialFilter.ROLE, "ADMIN")
+                .requestMatchers("/api/auth/**", "/", "/login", "/cadastro", "/dashboard", "/admin", "/css/**", "/js/**", "/images/**",
+                        "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/user/**").hasRole("USUARIO")
                 .anyRequest().authenticated()
             )
             
+            /**
+             * INTROSPECÇÃO SEM CREDENCIAL: 401 (RFC 7662), não o 403 padrão
+             */
+            .exceptionHandling(exceptions -> exceptions
+                .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                        new AntPathRequestMatcher(GatewayCredentialFilter.ENDPOINT))
+            )
+            
             // ========================================
             // CONFIGURAÇÃO DE SESSÃO
             // ========================================
@@ -187,7 +213,13 @@ public class SecurityConfig {
              * 2. UsernamePasswordAuthenticationFilter (valida credenciais)
              * 3. Controllers
              */
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            
+            /**
+             * FILTRO: chave de gateway antes do JWT (com a chave aceita, o
+             * JwtAuthenticationFilter encontra o contexto já autenticado)
+             */
+            .addFilterBefore(gatewayCredentialFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,202 @@
+package com.fiap.mottu.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * COMPONENTE: StartupWarmup
+ *
+ * Aquece pool de conexões, caches e JIT antes de a aplicação se declarar
+ * pronta (mottu.startup.aquecimento.enabled=true, perfil "inicio-rapido").
+ *
+ * FUNÇÃO: Os primeiros usuários após um deploy não pagam a abertura de
+ * conexões, o carregamento de classes, a compilação dos templates e das
+ * consultas JPQL nem o código ainda interpretado pela JVM
+ *
+ * ETAPAS:
+ * 1. Pool: abre mottu.startup.aquecimento.conexoes conexões simultâneas
+ * 2. JWT: gera e lê um token de um usuário fictício (sem banco)
+ * 3. Autenticação: MottuUsuarioService.autenticar com email inexistente
+ *    (consulta do usuário e o BCrypt contra o hash fictício), chamado
+ *    direto, fora do AuthController
+ * 4. Requisições sintéticas ao próprio servidor (iteracoes vezes):
+ *    páginas públicas (Thymeleaf) e POST /api/auth/login com corpo inválido
+ *    (cadeia de segurança, Jackson e validação; 400 antes de autenticar)
+ *
+ * IMPORTANTE:
+ * - Último ApplicationRunner: readiness só fica ACCEPTING_TRAFFIC depois dele
+ * - Melhor esforço: falhas são registradas em log e não impedem a inicialização
+ * - Nada do aquecimento vai para a auditoria: a autenticação não passa
+ *   pelo controller (que registra LOGIN_FALHA) e o login via HTTP para na
+ *   validação
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    static final String EMAIL_AQUECIMENTO = "aquecimento@mottu.invalid";
+
+    private static final List<String> PAGINAS = List.of("/", "/login", "/cadastro");
+
+    private final DataSource dataSource;
+
+    private final JwtService jwtService;
+
+    private final MottuUsuarioService usuarioService;
+
+    private final Environment environment;
+
+    private final boolean habilitado;
+
+    private final int conexoes;
+
+    private final int iteracoes;
+
+    private int requisicoesExecutadas;
+
+    public StartupWarmup(DataSource dataSource,
+                         JwtService jwtService,
+                         MottuUsuarioService usuarioService,
+                         Environment environment,
+                         @Value("${mottu.startup.aquecimento.enabled:false}") boolean habilitado,
+                         @Value("${mottu.startup.aquecimento.conexoes:5}") int conexoes,
+                         @Value("${mottu.startup.aquecimento.iteracoes:10}") int iteracoes) {
+        this.dataSource = dataSource;
+        this.jwtService = jwtService;
+        this.usuarioService = usuarioService;
+        this.environment = environment;
+        this.habilitado = habilitado;
+        this.conexoes = conexoes;
+        this.iteracoes = iteracoes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        aquecerPool();
+        aquecerJwt();
+        aquecerAutenticacao();
+        aquecerRequisicoes();
+        log.info("Aquecimento concluído em {} ms ({} requisições sintéticas)",
+                (System.nanoTime() - inicio) / 1_000_000, requisicoesExecutadas);
+    }
+
+    /**
+     * MÉTODO: aquecerPool()
+     *
+     * FUNÇÃO: Mantém N conexões abertas ao mesmo tempo, forçando o pool a
+     * criá-las agora (não na primeira rajada de requisições)
+     */
+    private void aquecerPool() {
+        List<Connection> abertas = new ArrayList<>();
+        try {
+            for (int i = 0; i < conexoes; i++) {
+                Connection connection = dataSource.getConnection();
+                abertas.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Aquecimento do pool interrompido após {} conexões: {}", abertas.size(), e.getMessage());
+        } finally {
+            for (Connection connection : abertas) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Falha ao devolver conexão de aquecimento", e);
+                }
+            }
+        }
+    }
+
+    private void aquecerJwt() {
+        MottuUsuario ficticio = new MottuUsuario("Aquecimento", EMAIL_AQUECIMENTO, "");
+        try {
+            for (int i = 0; i < iteracoes; i++) {
+                jwtService.validateToken(jwtService.generateToken(ficticio), ficticio);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento do JWT falhou: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * MÉTODO: aquecerAutenticacao()
+     *
+     * FUNÇÃO: Consulta + BCrypt do login, sem passar pelo AuthController,
+     * para não gravar LOGIN_FALHA na auditoria a cada subida
+     */
+    private void aquecerAutenticacao() {
+        try {
+            for (int i = 0; i < iteracoes; i++) {
+                usuarioService.autenticar(EMAIL_AQUECIMENTO, "aquecimento");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento da autenticação falhou: {}", e.getMessage());
+        }
+    }
+
+    private void aquecerRequisicoes() {
+        String porta = environment.getProperty("local.server.port");
+        if (porta == null) {
+            return;
+        }
+        String base = "http://localhost:" + porta;
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"aquecimento\",\"senha\":\"\"}")) // 400: email e senha inválidos
+                .build();
+        try {
+            for (int i = 0; i < iteracoes; i++) {
+                for (String pagina : PAGINAS) {
+                    enviar(client, HttpRequest.newBuilder(URI.create(base + pagina))
+                            .timeout(Duration.ofSeconds(10)).GET().build());
+                }
+                enviar(client, login);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Requisições de aquecimento interrompidas: {}", e.toString());
+        }
+    }
+
+    private void enviar(HttpClient client, HttpRequest request) throws Exception {
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        requisicoesExecutadas++;
+    }
+
+    int getRequisicoesExecutadas() {
+        return requisicoesExecutadas;
+    }
+}
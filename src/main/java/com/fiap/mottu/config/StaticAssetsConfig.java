@@ -0,0 +1,62 @@
+package com.fiap.mottu.config;
+
+import java.time.Duration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * CONFIGURAÇÃO: StaticAssetsConfig
+ *
+ * Serve os CSS/JS das páginas (static/css, static/js) com o hash do
+ * conteúdo no nome do arquivo e cache de longa duração.
+ *
+ * FUNÇÃO:
+ * - @{/css/login.css} nos templates vira /css/login-<md5>.css
+ *   (ResourceUrlEncodingFilter + VersionResourceResolver)
+ * - Variantes .br/.gz geradas no build (maven-antrun-plugin) são servidas
+ *   conforme o Accept-Encoding (EncodedResourceResolver, com Vary)
+ * - Cache-Control: public, max-age=1 ano, immutable: o navegador não
+ *   revalida; qualquer alteração no arquivo gera outra URL
+ *
+ * IMPORTANTE:
+ * - Os templates devem referenciar os arquivos sempre por @{...};
+ *   um caminho fixo sem hash também recebe o cache de 1 ano
+ * - Resoluções ficam em cache (resourceChain(true)): o hash é calculado
+ *   uma vez por arquivo
+ */
+@Configuration
+public class StaticAssetsConfig implements WebMvcConfigurer {
+
+    private static final CacheControl CACHE_IMUTAVEL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String pasta : new String[] {"css", "js"}) {
+            registry.addResourceHandler("/" + pasta + "/**")
+                    .addResourceLocations("classpath:/static/" + pasta + "/")
+                    .setCacheControl(CACHE_IMUTAVEL)
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    /**
+     * BEAN: ResourceUrlEncodingFilter
+     *
+     * FUNÇÃO: Reescreve as URLs geradas pelo Thymeleaf (@{...}) para a
+     * versão com hash do conteúdo
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.fiap.mottu.security.InstrumentedPasswordEncoder;
+
 /**
  * CONFIGURAÇÃO: WebConfig
  * 
@@ -41,7 +43,8 @@ public class WebConfig implements WebMvcConfigurer {
      * BEAN: PasswordEncoder
      * 
      * FUNÇÃO: Criptografia e verificação de senhas
-     * IMPLEMENTAÇÃO: BCryptPasswordEncoder
+     * IMPLEMENTAÇÃO: BCryptPasswordEncoder dentro de InstrumentedPasswordEncoder
+     * (conta os hashes em andamento para o readiness)
      * ALGORITMO: BCrypt (Blowfish Crypt)
      * 
      * IMPORTANTE: 
@@ -61,8 +64,8 @@ public class WebConfig implements WebMvcConfigurer {
      * - Spring Security usa automaticamente
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public InstrumentedPasswordEncoder passwordEncoder() {
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     /**
@@ -3,6 +3,7 @@ package com.fiap.mottu.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -14,9 +15,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.fiap.mottu.audit.AuditEventType;
+import com.fiap.mottu.audit.AuditLog;
+import com.fiap.mottu.dto.OperacaoEmMassaRequest;
+import com.fiap.mottu.dto.ResultadoOperacaoEmMassa;
+import com.fiap.mottu.dto.UsuarioResumo;
 import com.fiap.mottu.entity.MottuUsuario;
 import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.monitoring.SqlStatementBudget;
 import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.service.ResultadoCadastro;
 
 import jakarta.validation.Valid;
 
@@ -24,16 +32,27 @@ import jakarta.validation.Valid;
 @RequestMapping("/admin/users")
 public class AdminUserController {
 
+    private static final String MENSAGEM_CONFLITO =
+            "Este usuário foi alterado por outro administrador enquanto você editava. "
+            + "Recarregue o formulário para ver os dados atuais antes de salvar novamente.";
+
     @Autowired
     private MottuUsuarioService usuarioService;
 
+    @Autowired
+    private AuditLog auditLog;
+
+    @SqlStatementBudget(2)
     @GetMapping
     public String list(Model model) {
-        List<MottuUsuario> users = usuarioService.listarTodos();
+        List<UsuarioResumo> users = usuarioService.listarTodos();
         model.addAttribute("users", users);
+        model.addAttribute("perfis", PerfilUsuario.values());
+        model.addAttribute("acoes", OperacaoEmMassaRequest.Acao.values());
         return "admin-users-list";
     }
 
+    @SqlStatementBudget(1)
     @GetMapping("/new")
     public String createForm(Model model) {
         model.addAttribute("user", new MottuUsuario());
@@ -41,6 +60,7 @@ public class AdminUserController {
         return "admin-users-form";
     }
 
+    @SqlStatementBudget(3)
     @PostMapping
     public String create(@Valid @ModelAttribute("user") MottuUsuario user,
                          BindingResult result,
@@ -50,17 +70,19 @@ public class AdminUserController {
             model.addAttribute("perfis", PerfilUsuario.values());
             return "admin-users-form";
         }
-        try {
-            usuarioService.criarUsuarioAdmin(user);
-            redirectAttributes.addFlashAttribute("success", "Usuário criado com sucesso.");
-            return "redirect:/admin/users";
-        } catch (Exception ex) {
+        if (usuarioService.criarUsuarioAdmin(user) instanceof ResultadoCadastro.EmailJaCadastrado duplicado) {
+            // Não devolver o hash da senha ao formulário
+            user.setSenha("");
             model.addAttribute("perfis", PerfilUsuario.values());
-            model.addAttribute("error", ex.getMessage());
+            model.addAttribute("error", "Email já cadastrado: " + duplicado.email());
             return "admin-users-form";
         }
+        auditLog.registrar(AuditEventType.ADMIN_ACAO, user.getEmail(), "Criou usuário com perfil " + user.getPerfil());
+        redirectAttributes.addFlashAttribute("success", "Usuário criado com sucesso.");
+        return "redirect:/admin/users";
     }
 
+    @SqlStatementBudget(2)
     @GetMapping("/{id}/edit")
     public String editForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
         MottuUsuario user = usuarioService.buscarPorId(id);
@@ -75,6 +97,7 @@ public class AdminUserController {
         return "admin-users-form";
     }
 
+    @SqlStatementBudget(2)
     @PostMapping("/{id}")
     public String update(@PathVariable Long id,
                          @Valid @ModelAttribute("user") MottuUsuario user,
@@ -88,12 +111,19 @@ public class AdminUserController {
         try {
             // Se senha vier vazia, não altera
             if (!StringUtils.hasText(user.getSenha())) {
-                usuarioService.atualizarDadosBasicos(id, user.getNome(), user.getEmail(), user.getPerfil(), user.getAtivo());
+                usuarioService.atualizarDadosBasicos(id, user.getVersao(), user.getNome(), user.getEmail(), user.getPerfil(), user.getAtivo());
             } else {
-                usuarioService.atualizarComSenha(id, user.getNome(), user.getEmail(), user.getPerfil(), user.getAtivo(), user.getSenha());
+                usuarioService.atualizarComSenha(id, user.getVersao(), user.getNome(), user.getEmail(), user.getPerfil(), user.getAtivo(), user.getSenha());
             }
+            auditLog.registrar(AuditEventType.ADMIN_ACAO, user.getEmail(),
+                    "Atualizou usuário " + id + (StringUtils.hasText(user.getSenha()) ? " (com nova senha)" : ""));
             redirectAttributes.addFlashAttribute("success", "Usuário atualizado com sucesso.");
             return "redirect:/admin/users";
+        } catch (OptimisticLockingFailureException ex) {
+            // Outro administrador alterou o usuário depois que o formulário foi aberto
+            model.addAttribute("perfis", PerfilUsuario.values());
+            model.addAttribute("error", MENSAGEM_CONFLITO);
+            return "admin-users-form";
         } catch (Exception ex) {
             model.addAttribute("perfis", PerfilUsuario.values());
             model.addAttribute("error", ex.getMessage());
@@ -101,17 +131,47 @@ public class AdminUserController {
         }
     }
 
+    @SqlStatementBudget(3)
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         usuarioService.excluirPorId(id);
+        auditLog.registrar(AuditEventType.ADMIN_ACAO, null, "Excluiu usuário " + id);
         redirectAttributes.addFlashAttribute("success", "Usuário excluído com sucesso.");
         return "redirect:/admin/users";
     }
 
+    /**
+     * ENDPOINT: POST /admin/users/bulk
+     * 
+     * FUNÇÃO: Ativa, inativa, exclui ou altera o perfil dos usuários
+     * marcados na listagem (ou que atendem ao filtro)
+     * 
+     * ORÇAMENTO SQL: 3 comandos (consulta do filtro + emails e comando de
+     * 1 lote de até 1000 ids); cada lote adicional de 1000 ids soma dois
+     */
+    @SqlStatementBudget(3)
+    @PostMapping("/bulk")
+    public String bulk(@ModelAttribute OperacaoEmMassaRequest request, RedirectAttributes redirectAttributes) {
+        try {
+            ResultadoOperacaoEmMassa resultado = usuarioService.executarEmMassa(request);
+            auditLog.registrar(AuditEventType.ADMIN_ACAO, null, "Operação em massa: " + resultado.getResumo());
+            redirectAttributes.addFlashAttribute("success", resultado.getResumo());
+        } catch (Exception ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/admin/users";
+    }
+
+    @SqlStatementBudget(2)
     @PostMapping("/{id}/toggle")
     public String toggle(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        usuarioService.alternarStatusAtivo(id);
-        redirectAttributes.addFlashAttribute("success", "Status do usuário atualizado.");
+        try {
+            usuarioService.alternarStatusAtivo(id);
+            auditLog.registrar(AuditEventType.ADMIN_ACAO, null, "Alternou status do usuário " + id);
+            redirectAttributes.addFlashAttribute("success", "Status do usuário atualizado.");
+        } catch (Exception ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
         return "redirect:/admin/users";
     }
 }
@@ -0,0 +1,65 @@
+package com.fiap.mottu.controller;
+
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.fiap.mottu.datasource.BancoIndisponivelException;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+import com.fiap.mottu.dto.ErroResponse;
+
+/**
+ * ADVICE: ApiResultAdvice
+ * 
+ * Traduz as exceções da API de autenticação (AuthController) em status
+ * HTTP e corpo ErroResponse.
+ * 
+ * FUNÇÃO: Tratamento de exceções; resultados previstos (credenciais
+ * erradas, email repetido) já saem do handler como ResponseEntity
+ * 
+ * MAPEAMENTO:
+ * - Bean Validation / JSON malformado -> 400
+ * - Banco indisponível (circuito aberto, timeout, falha de conexão)
+ *   -> 503 BANCO_INDISPONIVEL com Retry-After
+ * 
+ * IMPORTANTE: Demais exceções (bug) seguem o tratamento padrão do
+ * Spring (500), em vez de virarem "credenciais inválidas"
+ */
+@RestControllerAdvice(assignableTypes = AuthController.class)
+public class ApiResultAdvice {
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErroResponse dadosInvalidos(MethodArgumentNotValidException e) {
+        String mensagem = e.getBindingResult().getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.joining("; "));
+        return new ErroResponse("DADOS_INVALIDOS", mensagem);
+    }
+
+    @ExceptionHandler({ DataAccessException.class, TransactionException.class })
+    public ResponseEntity<ErroResponse> bancoIndisponivel(RuntimeException e) {
+        if (!DatabaseCircuitBreaker.falhaDeBanco(e)) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(BancoIndisponivelException.retryAfterSegundos(e)))
+                .body(BancoIndisponivelException.erroResponse());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErroResponse corpoInvalido(HttpMessageNotReadableException e) {
+        return new ErroResponse("CORPO_INVALIDO", "Corpo da requisição inválido");
+    }
+}
@@ -1,10 +1,12 @@
 package com.fiap.mottu.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,12 +15,22 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fiap.mottu.audit.AuditEventType;
+import com.fiap.mottu.audit.AuditLog;
 import com.fiap.mottu.dto.AuthResponse;
 import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.dto.ErroResponse;
+import com.fiap.mottu.dto.IntrospeccaoRequest;
 import com.fiap.mottu.dto.LoginRequest;
+import com.fiap.mottu.dto.TokenIntrospectado;
 import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.monitoring.SqlStatementBudget;
 import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.LastLoginTracker;
 import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.service.ResultadoAutenticacao;
+import com.fiap.mottu.service.ResultadoCadastro;
+import com.fiap.mottu.service.TokenIntrospectionService;
 
 import jakarta.validation.Valid;
 
@@ -38,6 +50,12 @@ import jakarta.validation.Valid;
  * - @RestController: Controller REST (retorna JSON)
  * - @RequestMapping("/api/auth"): Base path para todos os endpoints
  * - @CrossOrigin(origins = "*"): Permite CORS de qualquer origem
+ * 
+ * RESPOSTAS DE FALHA:
+ * - Login e cadastro recebem um resultado tipado do serviço, sem exceção,
+ *   e montam o ResponseEntity (401/409 com ErroResponse) no próprio handler
+ * - O ApiResultAdvice trata apenas exceções (400 de validação, 503 de
+ *   banco indisponível)
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -65,19 +83,30 @@ public class AuthController {
     private JwtService jwtService;
 
     /**
-     * GERENCIADOR DE AUTENTICAÇÃO
+     * TRILHA DE AUDITORIA
      * 
-     * FUNÇÃO: Valida credenciais durante login
-     * INJEÇÃO: @Autowired para injeção de dependência
-     * IMPLEMENTAÇÃO: Configurado em WebConfig
+     * FUNÇÃO: Registra cadastros e tentativas de login (sucesso e falha)
+     * IMPORTANTE: Apenas enfileira; a gravação é feita em lote pelo AuditWriter
+     */
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * ÚLTIMO LOGIN
      * 
-     * IMPORTANTE: 
-     * - Usado para autenticar usuários durante login
-     * - Integra com Spring Security
-     * - Valida email/senha contra banco de dados
+     * FUNÇÃO: Acumula último login/total de logins em memória
+     * IMPORTANTE: O login não faz UPDATE; a gravação é periódica e em lote
+     */
+    @Autowired
+    private LastLoginTracker lastLoginTracker;
+
+    /**
+     * INTROSPECÇÃO DE TOKENS
+     * 
+     * FUNÇÃO: Verifica lotes de tokens para gateways (POST /introspect)
      */
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private TokenIntrospectionService tokenIntrospectionService;
 
     /**
      * ENDPOINT: POST /api/auth/cadastro
@@ -100,33 +129,26 @@ public class AuthController {
      * - Usuário pode fazer login imediatamente
      * 
      * TRATAMENTO DE ERRO:
-     * - Captura exceções e retorna erro 400
-     * - Mensagem de erro é retornada ao frontend
-     * - Validações de duplicação são tratadas
+     * - Email já cadastrado: EmailJaCadastrado -> 409 EMAIL_JA_CADASTRADO
+     * - Dados inválidos: 400 pelo Bean Validation
+     * 
+     * ORÇAMENTO SQL: 2 comandos (NEXTVAL, INSERT)
      */
+    @SqlStatementBudget(2)
     @PostMapping("/cadastro")
     public ResponseEntity<?> cadastrar(@Valid @RequestBody CadastroRequest request) {
-        try {
-            // CADASTRO: Cria novo usuário no sistema
-            MottuUsuario usuario = usuarioService.cadastrarUsuario(request);
-            
-            // TOKEN: Gera JWT para o usuário cadastrado
-            String token = jwtService.generateToken(usuario);
-            
-            // RESPOSTA: Cria objeto de resposta com token e dados
-            AuthResponse response = new AuthResponse(
-                token,                    // Token JWT gerado
-                usuario.getNome(),        // Nome do usuário
-                usuario.getEmail(),       // Email do usuário
-                usuario.getPerfil().name() // Perfil (ADMIN/USUARIO)
-            );
-            
-            // RETORNO: Resposta de sucesso com dados
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            // ERRO: Retorna erro 400 com mensagem
-            return ResponseEntity.badRequest().body("Erro no cadastro: " + e.getMessage());
+        // CADASTRO: Cria novo usuário no sistema
+        ResultadoCadastro resultado = usuarioService.cadastrarUsuario(request);
+        if (resultado instanceof ResultadoCadastro.EmailJaCadastrado duplicado) {
+            auditLog.registrar(AuditEventType.CADASTRO_FALHA, request.getEmail(), "Email já cadastrado");
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErroResponse("EMAIL_JA_CADASTRADO", "Email já cadastrado: " + duplicado.email()));
         }
+        MottuUsuario usuario = ((ResultadoCadastro.Cadastrado) resultado).usuario();
+        auditLog.registrar(AuditEventType.CADASTRO, usuario.getEmail(), null);
+
+        // RESPOSTA: Token JWT e dados do usuário cadastrado
+        return ResponseEntity.ok(respostaAutenticada(usuario));
     }
 
     /**
@@ -139,55 +161,42 @@ public class AuthController {
      * FLUXO COMPLETO:
      * 1. Recebe credenciais (email, senha)
      * 2. Valida dados com Bean Validation
-     * 3. Autentica via Spring Security (AuthenticationManager)
-     * 4. Busca dados completos do usuário
-     * 5. Gera novo token JWT
-     * 6. Retorna resposta com token e dados
+     * 3. Autentica via MottuUsuarioService.autenticar (uma consulta + BCrypt)
+     * 4. Gera novo token JWT
+     * 5. Retorna resposta com token e dados
      * 
      * IMPORTANTE: 
-     * - Spring Security valida credenciais
      * - Senha é verificada via BCrypt
      * - Token é gerado apenas se autenticação for bem-sucedida
      * - Usuário deve estar ativo para fazer login
      * 
      * SEGURANÇA:
-     * - Credenciais são validadas pelo Spring Security
-     * - Integra com MottuUsuarioService (UserDetailsService)
-     * - Usa BCrypt para verificação de senhas
+     * - Email inexistente também executa BCrypt (tempo de resposta igual)
+     * - Mesma resposta para email inexistente, senha errada ou conta inativa
      * 
      * TRATAMENTO DE ERRO:
-     * - Captura exceções de autenticação
-     * - Retorna erro 400 com mensagem genérica
-     * - Não revela se email ou senha estão incorretos
+     * - Falha de login não é exceção: Recusado -> 401 CREDENCIAIS_INVALIDAS
+     * - O motivo real fica apenas na auditoria
+     * 
+     * ORÇAMENTO SQL: 1 comando (busca do usuário por email)
      */
+    @SqlStatementBudget(1)
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            // AUTENTICAÇÃO: Valida credenciais via Spring Security
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getSenha())
-            );
-            
-            // USUÁRIO: Busca dados completos do usuário autenticado
-            MottuUsuario usuario = usuarioService.buscarPorEmail(request.getEmail());
-            
-            // TOKEN: Gera novo JWT para o usuário
-            String token = jwtService.generateToken(usuario);
-            
-            // RESPOSTA: Cria objeto de resposta com token e dados
-            AuthResponse response = new AuthResponse(
-                token,                    // Token JWT gerado
-                usuario.getNome(),        // Nome do usuário
-                usuario.getEmail(),       // Email do usuário
-                usuario.getPerfil().name() // Perfil (ADMIN/USUARIO)
-            );
-            
-            // RETORNO: Resposta de sucesso com dados
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            // ERRO: Retorna erro 400 com mensagem genérica
-            return ResponseEntity.badRequest().body("Credenciais inválidas");
+        // AUTENTICAÇÃO: Resultado tipado, sem exceção no caminho de falha
+        ResultadoAutenticacao resultado = usuarioService.autenticar(request.getEmail(), request.getSenha());
+        if (resultado instanceof ResultadoAutenticacao.Recusado recusado) {
+            // AUDITORIA: motivo real (USUARIO_INEXISTENTE, SENHA_INCORRETA, USUARIO_INATIVO)
+            auditLog.registrar(AuditEventType.LOGIN_FALHA, request.getEmail(), recusado.motivo().name());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErroResponse("CREDENCIAIS_INVALIDAS", "Credenciais inválidas"));
         }
+        MottuUsuario usuario = ((ResultadoAutenticacao.Autenticado) resultado).usuario();
+        auditLog.registrar(AuditEventType.LOGIN_SUCESSO, usuario.getEmail(), null);
+        lastLoginTracker.registrarLogin(usuario.getEmail());
+
+        // RESPOSTA: Novo token JWT e dados do usuário
+        return ResponseEntity.ok(respostaAutenticada(usuario));
     }
 
     /**
@@ -219,7 +228,10 @@ public class AuthController {
      * - Captura exceções de token inválido
      * - Retorna erro 400 se token for inválido
      * - Token expirado ou malformado gera erro
+     * 
+     * ORÇAMENTO SQL: 2 comandos (filtro JWT + busca do perfil)
      */
+    @SqlStatementBudget(2)
     @GetMapping("/perfil")
     public ResponseEntity<?> obterPerfil(@RequestHeader("Authorization") String token) {
         try {
@@ -234,9 +246,49 @@ public class AuthController {
             
             // RETORNO: Dados do perfil do usuário
             return ResponseEntity.ok(usuario);
+        } catch (DataAccessException | TransactionException e) {
+            // BANCO: segue para o ApiResultAdvice (503 se indisponível)
+            throw e;
         } catch (Exception e) {
             // ERRO: Retorna erro 400 se token for inválido
             return ResponseEntity.badRequest().body("Token inválido");
         }
     }
+
+    /**
+     * ENDPOINT: POST /api/auth/introspect
+     * 
+     * FUNÇÃO: Introspecção de um lote de tokens (RFC 7662, corpo JSON)
+     * USO: Gateway/serviços internos, em vez de um GET /perfil por token
+     * 
+     * REQUEST: {"tokens": ["eyJ...", ...]} (1 a 100)
+     * RESPONSE: 200 com um TokenIntrospectado por token, na mesma ordem:
+     *   {"active": true, "sub": "...", "role": "ADMIN", "exp": 1767225600}
+     *   ou {"active": false}; lote vazio ou grande demais: 400 DADOS_INVALIDOS
+     * 
+     * IMPORTANTE: 
+     * - Exige X-Gateway-Key (role GATEWAY) ou JWT de ADMIN; sem isso, 401
+     *   (RFC 7662: impede testar tokens roubados anonimamente)
+     * - O inativo não diz o motivo
+     * - Não devolve nome, id nem senha; apenas o necessário para autorizar
+     * 
+     * ORÇAMENTO SQL: 1 comando (SELECT ... IN com os emails do lote)
+     */
+    @SqlStatementBudget(1)
+    @PostMapping("/introspect")
+    public List<TokenIntrospectado> introspectar(@Valid @RequestBody IntrospeccaoRequest request) {
+        return tokenIntrospectionService.introspectar(request.getTokens());
+    }
+
+    /**
+     * Monta o AuthResponse (token JWT + nome, email e perfil) de login e cadastro
+     */
+    private AuthResponse respostaAutenticada(MottuUsuario usuario) {
+        return new AuthResponse(
+            jwtService.generateToken(usuario), // Token JWT gerado
+            usuario.getNome(),                  // Nome do usuário
+            usuario.getEmail(),                 // Email do usuário
+            usuario.getPerfil().name()          // Perfil (ADMIN/USUARIO)
+        );
+    }
 }
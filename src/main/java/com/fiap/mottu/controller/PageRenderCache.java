@@ -0,0 +1,177 @@
+package com.fiap.mottu.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.View;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * COMPONENTE: PageRenderCache
+ *
+ * Guarda o HTML já renderizado das páginas sem dados de modelo do
+ * WebController (home, login, cadastro, dashboard, admin).
+ *
+ * FUNÇÃO: Servir essas páginas como arquivo estático: sem processar o
+ * template a cada requisição, com ETag (304 Not Modified) e versão gzip
+ * calculada uma única vez
+ *
+ * IMPORTANTE:
+ * - A primeira requisição renderiza pelo ViewResolver normal (mesmo HTML,
+ *   inclusive as URLs com hash do StaticAssetsConfig) e captura os bytes
+ * - Só para templates que não dependem do usuário nem da requisição
+ * - Com spring.thymeleaf.cache=false (desenvolvimento), a entrada é
+ *   descartada quando o arquivo do template muda; em produção, nunca
+ * - Cache-Control: no-cache (o navegador guarda e revalida com o ETag)
+ */
+@Component
+class PageRenderCache {
+
+    private static final MediaType HTML = MediaType.parseMediaType("text/html;charset=UTF-8");
+
+    private final Map<String, Pagina> paginas = new ConcurrentHashMap<>();
+
+    private final ThymeleafViewResolver viewResolver;
+
+    private final ResourceLoader resourceLoader;
+
+    private final boolean verificarAlteracoes;
+
+    private final String prefixo;
+
+    private final String sufixo;
+
+    PageRenderCache(ThymeleafViewResolver viewResolver,
+                    ResourceLoader resourceLoader,
+                    @Value("${spring.thymeleaf.cache:true}") boolean cacheTemplates,
+                    @Value("${spring.thymeleaf.prefix:classpath:/templates/}") String prefixo,
+                    @Value("${spring.thymeleaf.suffix:.html}") String sufixo) {
+        this.viewResolver = viewResolver;
+        this.resourceLoader = resourceLoader;
+        this.verificarAlteracoes = !cacheTemplates;
+        this.prefixo = prefixo;
+        this.sufixo = sufixo;
+    }
+
+    /**
+     * MÉTODO: servir(String nome, ...)
+     *
+     * FUNÇÃO: Responde com a página em cache (renderizando-a se preciso)
+     * RETORNO: 304 se o If-None-Match confere; senão 200 com o HTML
+     * (gzip quando o cliente aceita)
+     */
+    ResponseEntity<byte[]> servir(String nome, HttpServletRequest request, HttpServletResponse response) {
+        Pagina pagina = paginas.get(nome);
+        if (pagina == null || (verificarAlteracoes && pagina.modificadoEm() != ultimaModificacao(nome))) {
+            pagina = renderizar(nome, request, response);
+            paginas.put(nome, pagina);
+        }
+
+        if (naoModificada(request.getHeader(HttpHeaders.IF_NONE_MATCH), pagina.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(pagina.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(HTML)
+                .eTag(pagina.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (aceitaGzip(request)) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(pagina.gzip());
+        }
+        return resposta.body(pagina.corpo());
+    }
+
+    private Pagina renderizar(String nome, HttpServletRequest request, HttpServletResponse response) {
+        long modificadoEm = verificarAlteracoes ? ultimaModificacao(nome) : 0;
+        ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+        try {
+            View view = viewResolver.resolveViewName(nome, request.getLocale());
+            if (view == null) {
+                throw new IllegalStateException("Template não encontrado: " + nome);
+            }
+            view.render(Map.of(), request, captura);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao renderizar " + nome, e);
+        }
+        byte[] corpo = captura.getContentAsByteArray();
+        return new Pagina(corpo, gzip(corpo), etag(corpo), modificadoEm);
+    }
+
+    private long ultimaModificacao(String nome) {
+        Resource template = resourceLoader.getResource(prefixo + nome + sufixo);
+        try {
+            return template.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static boolean naoModificada(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String valor = etag.substring(2);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String tag = candidato.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(valor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        String aceitas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return aceitas != null && aceitas.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * ETag fraca (W/): a mesma página em gzip ou sem compressão é
+     * semanticamente igual, então uma única ETag atende às duas versões
+     */
+    private static String etag(byte[] corpo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(corpo);
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Pagina(byte[] corpo, byte[] gzip, String etag, long modificadoEm) {
+    }
+}
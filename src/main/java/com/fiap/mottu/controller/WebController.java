@@ -1,8 +1,15 @@
 package com.fiap.mottu.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import com.fiap.mottu.monitoring.SqlStatementBudget;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 /**
  * CONTROLLER: WebController
  * 
@@ -12,7 +19,7 @@ import org.springframework.web.bind.annotation.GetMapping;
  * 
  * FUNÇÃO: Mapeamento de páginas web
  * TECNOLOGIA: Spring Boot + Thymeleaf
- * RETORNO: Nomes de templates (não JSON)
+ * RETORNO: HTML dos templates (não JSON), via PageRenderCache
  * NAVEGAÇÃO: Páginas principais da aplicação
  * 
  * ANOTAÇÕES IMPORTANTES:
@@ -25,10 +32,22 @@ import org.springframework.web.bind.annotation.GetMapping;
  * - Integra com Spring Security para controle de acesso
  * - Templates Thymeleaf são renderizados no servidor
  * - Frontend recebe HTML completo
+ * 
+ * CACHE DE RENDERIZAÇÃO (PageRenderCache):
+ * - As páginas não têm dados de modelo: cada template é renderizado uma
+ *   vez e servido como bytes prontos, com ETag (304) e versão gzip
+ * - Uma página que passar a depender do usuário/modelo deve voltar a
+ *   retornar o nome do template
+ * 
+ * ORÇAMENTO SQL: 1 comando por página (apenas o filtro JWT,
+ * quando a requisição traz token; os templates não acessam o banco)
  */
 @Controller
 public class WebController {
 
+    @Autowired
+    private PageRenderCache pageRenderCache;
+
     /**
      * ENDPOINT: GET /
      * 
@@ -47,9 +66,10 @@ public class WebController {
      * - Renderizado pelo Thymeleaf
      * - Pode incluir fragments (header, footer)
      */
+    @SqlStatementBudget(1)
     @GetMapping("/")
-    public String home() {
-        return "home";
+    public ResponseEntity<byte[]> home(HttpServletRequest request, HttpServletResponse response) {
+        return pageRenderCache.servir("home", request, response);
     }
 
     /**
@@ -75,9 +95,10 @@ public class WebController {
      * - Validação JavaScript
      * - Integração com API de autenticação
      */
+    @SqlStatementBudget(1)
     @GetMapping("/login")
-    public String login() {
-        return "login";
+    public ResponseEntity<byte[]> login(HttpServletRequest request, HttpServletResponse response) {
+        return pageRenderCache.servir("login", request, response);
     }
 
     /**
@@ -104,9 +125,10 @@ public class WebController {
      * - Validação em tempo real
      * - Integração com API de cadastro
      */
+    @SqlStatementBudget(1)
     @GetMapping("/cadastro")
-    public String cadastro() {
-        return "cadastro";
+    public ResponseEntity<byte[]> cadastro(HttpServletRequest request, HttpServletResponse response) {
+        return pageRenderCache.servir("cadastro", request, response);
     }
 
     /**
@@ -138,9 +160,10 @@ public class WebController {
      * - Informações do usuário
      * - Navegação principal
      */
+    @SqlStatementBudget(1)
     @GetMapping("/dashboard")
-    public String dashboard() {
-        return "dashboard";
+    public ResponseEntity<byte[]> dashboard(HttpServletRequest request, HttpServletResponse response) {
+        return pageRenderCache.servir("dashboard", request, response);
     }
 
     /**
@@ -175,8 +198,9 @@ public class WebController {
      * - Formulários de gestão
      * - Dashboard administrativo
      */
+    @SqlStatementBudget(1)
     @GetMapping("/admin")
-    public String admin() {
-        return "admin";
+    public ResponseEntity<byte[]> admin(HttpServletRequest request, HttpServletResponse response) {
+        return pageRenderCache.servir("admin", request, response);
     }
 }
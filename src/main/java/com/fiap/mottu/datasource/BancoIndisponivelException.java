@@ -0,0 +1,56 @@
+package com.fiap.mottu.datasource;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.fiap.mottu.dto.ErroResponse;
+
+/**
+ * EXCEÇÃO: BancoIndisponivelException
+ *
+ * Chamada ao banco recusada pelo DatabaseCircuitBreaker (circuito aberto),
+ * sem chegar a pedir conexão ao pool.
+ *
+ * FUNÇÃO: Falha rápida enquanto o banco está fora do ar ou lento
+ * HTTP: 503, em qualquer controller (@ResponseStatus); a API de
+ * autenticação responde com ErroResponse BANCO_INDISPONIVEL
+ *
+ * IMPORTANTE: É uma DataAccessResourceFailureException, tratada por quem
+ * já trata indisponibilidade do banco
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BancoIndisponivelException extends DataAccessResourceFailureException {
+
+    private final long tentarNovamenteEmMillis;
+
+    public BancoIndisponivelException(long tentarNovamenteEmMillis) {
+        super("Banco de dados indisponível; tente novamente em instantes");
+        this.tentarNovamenteEmMillis = tentarNovamenteEmMillis;
+    }
+
+    /**
+     * RETORNO: Tempo até o circuito aceitar chamadas de teste (Retry-After)
+     */
+    public long getTentarNovamenteEmMillis() {
+        return tentarNovamenteEmMillis;
+    }
+
+    /**
+     * RETORNO: Segundos para o header Retry-After (mínimo 1); falhas que
+     * não vieram do circuito (timeout, conexão recusada) usam 1
+     */
+    public static long retryAfterSegundos(Throwable erro) {
+        long millis = erro instanceof BancoIndisponivelException indisponivel
+                ? indisponivel.getTentarNovamenteEmMillis()
+                : 1_000;
+        return Math.max(1, (millis + 999) / 1_000);
+    }
+
+    /**
+     * RETORNO: Corpo 503 da API (filtro JWT e ApiResultAdvice)
+     */
+    public static ErroResponse erroResponse() {
+        return new ErroResponse("BANCO_INDISPONIVEL", "Banco de dados indisponível; tente novamente em instantes");
+    }
+}
@@ -0,0 +1,269 @@
+package com.fiap.mottu.datasource;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.fiap.mottu.repository.MottuUsuarioRepository;
+
+/**
+ * COMPONENTE: DatabaseCircuitBreaker
+ *
+ * Circuit breaker em volta das consultas de autenticação do
+ * MottuUsuarioRepository: com o banco fora do ar ou lento, para de mandar
+ * essas consultas para ele e falha na hora, em vez de cada requisição
+ * esperar conexão e timeout.
+ *
+ * FUNÇÃO: Proteger pool e threads durante quedas e lentidão do Oracle
+ * INTEGRAÇÃO: BeanPostProcessor que envolve o bean do repositório em um
+ * proxy; só os métodos de METODOS_PROTEGIDOS passam pelo circuito
+ * 
+ * POR QUE SÓ A AUTENTICAÇÃO: login, cadastro e tokens fora do cache são o
+ * caminho quente e usam consultas curtas (timeout próprio de 3 s, ver
+ * MottuUsuarioRepository.TIMEOUT_AUTENTICACAO_MS). Listagem do admin,
+ * filtros e lotes de operações em massa podem ser lentos sem o banco estar
+ * com problema; se contassem, poucas chamadas legítimas num nó ocioso
+ * abririam o circuito e derrubariam login e cadastro
+ *
+ * ESTADOS:
+ * - FECHADO: chamadas passam; o resultado das últimas "janela" chamadas é
+ *   guardado e, com pelo menos "minimo-chamadas", taxa de falhas acima de
+ *   "taxa-falhas" (%) abre o circuito
+ * - ABERTO: chamadas recusadas com BancoIndisponivelException (503) por
+ *   "aberto-ms"
+ * - SEMI_ABERTO: "chamadas-teste" chamadas passam; todas bem-sucedidas
+ *   fecham o circuito, uma falha o abre de novo
+ *
+ * IMPORTANTE:
+ * - Falha é só indisponibilidade do banco (conexão, timeout, recurso) ou
+ *   chamada mais lenta que "lenta-ms"; violação de unicidade, conflito de
+ *   versão e lock são respostas normais do banco e contam como sucesso
+ * - O query timeout das consultas protegidas e "lenta-ms" é que
+ *   transformam o banco travado em falha. As consultas protegidas rodam
+ *   na transação readOnly do próprio repositório (o serviço não abre uma),
+ *   então a espera por conexão entra no tempo medido: com o pool esgotado, as
+ *   chamadas lentas abrem o circuito e as seguintes falham na hora, sem
+ *   reduzir o connection-timeout do Hikari (30 s) para o admin e os lotes
+ * - Com o circuito aberto, as demais chamadas (admin) seguem para o banco
+ *   e falham pelos próprios timeouts; cadastro e troca de senha consultam
+ *   o circuito antes do BCrypt (exigirDisponivel)
+ * - Estado por nó, em memória; poucas operações sob synchronized por
+ *   chamada, sem disputa relevante perto do tempo da própria consulta
+ */
+@Component
+public class DatabaseCircuitBreaker implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    /**
+     * Métodos do MottuUsuarioRepository sob o circuito: consultas de login,
+     * cadastro e autenticação por token
+     */
+    public static final Set<String> METODOS_PROTEGIDOS = Set.of(
+            "buscarPrincipalAtivo", "buscarPrincipaisAtivos", "findByEmailAndAtivoTrue", "findByEmail");
+
+    public enum Estado {
+        FECHADO, ABERTO, SEMI_ABERTO
+    }
+
+    private final boolean[] janela;
+
+    private final int minimoChamadas;
+
+    private final int taxaFalhas;
+
+    private final long lentaNanos;
+
+    private final long abertoNanos;
+
+    private final int chamadasTeste;
+
+    private Estado estado = Estado.FECHADO;
+
+    private int posicao;
+
+    private int registradas;
+
+    private int falhas;
+
+    private long abertoAteNanos;
+
+    private int testesLiberados;
+
+    private int testesBemSucedidos;
+
+    public DatabaseCircuitBreaker(@Value("${mottu.circuit-breaker.banco.janela:20}") int janela,
+                                  @Value("${mottu.circuit-breaker.banco.minimo-chamadas:10}") int minimoChamadas,
+                                  @Value("${mottu.circuit-breaker.banco.taxa-falhas:50}") int taxaFalhas,
+                                  @Value("${mottu.circuit-breaker.banco.lenta-ms:2000}") long lentaMillis,
+                                  @Value("${mottu.circuit-breaker.banco.aberto-ms:10000}") long abertoMillis,
+                                  @Value("${mottu.circuit-breaker.banco.chamadas-teste:3}") int chamadasTeste) {
+        this.janela = new boolean[Math.max(1, janela)];
+        this.minimoChamadas = Math.max(1, Math.min(minimoChamadas, this.janela.length));
+        this.taxaFalhas = taxaFalhas;
+        this.lentaNanos = lentaMillis * 1_000_000;
+        this.abertoNanos = abertoMillis * 1_000_000;
+        this.chamadasTeste = Math.max(1, chamadasTeste);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof MottuUsuarioRepository) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setInterfaces(MottuUsuarioRepository.class);
+            proxyFactory.addAdvice((MethodInterceptor) this::invocar);
+            return proxyFactory.getProxy(bean.getClass().getClassLoader());
+        }
+        return bean;
+    }
+
+    /**
+     * MÉTODO: exigirDisponivel()
+     *
+     * FUNÇÃO: Falha antes de um trabalho caro que termina no banco (hash
+     * BCrypt do cadastro e da troca de senha), sem consumir chamada de teste
+     * EXCEÇÃO: BancoIndisponivelException com o circuito aberto
+     */
+    public synchronized void exigirDisponivel() {
+        if (estado == Estado.ABERTO) {
+            long restante = abertoAteNanos - System.nanoTime();
+            if (restante > 0) {
+                throw new BancoIndisponivelException(restante / 1_000_000);
+            }
+        }
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+
+    /**
+     * MÉTODO: falhaDeBanco(Throwable erro)
+     *
+     * RETORNO: true se o erro (ou uma causa) indica banco indisponível,
+     * lento ou inalcançável
+     */
+    public static boolean falhaDeBanco(Throwable erro) {
+        for (Throwable atual = erro; atual != null; atual = atual.getCause()) {
+            if (atual instanceof ConcurrencyFailureException) {
+                return false;
+            }
+            if (atual instanceof DataAccessResourceFailureException
+                    || atual instanceof TransientDataAccessException
+                    || atual instanceof RecoverableDataAccessException
+                    || atual instanceof CannotCreateTransactionException
+                    || atual instanceof SQLTransientConnectionException
+                    || atual instanceof SQLRecoverableException
+                    || atual instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Chamada ao repositório: métodos protegidos passam pelo circuito
+     * (EXCEÇÃO: BancoIndisponivelException com o circuito aberto); os
+     * demais seguem direto
+     */
+    private Object invocar(MethodInvocation invocacao) throws Throwable {
+        if (!METODOS_PROTEGIDOS.contains(invocacao.getMethod().getName())) {
+            return invocacao.proceed();
+        }
+        liberar();
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = invocacao.proceed();
+            registrar(System.nanoTime() - inicio > lentaNanos);
+            return resultado;
+        } catch (Throwable e) {
+            registrar(falhaDeBanco(e) || System.nanoTime() - inicio > lentaNanos);
+            throw e;
+        }
+    }
+
+    private synchronized void liberar() {
+        if (estado == Estado.FECHADO) {
+            return;
+        }
+        if (estado == Estado.ABERTO) {
+            long restante = abertoAteNanos - System.nanoTime();
+            if (restante > 0) {
+                throw new BancoIndisponivelException(restante / 1_000_000);
+            }
+            mudarPara(Estado.SEMI_ABERTO);
+            testesLiberados = 0;
+            testesBemSucedidos = 0;
+        }
+        if (testesLiberados >= chamadasTeste) {
+            throw new BancoIndisponivelException(1_000);
+        }
+        testesLiberados++;
+    }
+
+    private synchronized void registrar(boolean falha) {
+        switch (estado) {
+            case ABERTO -> {
+                // chamada liberada antes de o circuito abrir
+            }
+            case SEMI_ABERTO -> {
+                if (falha) {
+                    abrir();
+                } else if (++testesBemSucedidos >= chamadasTeste) {
+                    fechar();
+                }
+            }
+            case FECHADO -> {
+                if (registradas == janela.length) {
+                    if (janela[posicao]) {
+                        falhas--;
+                    }
+                } else {
+                    registradas++;
+                }
+                janela[posicao] = falha;
+                if (falha) {
+                    falhas++;
+                }
+                posicao = (posicao + 1) % janela.length;
+                if (registradas >= minimoChamadas && falhas * 100 >= taxaFalhas * registradas) {
+                    abrir();
+                }
+            }
+        }
+    }
+
+    private void abrir() {
+        abertoAteNanos = System.nanoTime() + abertoNanos;
+        mudarPara(Estado.ABERTO);
+    }
+
+    private void fechar() {
+        posicao = 0;
+        registradas = 0;
+        falhas = 0;
+        mudarPara(Estado.FECHADO);
+    }
+
+    private void mudarPara(Estado novo) {
+        if (estado != novo) {
+            log.warn("Circuito do banco: {} -> {}", estado, novo);
+            estado = novo;
+        }
+    }
+}
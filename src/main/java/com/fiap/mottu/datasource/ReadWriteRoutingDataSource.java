@@ -0,0 +1,93 @@
+package com.fiap.mottu.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DATASOURCE: ReadWriteRoutingDataSource
+ * 
+ * Encaminha transações somente leitura para o pool da réplica e todo o
+ * resto para o banco principal. Deve ser envolvido por um
+ * LazyConnectionDataSourceProxy, para que a conexão só seja obtida depois
+ * que o Spring marcou a transação como readOnly.
+ * 
+ * FUNÇÃO: Roteamento leitura/escrita entre primário e réplica
+ * FALLBACK: Réplica indisponível -> primário, com nova tentativa após intervalo
+ * CONSISTÊNCIA: ReadYourWritesTracker força o primário após escritas recentes
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primario;
+
+    private final DataSource replica;
+
+    private final ReadYourWritesTracker leituraPropria;
+
+    private final long intervaloNovaTentativaNanos;
+
+    private volatile long replicaIndisponivelAte;
+
+    public ReadWriteRoutingDataSource(DataSource primario,
+                                      DataSource replica,
+                                      ReadYourWritesTracker leituraPropria,
+                                      long intervaloNovaTentativaMillis) {
+        this.primario = primario;
+        this.replica = replica;
+        this.leituraPropria = leituraPropria;
+        this.intervaloNovaTentativaNanos = intervaloNovaTentativaMillis * 1_000_000;
+        this.replicaIndisponivelAte = System.nanoTime();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (deveUsarReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException ex) {
+                marcarReplicaIndisponivel(ex);
+            }
+        }
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (deveUsarReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException ex) {
+                marcarReplicaIndisponivel(ex);
+            }
+        }
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * MÉTODO: deveUsarReplica()
+     * 
+     * CONDIÇÕES:
+     * - Transação atual é somente leitura
+     * - Réplica não está em período de espera após falha
+     * - Usuário atual/consultado não escreveu recentemente
+     */
+    private boolean deveUsarReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.nanoTime() - replicaIndisponivelAte >= 0
+                && !leituraPropria.deveLerDoPrimario();
+    }
+
+    private void marcarReplicaIndisponivel(SQLException ex) {
+        replicaIndisponivelAte = System.nanoTime() + intervaloNovaTentativaNanos;
+        log.warn("Réplica indisponível, leituras seguem para o primário por {} ms: {}",
+                intervaloNovaTentativaNanos / 1_000_000, ex.getMessage());
+    }
+}
@@ -0,0 +1,140 @@
+package com.fiap.mottu.datasource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * COMPONENTE: ReadYourWritesTracker
+ * 
+ * Registra quem escreveu recentemente no banco principal para que as
+ * leituras seguintes dessa pessoa (ou sobre esse usuário) não caiam em
+ * uma réplica ainda atrasada.
+ * 
+ * FUNÇÃO: Garantia de "ler as próprias escritas" com réplicas
+ * CHAVES: Email do usuário alterado e nome do usuário autenticado
+ * JANELA: mottu.datasource.replica.read-your-writes-window-ms
+ * 
+ * IMPORTANTE: 
+ * - Estado apenas em memória, por nó (cada nó lê o que ele mesmo escreveu)
+ * - Entradas expiram após a janela configurada (maior que o atraso da réplica)
+ * - Requisições anônimas não têm chave de autor: só o email consultado conta
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CHAVE_CONSULTA = new ThreadLocal<>();
+
+    private final Map<String, Long> escritasRecentes = new ConcurrentHashMap<>();
+
+    private final long janelaNanos;
+
+    public ReadYourWritesTracker(@Value("${mottu.datasource.replica.read-your-writes-window-ms:5000}") long janelaMillis) {
+        this.janelaNanos = janelaMillis * 1_000_000;
+    }
+
+    /**
+     * MÉTODO: registrarEscrita(String email)
+     * 
+     * FUNÇÃO: Marca o usuário alterado e o autor da alteração como
+     * "escreveu agora"; leituras deles vão ao primário durante a janela
+     */
+    public void registrarEscrita(String email) {
+        registrarEscritas(email != null ? List.of(email) : List.of());
+    }
+
+    /**
+     * MÉTODO: registrarEscritas(Collection<String> emails)
+     * 
+     * FUNÇÃO: Igual a registrarEscrita, para todos os usuários alterados
+     * por uma operação em massa
+     */
+    public void registrarEscritas(Collection<String> emails) {
+        long expiraEm = System.nanoTime() + janelaNanos;
+        for (String email : emails) {
+            escritasRecentes.put(email, expiraEm);
+        }
+        String autor = usuarioAutenticado();
+        if (autor != null) {
+            escritasRecentes.put(autor, expiraEm);
+        }
+        if (escritasRecentes.size() > 10_000) {
+            removerExpiradas();
+        }
+    }
+
+    /**
+     * MÉTODO: consultandoUsuario(String email, Supplier<T> consulta)
+     * 
+     * FUNÇÃO: Executa uma leitura informando qual usuário está sendo consultado,
+     * para que o roteamento considere escritas recentes sobre ele
+     */
+    public <T> T consultandoUsuario(String email, Supplier<T> consulta) {
+        String anterior = CHAVE_CONSULTA.get();
+        CHAVE_CONSULTA.set(email);
+        try {
+            return consulta.get();
+        } finally {
+            if (anterior == null) {
+                CHAVE_CONSULTA.remove();
+            } else {
+                CHAVE_CONSULTA.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * MÉTODO: deveLerDoPrimario()
+     * 
+     * RETORNO: true se o usuário autenticado ou o usuário consultado
+     * escreveu dentro da janela de leitura das próprias escritas
+     */
+    public boolean deveLerDoPrimario() {
+        return escreveuRecentemente(CHAVE_CONSULTA.get()) || escreveuRecentemente(usuarioAutenticado());
+    }
+
+    /**
+     * MÉTODO: escreveuRecentemente(String chave)
+     * 
+     * RETORNO: true se houve escrita sobre o email (ou pelo usuário) dentro
+     * da janela
+     * USO: consultas de vários usuários escolhem aqui a chave que passam
+     * a consultandoUsuario
+     */
+    public boolean escreveuRecentemente(String chave) {
+        if (chave == null) {
+            return false;
+        }
+        Long expiraEm = escritasRecentes.get(chave);
+        if (expiraEm == null) {
+            return false;
+        }
+        if (expiraEm - System.nanoTime() > 0) {
+            return true;
+        }
+        escritasRecentes.remove(chave, expiraEm);
+        return false;
+    }
+
+    private void removerExpiradas() {
+        long agora = System.nanoTime();
+        escritasRecentes.entrySet().removeIf(entrada -> entrada.getValue() - agora <= 0);
+    }
+
+    private static String usuarioAutenticado() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || autenticacao instanceof AnonymousAuthenticationToken
+                || !autenticacao.isAuthenticated()) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+}
@@ -1,5 +1,7 @@
 package com.fiap.mottu.dto;
 
+import com.fiap.mottu.entity.MottuUsuario;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -38,14 +40,17 @@ public class CadastroRequest {
      * VALIDAÇÕES:
      * - @NotBlank: Não pode ser vazio
      * - @Email: Deve ter formato de email válido
+     * - @Size: No máximo 100 caracteres (coluna email_usuario)
      * 
      * IMPORTANTE: 
      * - Este email será usado como username para login
-     * - Deve ser único no sistema
+     * - Deve ser único no sistema (sem distinção de maiúsculas)
      * - Spring Security usará para autenticação
+     * - Guardado já normalizado: trim + minúsculas
      */
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ser válido")
+    @Size(max = 100, message = "Email deve ter no máximo 100 caracteres")
     private String email;
 
     /**
@@ -87,7 +92,7 @@ public class CadastroRequest {
      */
     public CadastroRequest(String nome, String email, String senha) {
         this.nome = nome;
-        this.email = email;
+        this.email = MottuUsuario.normalizarEmail(email);
         this.senha = senha;
     }
 
@@ -117,7 +122,7 @@ public class CadastroRequest {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = MottuUsuario.normalizarEmail(email);
     }
 
     public String getSenha() {
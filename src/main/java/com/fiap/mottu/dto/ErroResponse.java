@@ -0,0 +1,33 @@
+package com.fiap.mottu.dto;
+
+/**
+ * DTO: ErroResponse
+ * 
+ * Corpo JSON das respostas de erro da API de autenticação.
+ * 
+ * FUNÇÃO: Formato único para falhas de login, cadastro e validação
+ * FORMATO: {"codigo": "CREDENCIAIS_INVALIDAS", "mensagem": "Credenciais inválidas"}
+ * 
+ * IMPORTANTE: 
+ * - codigo é estável e pode ser tratado pelo frontend
+ * - mensagem é texto para exibição ao usuário
+ */
+public class ErroResponse {
+
+    private final String codigo;
+
+    private final String mensagem;
+
+    public ErroResponse(String codigo, String mensagem) {
+        this.codigo = codigo;
+        this.mensagem = mensagem;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fiap.mottu.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO: IntrospeccaoRequest
+ * 
+ * Corpo de POST /api/auth/introspect: lote de tokens a verificar.
+ * 
+ * FORMATO: {"tokens": ["eyJ...", "eyJ..."]}
+ * 
+ * IMPORTANTE: 
+ * - Até 100 tokens por requisição (a consulta usa um único IN, e o
+ *   Oracle limita a lista a 1000 itens)
+ * - Tokens sem o prefixo "Bearer "
+ */
+public class IntrospeccaoRequest {
+
+    public static final int MAXIMO_TOKENS = 100;
+
+    @NotEmpty(message = "Informe ao menos um token")
+    @Size(max = MAXIMO_TOKENS, message = "Máximo de " + MAXIMO_TOKENS + " tokens por requisição")
+    private List<String> tokens;
+
+    public IntrospeccaoRequest() {}
+
+    public IntrospeccaoRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -1,7 +1,10 @@
 package com.fiap.mottu.dto;
 
+import com.fiap.mottu.entity.MottuUsuario;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO: LoginRequest
@@ -21,12 +24,15 @@ public class LoginRequest {
      * VALIDAÇÕES:
      * - @NotBlank: Não pode ser vazio ou só espaços
      * - @Email: Deve ter formato de email válido
+     * - @Size: No máximo 100 caracteres (coluna email_usuario)
      * 
      * IMPORTANTE: Este campo é usado como username para autenticação
-     * no Spring Security
+     * no Spring Security; "User@Mottu.com " chega ao serviço como
+     * "user@mottu.com" (normalizado no setter)
      */
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ser válido")
+    @Size(max = 100, message = "Email deve ter no máximo 100 caracteres")
     private String email;
 
     /**
@@ -60,7 +66,7 @@ public class LoginRequest {
      * - Útil para testes unitários
      */
     public LoginRequest(String email, String senha) {
-        this.email = email;
+        this.email = MottuUsuario.normalizarEmail(email);
         this.senha = senha;
     }
 
@@ -80,7 +86,7 @@ public class LoginRequest {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = MottuUsuario.normalizarEmail(email);
     }
 
     public String getSenha() {
@@ -0,0 +1,101 @@
+package com.fiap.mottu.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fiap.mottu.entity.PerfilUsuario;
+
+/**
+ * DTO: OperacaoEmMassaRequest
+ * 
+ * Dados do formulário de operações em massa da listagem administrativa
+ * (POST /admin/users/bulk).
+ * 
+ * FUNÇÃO: Define a ação e o conjunto de usuários afetados
+ * 
+ * SELEÇÃO DOS USUÁRIOS:
+ * - ids: usuários marcados na listagem
+ * - OU filtro (filtroPerfil, filtroAtivo, filtroEmail), quando nenhum id é marcado
+ * - Filtro vazio é rejeitado para evitar alterar todos os usuários por engano
+ */
+public class OperacaoEmMassaRequest {
+
+    /**
+     * AÇÕES DISPONÍVEIS
+     * - ATIVAR / INATIVAR: altera o status ativo
+     * - EXCLUIR: remove os usuários
+     * - ALTERAR_PERFIL: aplica perfilDestino
+     */
+    public enum Acao {
+        ATIVAR, INATIVAR, EXCLUIR, ALTERAR_PERFIL
+    }
+
+    private Acao acao;
+
+    private List<Long> ids = new ArrayList<>();
+
+    /**
+     * PERFIL DE DESTINO
+     * - Obrigatório apenas para ALTERAR_PERFIL
+     */
+    private PerfilUsuario perfilDestino;
+
+    private PerfilUsuario filtroPerfil;
+
+    private Boolean filtroAtivo;
+
+    /**
+     * TRECHO DO EMAIL
+     * - Ex.: "@hub-centro.mottu.com" seleciona os usuários de um hub
+     * - Comparação sem diferenciar maiúsculas/minúsculas
+     */
+    private String filtroEmail;
+
+    public Acao getAcao() {
+        return acao;
+    }
+
+    public void setAcao(Acao acao) {
+        this.acao = acao;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public PerfilUsuario getPerfilDestino() {
+        return perfilDestino;
+    }
+
+    public void setPerfilDestino(PerfilUsuario perfilDestino) {
+        this.perfilDestino = perfilDestino;
+    }
+
+    public PerfilUsuario getFiltroPerfil() {
+        return filtroPerfil;
+    }
+
+    public void setFiltroPerfil(PerfilUsuario filtroPerfil) {
+        this.filtroPerfil = filtroPerfil;
+    }
+
+    public Boolean getFiltroAtivo() {
+        return filtroAtivo;
+    }
+
+    public void setFiltroAtivo(Boolean filtroAtivo) {
+        this.filtroAtivo = filtroAtivo;
+    }
+
+    public String getFiltroEmail() {
+        return filtroEmail;
+    }
+
+    public void setFiltroEmail(String filtroEmail) {
+        this.filtroEmail = filtroEmail;
+    }
+}
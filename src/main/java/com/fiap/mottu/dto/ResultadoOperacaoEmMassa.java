@@ -0,0 +1,49 @@
+package com.fiap.mottu.dto;
+
+/**
+ * DTO: ResultadoOperacaoEmMassa
+ * 
+ * Resumo de uma operação em massa da área administrativa.
+ * 
+ * FUNÇÃO: Informa quantos usuários foram selecionados e quantas
+ * linhas o banco realmente alterou
+ * 
+ * IMPORTANTE: afetados pode ser menor que selecionados quando o usuário
+ * já estava no estado pedido (ex.: inativar quem já está inativo)
+ */
+public class ResultadoOperacaoEmMassa {
+
+    private final OperacaoEmMassaRequest.Acao acao;
+
+    private final int selecionados;
+
+    private final int afetados;
+
+    public ResultadoOperacaoEmMassa(OperacaoEmMassaRequest.Acao acao, int selecionados, int afetados) {
+        this.acao = acao;
+        this.selecionados = selecionados;
+        this.afetados = afetados;
+    }
+
+    public OperacaoEmMassaRequest.Acao getAcao() {
+        return acao;
+    }
+
+    public int getSelecionados() {
+        return selecionados;
+    }
+
+    public int getAfetados() {
+        return afetados;
+    }
+
+    /**
+     * MÉTODO: getResumo()
+     * 
+     * FUNÇÃO: Mensagem exibida na listagem após a operação
+     */
+    public String getResumo() {
+        return String.format("%s: %d de %d usuário(s) selecionado(s) alterado(s).",
+                acao, afetados, selecionados);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fiap.mottu.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO: TokenIntrospectado
+ * 
+ * Resultado da introspecção de um token, nos moldes da RFC 7662.
+ * 
+ * FORMATO:
+ * - ativo:   {"active": true, "sub": "maria@mottu.com", "role": "USUARIO", "exp": 1767225600}
+ * - inativo: {"active": false}
+ * 
+ * IMPORTANTE: 
+ * - Nomes em inglês por serem os campos da RFC (role é extensão)
+ * - exp em segundos desde 1970 (NumericDate do JWT)
+ * - Token inativo não informa o motivo (inválido, expirado, usuário
+ *   excluído ou inativo), como pede a RFC
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectado {
+
+    private static final TokenIntrospectado INATIVO = new TokenIntrospectado(false, null, null, null);
+
+    private final boolean active;
+
+    private final String sub;
+
+    private final String role;
+
+    private final Long exp;
+
+    private TokenIntrospectado(boolean active, String sub, String role, Long exp) {
+        this.active = active;
+        this.sub = sub;
+        this.role = role;
+        this.exp = exp;
+    }
+
+    public static TokenIntrospectado ativo(String sub, String role, long exp) {
+        return new TokenIntrospectado(true, sub, role, exp);
+    }
+
+    public static TokenIntrospectado inativo() {
+        return INATIVO;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getSub() {
+        return sub;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+}
@@ -0,0 +1,73 @@
+package com.fiap.mottu.dto;
+
+import java.time.LocalDateTime;
+
+import com.fiap.mottu.entity.PerfilUsuario;
+
+/**
+ * DTO: UsuarioResumo
+ * 
+ * Linha da listagem administrativa de usuários. Carregado por projeção
+ * JPQL dentro da camada de serviço, já desacoplado da sessão do Hibernate.
+ * 
+ * FUNÇÃO: Dados exibidos em admin-users-list.html
+ * SEGURANÇA: Não carrega a senha criptografada
+ * 
+ * IMPORTANTE: A renderização da view nunca acessa o banco
+ * (spring.jpa.open-in-view desativado)
+ */
+public class UsuarioResumo {
+
+    private final Long id;
+
+    private final String nome;
+
+    private final String email;
+
+    private final PerfilUsuario perfil;
+
+    private final Boolean ativo;
+
+    private final LocalDateTime ultimoLogin;
+
+    private final Long totalLogins;
+
+    public UsuarioResumo(Long id, String nome, String email, PerfilUsuario perfil, Boolean ativo,
+                         LocalDateTime ultimoLogin, Long totalLogins) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.perfil = perfil;
+        this.ativo = ativo;
+        this.ultimoLogin = ultimoLogin;
+        this.totalLogins = totalLogins;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public PerfilUsuario getPerfil() {
+        return perfil;
+    }
+
+    public Boolean getAtivo() {
+        return ativo;
+    }
+
+    public LocalDateTime getUltimoLogin() {
+        return ultimoLogin;
+    }
+
+    public Long getTotalLogins() {
+        return totalLogins;
+    }
+}
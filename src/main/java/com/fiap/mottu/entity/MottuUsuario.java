@@ -1,8 +1,11 @@
 package com.fiap.mottu.entity;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,12 +17,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * CLASSE PRINCIPAL: MottuUsuario
  * 
@@ -29,13 +37,29 @@ import jakarta.validation.constraints.Size;
  * 
  * ANOTAÇÕES IMPORTANTES:
  * - @Entity: Marca esta classe como uma entidade JPA (mapeamento para banco)
- * - @Table: Define o nome da tabela no banco Oracle
+ * - @Table: Define o nome da tabela no banco Oracle, os índices e a
+ *   restrição única nomeada da V10 (repetidos aqui para o esquema gerado
+ *   nos testes com H2)
+ * - @DynamicUpdate: UPDATE gerado pelo Hibernate (save/flush da entidade)
+ *   inclui apenas colunas alteradas; não se aplica aos UPDATEs JPQL do
+ *   MottuUsuarioRepository usados pela área administrativa
  * - implements UserDetails: Interface obrigatória para Spring Security
  */
 @Entity
-@Table(name = "mottu_usuarios_sistema")
+@DynamicUpdate
+@Table(name = "mottu_usuarios_sistema", indexes = {
+        @Index(name = "idx_mottu_usuarios_login", columnList = "email_usuario, ativo"),
+        @Index(name = "idx_mottu_usuarios_listagem",
+                columnList = "nome_completo, perfil_acesso, ativo, email_usuario, id_usuario")
+}, uniqueConstraints = @UniqueConstraint(name = MottuUsuario.RESTRICAO_EMAIL_UNICO, columnNames = "email_usuario"))
 public class MottuUsuario implements UserDetails {
 
+    /**
+     * Restrição única do email (V10); o cadastro a reconhece pelo nome
+     * para responder "email já cadastrado"
+     */
+    public static final String RESTRICAO_EMAIL_UNICO = "uk_mottu_usuarios_email";
+
     /**
      * ID ÚNICO DO USUÁRIO
      * - @Id: Marca este campo como chave primária
@@ -62,12 +86,13 @@ public class MottuUsuario implements UserDetails {
     /**
      * EMAIL DO USUÁRIO (USADO COMO LOGIN)
      * - @Email: Valida formato de email válido
-     * - @Column: unique=true garante que cada email seja único no sistema
+     * - Único no sistema: restrição uk_mottu_usuarios_email (ver @Table)
      * - Este campo será usado como username para login
+     * - Sempre na forma canônica (setter e construtor aplicam normalizarEmail)
      */
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ser válido")
-    @Column(name = "email_usuario", nullable = false, unique = true, length = 100)
+    @Column(name = "email_usuario", nullable = false, length = 100)
     private String email;
 
     /**
@@ -102,6 +127,28 @@ public class MottuUsuario implements UserDetails {
     @Column(name = "ativo", nullable = false)
     private Boolean ativo = true;
 
+    /**
+     * VERSÃO DO REGISTRO (CONCORRÊNCIA OTIMISTA)
+     * - @Version: Incrementada a cada alteração
+     * - @Column: Mapeia para coluna VERSAO
+     * - O formulário de edição devolve a versão lida; se outro administrador
+     *   alterou o usuário nesse meio tempo, a atualização é rejeitada
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * ÚLTIMO LOGIN E TOTAL DE LOGINS
+     * - Somente leitura para o JPA (insertable/updatable = false)
+     * - Gravados em lote pelo LastLoginTracker, fora das transações do usuário
+     */
+    @Column(name = "ultimo_login", insertable = false, updatable = false)
+    private LocalDateTime ultimoLogin;
+
+    @Column(name = "total_logins", insertable = false, updatable = false)
+    private Long totalLogins;
+
     // ========================================
     // CONSTRUTORES
     // ========================================
@@ -121,10 +168,27 @@ public class MottuUsuario implements UserDetails {
      */
     public MottuUsuario(String nome, String email, String senha) {
         this.nome = nome;
-        this.email = email;
+        this.email = normalizarEmail(email);
         this.senha = senha;
     }
 
+    /**
+     * MÉTODO: normalizarEmail(String email)
+     * 
+     * FUNÇÃO: Forma canônica do email: sem espaços nas pontas e em minúsculas
+     * USO: Todo email que entra na aplicação (DTOs, formulário do admin,
+     * login, buscas do MottuUsuarioService)
+     * 
+     * IMPORTANTE: 
+     * - Mesma regra de LOWER(TRIM(email_usuario)) da migração V9; o banco
+     *   guarda só a forma canônica e as buscas usam igualdade simples
+     * - Locale.ROOT: com locale turco, "I" viraria "ı"
+     * - null continua null (fica para o Bean Validation)
+     */
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     // ========================================
     // GETTERS E SETTERS (OBRIGATÓRIOS PARA JPA)
     // ========================================
@@ -156,9 +220,10 @@ public class MottuUsuario implements UserDetails {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = normalizarEmail(email);
     }
 
+    @JsonIgnore // o hash nunca sai em JSON (GET /api/auth/perfil devolve a entidade)
     public String getSenha() {
         return senha;
     }
@@ -183,6 +248,22 @@ public class MottuUsuario implements UserDetails {
         this.ativo = ativo;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getUltimoLogin() {
+        return ultimoLogin;
+    }
+
+    public Long getTotalLogins() {
+        return totalLogins;
+    }
+
     // ========================================
     // IMPLEMENTAÇÃO DO USERDETAILS (SPRING SECURITY)
     // ========================================
@@ -212,6 +293,7 @@ public class MottuUsuario implements UserDetails {
      * IMPORTANTE: Retorna a senha criptografada, não a original
      */
     @Override
+    @JsonIgnore
     public String getPassword() {
         return senha;
     }
@@ -0,0 +1,110 @@
+package com.fiap.mottu.monitoring;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * HEALTH: CachedDatabaseHealthIndicator ("db")
+ *
+ * Substitui o DataSourceHealthIndicator do Spring Boot (mesmo nome de
+ * bean): o banco é verificado em segundo plano, a cada intervalo, e as
+ * probes e o /actuator/health só leem o último resultado.
+ *
+ * FUNÇÃO: Estado do banco sem consulta nem conexão por probe
+ *
+ * IMPORTANTE:
+ * - Verificação: Connection.isValid (ping do driver), com timeout
+ * - Pool sem conexão ociosa: a rodada é pulada e o resultado anterior
+ *   mantido, com o horário da última verificação real; esperar conexão
+ *   aqui seguraria a thread do agendador (compartilhada com AuditWriter,
+ *   LastLoginTracker e UserChangePoller)
+ * - Resultado mais velho que 3 intervalos (agendador parado ou pool
+ *   ocupado o tempo todo, ex.: conexões presas num banco travado) vira
+ *   UNKNOWN
+ * - @Lazy(false): agendado mesmo com spring.main.lazy-initialization=true
+ */
+@Component("dbHealthIndicator")
+@Lazy(false)
+public class CachedDatabaseHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedDatabaseHealthIndicator.class);
+
+    private record Verificacao(Health health, Instant verificadoEm, boolean poolOcupado) {
+    }
+
+    private final DataSource dataSource;
+
+    private final Duration intervalo;
+
+    private final int timeoutSegundos;
+
+    private volatile Verificacao ultima;
+
+    public CachedDatabaseHealthIndicator(DataSource dataSource,
+                                         @Value("${mottu.health.db.intervalo-ms:15000}") long intervaloMillis,
+                                         @Value("${mottu.health.db.timeout-ms:2000}") long timeoutMillis) {
+        this.dataSource = dataSource;
+        this.intervalo = Duration.ofMillis(intervaloMillis);
+        this.timeoutSegundos = (int) Math.max(1, Duration.ofMillis(timeoutMillis).toSeconds());
+    }
+
+    @Override
+    public Health health() {
+        Verificacao verificacao = ultima;
+        if (verificacao == null) {
+            return Health.unknown().withDetail("motivo", "primeira verificação pendente").build();
+        }
+        if (verificacao.verificadoEm().isBefore(Instant.now().minus(intervalo.multipliedBy(3)))) {
+            return Health.unknown()
+                    .withDetail("motivo", verificacao.poolOcupado() ? "pool sem conexão ociosa" : "verificação atrasada")
+                    .withDetail("verificadoEm", verificacao.verificadoEm().toString())
+                    .build();
+        }
+        return verificacao.health();
+    }
+
+    /**
+     * MÉTODO: verificar()
+     *
+     * FUNÇÃO: Verifica o banco e guarda o resultado para as próximas leituras
+     */
+    @Scheduled(fixedDelayString = "${mottu.health.db.intervalo-ms:15000}")
+    public void verificar() {
+        HikariPoolMXBean pool = ConnectionPoolHealthIndicator.estatisticas(dataSource);
+        Verificacao anterior = ultima;
+        if (anterior != null && pool != null && pool.getIdleConnections() == 0) {
+            ultima = new Verificacao(anterior.health(), anterior.verificadoEm(), true);
+            return;
+        }
+        long inicio = System.nanoTime();
+        Health.Builder builder;
+        try (Connection conexao = dataSource.getConnection()) {
+            builder = conexao.isValid(timeoutSegundos) ? Health.up() : Health.down();
+            builder.withDetail("database", conexao.getMetaData().getDatabaseProductName())
+                    .withDetail("validacaoMs", Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+        } catch (SQLException | RuntimeException e) {
+            builder = Health.down().withDetail("erro", String.valueOf(e.getMessage()));
+        }
+        Instant agora = Instant.now();
+        Health health = builder.withDetail("verificadoEm", agora.toString()).build();
+        if (anterior != null && !anterior.health().getStatus().equals(health.getStatus())) {
+            log.warn("Banco de dados: {} -> {}", anterior.health().getStatus(), health.getStatus());
+        }
+        ultima = new Verificacao(health, agora, false);
+    }
+}
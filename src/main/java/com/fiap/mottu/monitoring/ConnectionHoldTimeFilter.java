@@ -0,0 +1,76 @@
+package com.fiap.mottu.monitoring;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * FILTRO: ConnectionHoldTimeFilter
+ * 
+ * Registra, por handler, quanto tempo a requisição reteve conexões JDBC
+ * (soma de todos os empréstimos ao pool, inclusive o do filtro JWT).
+ * 
+ * FUNÇÃO: Perfil de retenção de conexões por endpoint
+ * MÉTRICA: mottu.jdbc.connection.hold (timer, tag handler = Controller#metodo)
+ * RESULTADO: Atributo de request ATRIBUTO_RETENCAO_MS com o total em ms
+ * 
+ * IMPORTANTE: 
+ * - Com open-in-view desativado, o tempo de renderização da view
+ *   não entra nesta medida
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConnectionHoldTimeFilter extends OncePerRequestFilter {
+
+    public static final String ATRIBUTO_RETENCAO_MS = ConnectionHoldTimeFilter.class.getName() + ".RETENCAO_MS";
+
+    private final ConnectionHoldTimeTracker tracker;
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionHoldTimeFilter(ConnectionHoldTimeTracker tracker, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        tracker.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long[] retencao = tracker.finalizar();
+            request.setAttribute(ATRIBUTO_RETENCAO_MS, retencao[0]);
+            if (retencao[1] > 0) {
+                Timer.builder("mottu.jdbc.connection.hold")
+                        .description("Tempo de retenção de conexões JDBC por requisição")
+                        .tag("handler", nomeDoHandler(request))
+                        .register(meterRegistry)
+                        .record(retencao[0], TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static String nomeDoHandler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return "nenhum";
+    }
+}
@@ -0,0 +1,120 @@
+package com.fiap.mottu.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * COMPONENTE: ConnectionHoldTimeTracker
+ * 
+ * Mede quanto tempo cada conexão JDBC fica emprestada do pool Hikari
+ * (do empréstimo até a devolução) e acumula esse tempo na thread da
+ * requisição, para o ConnectionHoldTimeFilter atribuir ao handler.
+ * 
+ * FUNÇÃO: Tempo de retenção de conexões por requisição
+ * INTEGRAÇÃO: MetricsTrackerFactory do Hikari (registrado antes do pool iniciar)
+ * 
+ * IMPORTANTE: 
+ * - Continua publicando as métricas padrão hikaricp.* via Micrometer
+ * - O Hikari registra o uso na thread que devolve a conexão,
+ *   que é a própria thread da requisição
+ */
+@Component
+public class ConnectionHoldTimeTracker implements BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> RETENCAO = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionHoldTimeTracker(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari
+                && hikari.getMetricRegistry() == null
+                && hikari.getMetricsTrackerFactory() == null) {
+            hikari.setMetricsTrackerFactory(new RetencaoMetricsTrackerFactory());
+        }
+        return bean;
+    }
+
+    /**
+     * MÉTODO: iniciar()
+     * 
+     * FUNÇÃO: Inicia o acumulador de retenção na thread atual
+     */
+    public void iniciar() {
+        RETENCAO.set(new long[2]);
+    }
+
+    /**
+     * MÉTODO: finalizar()
+     * 
+     * RETORNO: [milissegundos retidos, conexões emprestadas] desde iniciar()
+     */
+    public long[] finalizar() {
+        long[] retencao = RETENCAO.get();
+        RETENCAO.remove();
+        return retencao != null ? retencao : new long[2];
+    }
+
+    private static void registrarUso(long millis) {
+        long[] retencao = RETENCAO.get();
+        if (retencao != null) {
+            retencao[0] += millis;
+            retencao[1]++;
+        }
+    }
+
+    /**
+     * FACTORY: Cria o tracker do pool delegando ao Micrometer
+     * (resolvido apenas quando o pool inicia, já com o contexto pronto)
+     */
+    private class RetencaoMetricsTrackerFactory implements MetricsTrackerFactory {
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            IMetricsTracker delegado = registry != null
+                    ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+                    : new IMetricsTracker() {};
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                    delegado.recordConnectionCreatedMillis(connectionCreatedMillis);
+                }
+
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    delegado.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    registrarUso(elapsedBorrowedMillis);
+                    delegado.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    delegado.recordConnectionTimeout();
+                }
+
+                @Override
+                public void close() {
+                    delegado.close();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.fiap.mottu.monitoring;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * HEALTH: ConnectionPoolHealthIndicator ("poolConexoes", grupo readiness)
+ * 
+ * Saturação do pool Hikari do primário: com muitas threads esperando
+ * conexão, o nó sai do balanceamento até a fila baixar.
+ * 
+ * FUNÇÃO: OUT_OF_SERVICE quando aguardando >= mottu.health.pool.aguardando-max
+ * IMPORTANTE: 
+ * - Só lê os contadores do HikariPoolMXBean; não pede conexão ao pool
+ * - Pool ainda não iniciado (lazy-initialization) conta como UP
+ */
+@Component("poolConexoesHealthIndicator")
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+
+    private final int aguardandoMax;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource,
+                                         @Value("${mottu.health.pool.aguardando-max:10}") int aguardandoMax) {
+        this.dataSource = dataSource;
+        this.aguardandoMax = aguardandoMax;
+    }
+
+    @Override
+    public Health health() {
+        HikariPoolMXBean pool = estatisticas(dataSource);
+        if (pool == null) {
+            return Health.up().withDetail("pool", "não iniciado").build();
+        }
+        int aguardando = pool.getThreadsAwaitingConnection();
+        return Health.status(aguardando >= aguardandoMax ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("ativas", pool.getActiveConnections())
+                .withDetail("ociosas", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("aguardando", aguardando)
+                .withDetail("aguardandoMax", aguardandoMax)
+                .build();
+    }
+
+    /**
+     * RETORNO: Contadores do pool Hikari por trás do DataSource (primário,
+     * se houver roteamento para réplica), ou null se não iniciado
+     */
+    static HikariPoolMXBean estatisticas(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.mottu.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import com.fiap.mottu.security.InstrumentedPasswordEncoder;
+
+/**
+ * HEALTH: HashSenhaHealthIndicator ("hashSenha", grupo readiness)
+ * 
+ * Fila de hashes BCrypt (InstrumentedPasswordEncoder): cada login custa
+ * dezenas de milissegundos de CPU; acima do limite, novos logins só
+ * aumentariam a espera de todos.
+ * 
+ * FUNÇÃO: OUT_OF_SERVICE quando em andamento >= mottu.health.hash.em-andamento-max
+ * IMPORTANTE: limite 0 usa 4 hashes por processador disponível
+ */
+@Component("hashSenhaHealthIndicator")
+public class HashSenhaHealthIndicator implements HealthIndicator {
+
+    private final InstrumentedPasswordEncoder passwordEncoder;
+
+    private final int emAndamentoMax;
+
+    public HashSenhaHealthIndicator(InstrumentedPasswordEncoder passwordEncoder,
+                                    @Value("${mottu.health.hash.em-andamento-max:0}") int emAndamentoMax) {
+        this.passwordEncoder = passwordEncoder;
+        this.emAndamentoMax = emAndamentoMax > 0 ? emAndamentoMax : 4 * Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public Health health() {
+        int emAndamento = passwordEncoder.emAndamento();
+        return Health.status(emAndamento >= emAndamentoMax ? Status.OUT_OF_SERVICE : Status.UP)
+                .withDetail("emAndamento", emAndamento)
+                .withDetail("emAndamentoMax", emAndamentoMax)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.fiap.mottu.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ANOTAÇÃO: SqlStatementBudget
+ * 
+ * Declara o número máximo de comandos SQL que um endpoint pode
+ * executar em uma única requisição HTTP, incluindo o carregamento
+ * do usuário feito pelo JwtAuthenticationFilter.
+ * 
+ * FUNÇÃO: Orçamento de SQL por endpoint
+ * VERIFICAÇÃO: SqlStatementBudgetFilter (produção) e testes de integração
+ * 
+ * IMPORTANTE: 
+ * - Ao adicionar uma consulta a um fluxo, o orçamento deve ser revisto
+ * - Requisições acima do orçamento geram log de alerta em produção
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+
+    /**
+     * Quantidade máxima de comandos SQL permitidos por requisição.
+     */
+    int value();
+}
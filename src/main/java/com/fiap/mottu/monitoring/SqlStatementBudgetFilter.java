@@ -0,0 +1,96 @@
+package com.fiap.mottu.monitoring;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * FILTRO: SqlStatementBudgetFilter
+ * 
+ * Conta os comandos SQL executados durante cada requisição HTTP e
+ * compara com o orçamento declarado no handler via @SqlStatementBudget.
+ * Requisições acima do orçamento são registradas em log de alerta.
+ * 
+ * FUNÇÃO: Detecção de regressões de consultas por endpoint
+ * EXECUÇÃO: Primeiro filtro da cadeia (inclui o JwtAuthenticationFilter)
+ * RESULTADO: Atributo de request ATRIBUTO_CONTAGEM com o total de comandos
+ * 
+ * CONFIGURAÇÃO:
+ * - mottu.sql-budget.padrao: orçamento para handlers sem anotação
+ *   (valor negativo desativa a verificação nesses handlers)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String ATRIBUTO_CONTAGEM = SqlStatementBudgetFilter.class.getName() + ".CONTAGEM";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final SqlStatementCounter contador;
+
+    private final int orcamentoPadrao;
+
+    public SqlStatementBudgetFilter(SqlStatementCounter contador,
+                                    @Value("${mottu.sql-budget.padrao:-1}") int orcamentoPadrao) {
+        this.contador = contador;
+        this.orcamentoPadrao = orcamentoPadrao;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        contador.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int total = contador.finalizar();
+            request.setAttribute(ATRIBUTO_CONTAGEM, total);
+            verificarOrcamento(request, total);
+        }
+    }
+
+    /**
+     * MÉTODO: verificarOrcamento(HttpServletRequest request, int total)
+     * 
+     * FUNÇÃO: Compara o total de comandos com o orçamento do handler
+     * HANDLER: Resolvido pelo DispatcherServlet (BEST_MATCHING_HANDLER_ATTRIBUTE)
+     */
+    private void verificarOrcamento(HttpServletRequest request, int total) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        int orcamento = orcamentoDe(handler, orcamentoPadrao);
+        if (orcamento >= 0 && total > orcamento) {
+            log.warn("Orçamento de SQL excedido: {} {} ({}) executou {} comandos, orçamento {}",
+                    request.getMethod(), request.getRequestURI(), handler, total, orcamento);
+        }
+    }
+
+    /**
+     * MÉTODO: orcamentoDe(Object handler, int padrao)
+     * 
+     * RETORNO: Valor de @SqlStatementBudget do handler, ou o padrão informado
+     */
+    public static int orcamentoDe(Object handler, int padrao) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlStatementBudget budget = handlerMethod.getMethodAnnotation(SqlStatementBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return padrao;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fiap.mottu.monitoring;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * COMPONENTE: SqlStatementCounter
+ * 
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual.
+ * Registrado como StatementInspector, recebe cada comando antes de
+ * ir ao banco (SELECT, INSERT, UPDATE, DELETE e NEXTVAL de sequence).
+ * 
+ * FUNÇÃO: Contagem de comandos SQL por requisição
+ * ESCOPO: ThreadLocal (uma contagem por thread de requisição)
+ * USO: SqlStatementBudgetFilter e testes de orçamento de SQL
+ * 
+ * IMPORTANTE: 
+ * - Só conta enquanto houver uma contagem iniciada na thread
+ * - Não altera o SQL (inspect retorna o comando original)
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> CONTAGEM = new ThreadLocal<>();
+
+    /**
+     * MÉTODO: customize(Map<String, Object> hibernateProperties)
+     * 
+     * FUNÇÃO: Registra esta instância como StatementInspector do Hibernate
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] contagem = CONTAGEM.get();
+        if (contagem != null) {
+            contagem[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * MÉTODO: iniciar()
+     * 
+     * FUNÇÃO: Inicia (ou reinicia) a contagem na thread atual
+     */
+    public void iniciar() {
+        CONTAGEM.set(new int[1]);
+    }
+
+    /**
+     * MÉTODO: contagemAtual()
+     * 
+     * RETORNO: Comandos contados desde iniciar(), ou 0 sem contagem ativa
+     */
+    public int contagemAtual() {
+        int[] contagem = CONTAGEM.get();
+        return contagem != null ? contagem[0] : 0;
+    }
+
+    /**
+     * MÉTODO: finalizar()
+     * 
+     * FUNÇÃO: Encerra a contagem e limpa o ThreadLocal
+     * RETORNO: Total de comandos contados
+     */
+    public int finalizar() {
+        int total = contagemAtual();
+        CONTAGEM.remove();
+        return total;
+    }
+}
@@ -1,11 +1,22 @@
 package com.fiap.mottu.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.fiap.mottu.dto.UsuarioResumo;
 import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.security.PrincipalUsuario;
 
 /**
  * REPOSITORY: MottuUsuarioRepository
@@ -17,9 +28,28 @@ import com.fiap.mottu.entity.MottuUsuario;
  * FUNÇÃO: Camada de acesso a dados para usuários
  * TECNOLOGIA: Spring Data JPA com Oracle
  * OPERAÇÕES: CRUD, busca por email, verificação de existência
+ * 
+ * BUSCAS POR EMAIL:
+ * - Recebem o email já normalizado (MottuUsuario.normalizarEmail) e
+ *   comparam com "email_usuario = ?", sem LOWER() na coluna: o Oracle
+ *   usa o índice único de email_usuario em vez de varrer a tabela
+ * 
+ * CONSULTAS DE AUTENTICAÇÃO (findByEmail, findByEmailAndAtivoTrue,
+ * buscarPrincipalAtivo, buscarPrincipaisAtivos):
+ * - Passam pelo DatabaseCircuitBreaker
+ * - Timeout de TIMEOUT_AUTENTICACAO_MS: banco travado vira
+ *   QueryTimeoutException (falha para o circuito) em vez de segurar a
+ *   thread; as demais consultas (admin, lotes) não têm esse limite
  */
 @Repository
 public interface MottuUsuarioRepository extends JpaRepository<MottuUsuario, Long> {
+
+    /**
+     * Timeout (ms) das consultas de autenticação; acima de
+     * mottu.circuit-breaker.banco.lenta-ms, para a consulta lenta contar
+     * como falha antes de ser cancelada
+     */
+    String TIMEOUT_AUTENTICACAO_MS = "3000";
     
     /**
      * MÉTODO: findByEmail(String email)
@@ -35,6 +65,7 @@ public interface MottuUsuarioRepository extends JpaRepository<MottuUsuario, Long
      * 
      * EXEMPLO USO: repository.findByEmail("usuario@email.com")
      */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = TIMEOUT_AUTENTICACAO_MS))
     Optional<MottuUsuario> findByEmail(String email);
     
     /**
@@ -70,5 +101,209 @@ public interface MottuUsuarioRepository extends JpaRepository<MottuUsuario, Long
      * NOTA: Este método é mais seguro que findByEmail() para login,
      * pois garante que a conta não foi desativada
      */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = TIMEOUT_AUTENTICACAO_MS))
     Optional<MottuUsuario> findByEmailAndAtivoTrue(String email);
+
+    /**
+     * MÉTODO: buscarPrincipalAtivo(String email)
+     * 
+     * FUNÇÃO: Mesmo filtro de findByEmailAndAtivoTrue, lendo só as colunas
+     * do principal (sem senha, sem entidade gerenciada)
+     * USO: JwtAuthenticationFilter, quando o principal não está em cache
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = TIMEOUT_AUTENTICACAO_MS))
+    @Query("select new com.fiap.mottu.security.PrincipalUsuario(u.id, u.email, u.perfil, u.versao) "
+            + "from MottuUsuario u where u.email = :email and u.ativo = true")
+    Optional<PrincipalUsuario> buscarPrincipalAtivo(@Param("email") String email);
+
+    /**
+     * MÉTODO: buscarPrincipaisAtivos(Collection<String> emails)
+     * 
+     * FUNÇÃO: Principal (id, email, perfil, versão) dos usuários ativos
+     * entre os emails informados
+     * RETORNO: Um PrincipalUsuario por email encontrado (inexistentes e
+     * inativos ficam de fora)
+     * USO: Introspecção de tokens em lote e carga do PrincipalCache
+     * 
+     * IMPORTANTE:
+     * - Um único comando (IN) para o lote inteiro; o Oracle aceita até 1000
+     *   itens na lista (IntrospeccaoRequest limita a 100)
+     * - email_usuario IN (...) AND ativo = 1 usa o idx_mottu_usuarios_login (V10)
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = TIMEOUT_AUTENTICACAO_MS))
+    @Query("select new com.fiap.mottu.security.PrincipalUsuario(u.id, u.email, u.perfil, u.versao) "
+            + "from MottuUsuario u where u.email in :emails and u.ativo = true")
+    List<PrincipalUsuario> buscarPrincipaisAtivos(@Param("emails") Collection<String> emails);
+
+    /**
+     * MÉTODO: listarResumos()
+     * 
+     * FUNÇÃO: Lista todos os usuários para a área administrativa
+     * RETORNO: List<UsuarioResumo> ordenada por nome
+     * USO: AdminUserController (admin-users-list.html)
+     * 
+     * IMPORTANTE:
+     * - Projeção JPQL: retorna DTOs, não entidades gerenciadas
+     * - Não seleciona a senha criptografada
+     */
+    @Query("select new com.fiap.mottu.dto.UsuarioResumo(u.id, u.nome, u.email, u.perfil, u.ativo, "
+            + "u.ultimoLogin, u.totalLogins) "
+            + "from MottuUsuario u order by u.nome")
+    List<UsuarioResumo> listarResumos();
+
+    /**
+     * MÉTODO: alternarAtivo(Long id)
+     * 
+     * FUNÇÃO: Inverte o status ativo em um único UPDATE atômico
+     * RETORNO: Quantidade de linhas alteradas (0 se o usuário não existe)
+     * 
+     * IMPORTANTE:
+     * - Sem leitura prévia: não há corrida de leitura-modificação-escrita
+     * - Incrementa a versão, invalidando formulários de edição abertos
+     */
+    @Modifying
+    @Query("update MottuUsuario u set u.ativo = case when u.ativo = true then false else true end, "
+            + "u.versao = u.versao + 1 where u.id = :id")
+    int alternarAtivo(@Param("id") Long id);
+
+    /**
+     * MÉTODO: buscarEmailPorId(Long id)
+     * 
+     * FUNÇÃO: Email do usuário, sem carregar a entidade
+     * USO: Leitura das próprias escritas após alternarAtivo
+     */
+    @Query("select u.email from MottuUsuario u where u.id = :id")
+    Optional<String> buscarEmailPorId(@Param("id") Long id);
+
+    /**
+     * MÉTODO: atualizarDadosBasicos(...)
+     * 
+     * FUNÇÃO: Atualiza nome, email, perfil e status em um único UPDATE
+     * RETORNO: Quantidade de linhas alteradas
+     * 
+     * IMPORTANTE:
+     * - Só altera se a versão ainda for a lida pelo formulário
+     * - Só altera se algum valor difere do gravado: salvar o formulário sem
+     *   mudanças não incrementa a versão nem dispara TRG_MOTTU_USUARIOS_BU
+     *   (data_atualizacao), e os outros nós não reaplicam a linha
+     * - A lista do SET é fixa (JPQL); quando há mudança, as quatro colunas
+     *   do formulário são regravadas
+     * - 0 linhas: usuário inexistente, alterado por outro administrador ou
+     *   sem mudanças (ver buscarVersaoPorId)
+     * - ativo nulo mantém o valor atual
+     */
+    @Modifying
+    @Query("update MottuUsuario u set u.nome = :nome, u.email = :email, u.perfil = :perfil, "
+            + "u.ativo = coalesce(cast(:ativo as Boolean), u.ativo), u.versao = u.versao + 1 "
+            + "where u.id = :id and u.versao = :versao "
+            + "and (u.nome <> :nome or u.email <> :email or u.perfil <> :perfil "
+            + "or (cast(:ativo as Boolean) is not null and u.ativo <> :ativo))")
+    int atualizarDadosBasicos(@Param("id") Long id,
+                              @Param("versao") Long versao,
+                              @Param("nome") String nome,
+                              @Param("email") String email,
+                              @Param("perfil") PerfilUsuario perfil,
+                              @Param("ativo") Boolean ativo);
+
+    /**
+     * MÉTODO: buscarVersaoPorId(Long id)
+     * 
+     * FUNÇÃO: Versão atual do usuário, para interpretar um UPDATE com
+     * versão que não alterou nenhuma linha
+     */
+    @Query("select u.versao from MottuUsuario u where u.id = :id")
+    Optional<Long> buscarVersaoPorId(@Param("id") Long id);
+
+    /**
+     * MÉTODO: atualizarComSenha(...)
+     * 
+     * FUNÇÃO: Igual a atualizarDadosBasicos, incluindo a nova senha já criptografada
+     * RETORNO: Quantidade de linhas alteradas
+     * 
+     * IMPORTANTE:
+     * - Sem o filtro de mudanças: a senha nova (hash novo) sempre altera a linha
+     */
+    @Modifying
+    @Query("update MottuUsuario u set u.nome = :nome, u.email = :email, u.perfil = :perfil, "
+            + "u.ativo = coalesce(cast(:ativo as Boolean), u.ativo), u.senha = :senha, u.versao = u.versao + 1 "
+            + "where u.id = :id and u.versao = :versao")
+    int atualizarComSenha(@Param("id") Long id,
+                          @Param("versao") Long versao,
+                          @Param("nome") String nome,
+                          @Param("email") String email,
+                          @Param("perfil") PerfilUsuario perfil,
+                          @Param("ativo") Boolean ativo,
+                          @Param("senha") String senha);
+
+    /**
+     * MÉTODO: buscarIdsPorFiltro(...)
+     * 
+     * FUNÇÃO: Resolve o filtro de uma operação em massa para a lista de ids
+     * RETORNO: Ids dos usuários que atendem a todos os critérios informados
+     * 
+     * IMPORTANTE:
+     * - Critério nulo é ignorado
+     * - emailPadrao já vem em minúsculas, com os curingas (%...%) e com
+     *   '!' como caractere de escape (no Oracle, escape '' vira NULL)
+     * - email_usuario é gravado em minúsculas (V9), então dispensa lower()
+     */
+    @Query("select u.id from MottuUsuario u "
+            + "where (cast(:perfil as String) is null or u.perfil = :perfil) "
+            + "and (cast(:ativo as Boolean) is null or u.ativo = :ativo) "
+            + "and (cast(:emailPadrao as String) is null or u.email like :emailPadrao escape '!') "
+            + "order by u.id")
+    List<Long> buscarIdsPorFiltro(@Param("perfil") PerfilUsuario perfil,
+                                  @Param("ativo") Boolean ativo,
+                                  @Param("emailPadrao") String emailPadrao);
+
+    /**
+     * MÉTODO: buscarEmailsPorIds(List<Long> ids)
+     * 
+     * FUNÇÃO: Emails de um lote de usuários, lidos antes da operação em
+     * massa para a leitura das próprias escritas
+     * 
+     * IMPORTANTE: ids deve respeitar o limite de 1000 itens do IN do Oracle
+     */
+    @Query("select u.email from MottuUsuario u where u.id in :ids")
+    List<String> buscarEmailsPorIds(@Param("ids") List<Long> ids);
+
+    /**
+     * MÉTODO: definirAtivoEmLote(List<Long> ids, boolean ativo)
+     * 
+     * FUNÇÃO: Ativa/inativa um lote de usuários em um único UPDATE
+     * RETORNO: Quantidade de linhas alteradas
+     * 
+     * IMPORTANTE:
+     * - ids deve respeitar o limite de 1000 itens do IN do Oracle
+     * - Só altera (e incrementa a versão de) quem ainda não está no estado pedido
+     */
+    @Modifying
+    @Query("update MottuUsuario u set u.ativo = :ativo, u.versao = u.versao + 1 "
+            + "where u.id in :ids and u.ativo <> :ativo")
+    int definirAtivoEmLote(@Param("ids") List<Long> ids, @Param("ativo") boolean ativo);
+
+    /**
+     * MÉTODO: definirPerfilEmLote(List<Long> ids, PerfilUsuario perfil)
+     * 
+     * FUNÇÃO: Altera o perfil de um lote de usuários em um único UPDATE
+     * RETORNO: Quantidade de linhas alteradas
+     * 
+     * IMPORTANTE: ids deve respeitar o limite de 1000 itens do IN do Oracle
+     */
+    @Modifying
+    @Query("update MottuUsuario u set u.perfil = :perfil, u.versao = u.versao + 1 "
+            + "where u.id in :ids and u.perfil <> :perfil")
+    int definirPerfilEmLote(@Param("ids") List<Long> ids, @Param("perfil") PerfilUsuario perfil);
+
+    /**
+     * MÉTODO: excluirEmLote(List<Long> ids)
+     * 
+     * FUNÇÃO: Exclui um lote de usuários em um único DELETE
+     * RETORNO: Quantidade de linhas excluídas
+     * 
+     * IMPORTANTE: ids deve respeitar o limite de 1000 itens do IN do Oracle
+     */
+    @Modifying
+    @Query("delete from MottuUsuario u where u.id in :ids")
+    int excluirEmLote(@Param("ids") List<Long> ids);
 }
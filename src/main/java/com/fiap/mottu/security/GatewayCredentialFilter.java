@@ -0,0 +1,74 @@
+package com.fiap.mottu.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * FILTRO: GatewayCredentialFilter
+ *
+ * Autentica gateways e serviços internos em POST /api/auth/introspect
+ * pela chave compartilhada do header X-Gateway-Key (RFC 7662, seção 2.1:
+ * o chamador da introspecção precisa estar autorizado).
+ *
+ * FUNÇÃO: Chave correta → autenticação com ROLE_GATEWAY
+ * CONFIGURAÇÃO: mottu.introspeccao.chave-gateway (vazia desativa a chave;
+ * nesse caso só um JWT de ADMIN acessa o endpoint)
+ *
+ * IMPORTANTE:
+ * - Atua só no endpoint de introspecção; nas demais rotas o header é ignorado
+ * - Comparação em tempo constante (MessageDigest.isEqual)
+ * - Chave ausente ou errada não responde nada: a autorização devolve 401
+ */
+@Component
+public class GatewayCredentialFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Gateway-Key";
+
+    public static final String ROLE = "GATEWAY";
+
+    public static final String ENDPOINT = "/api/auth/introspect";
+
+    private static final RequestMatcher INTROSPECCAO = new AntPathRequestMatcher(ENDPOINT);
+
+    private final byte[] chave;
+
+    public GatewayCredentialFilter(@Value("${mottu.introspeccao.chave-gateway:}") String chave) {
+        this.chave = chave.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !INTROSPECCAO.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String recebida = request.getHeader(HEADER);
+        if (chave.length > 0 && recebida != null
+                && MessageDigest.isEqual(chave, recebida.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "gateway", null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fiap.mottu.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * ENCODER: InstrumentedPasswordEncoder
+ * 
+ * Envolve o PasswordEncoder (BCrypt) e conta quantos hashes estão sendo
+ * calculados neste momento.
+ * 
+ * FUNÇÃO: Fila de hashes de senha para o readiness (HashSenhaHealthIndicator)
+ * 
+ * IMPORTANTE: 
+ * - O BCrypt roda na thread da requisição (login, cadastro, troca de
+ *   senha); com mais hashes em andamento que núcleos, os excedentes
+ *   esperam CPU, e essa contagem é a fila efetiva
+ * - Só um contador atômico por chamada; não altera o resultado do delegate
+ */
+public class InstrumentedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    public InstrumentedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        emAndamento.incrementAndGet();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        emAndamento.incrementAndGet();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * RETORNO: Hashes (encode/matches) em andamento agora
+     */
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+}
@@ -1,17 +1,28 @@
 package com.fiap.mottu.security;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.fiap.mottu.audit.AuditEventType;
+import com.fiap.mottu.audit.AuditLog;
+import com.fiap.mottu.datasource.BancoIndisponivelException;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
 import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.JwtException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -48,10 +59,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * 
      * FUNÇÃO: Carregar informações do usuário a partir do email
      * INJEÇÃO: @Autowired para injeção de dependência
-     * IMPLEMENTAÇÃO: MottuUsuarioService (UserDetailsService)
+     * 
+     * IMPORTANTE: Usa buscarPrincipalAtivo (Optional, PrincipalCache) em
+     * vez de loadUserByUsername, que sinaliza usuário ausente com exceção
+     * e vai ao banco em toda requisição
+     */
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    /**
+     * TRILHA DE AUDITORIA
+     * 
+     * FUNÇÃO: Registra tokens rejeitados (sem acesso ao banco na requisição)
+     */
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * SERIALIZAÇÃO DO ErroResponse (resposta 503 escrita pelo próprio filtro)
      */
     @Autowired
-    private UserDetailsService userDetailsService;
+    private ObjectMapper objectMapper;
 
     /**
      * MÉTODO: doFilterInternal()
@@ -148,7 +176,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
          * - Subject contém o email do usuário
          * - Usado para buscar usuário no banco
          */
-        userEmail = jwtService.extractUsername(jwt);
+        try {
+            userEmail = jwtService.extractUsername(jwt);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // AUDITORIA: token malformado, expirado ou com assinatura inválida
+            auditLog.registrar(AuditEventType.TOKEN_REJEITADO, null, ex.getClass().getSimpleName());
+            filterChain.doFilter(request, response);
+            return;
+        }
         
         // ========================================
         // VALIDAÇÃO E CONFIGURAÇÃO DE AUTENTICAÇÃO
@@ -169,14 +204,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             
             /**
-             * CARREGAMENTO: Dados do usuário do banco
+             * CARREGAMENTO: Principal do usuário (cache ou banco)
              * 
-             * FUNÇÃO: userDetailsService.loadUserByUsername(userEmail)
-             * - Busca usuário por email
-             * - Retorna UserDetails (MottuUsuario)
-             * - Inclui permissões e status da conta
+             * FUNÇÃO: usuarioService.buscarPrincipalAtivo(userEmail)
+             * - Busca usuário ativo por email, primeiro no PrincipalCache
+             * - Optional vazio se não existir ou estiver inativo
+             * - Inclui id, perfil (permissões) e versão; nunca a senha
+             * - Banco indisponível: último estado conhecido do cache; sem
+             *   ele, 503 (e não 401, que levaria o cliente a um novo login)
              */
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            Optional<PrincipalUsuario> encontrado;
+            try {
+                encontrado = usuarioService.buscarPrincipalAtivo(userEmail);
+            } catch (RuntimeException ex) {
+                if (!DatabaseCircuitBreaker.falhaDeBanco(ex)) {
+                    throw ex;
+                }
+                responderBancoIndisponivel(response, ex);
+                return;
+            }
+            if (encontrado.isEmpty()) {
+                // AUDITORIA: token assinado para usuário excluído ou inativo
+                auditLog.registrar(AuditEventType.TOKEN_REJEITADO, userEmail, "Usuário inexistente ou inativo");
+                filterChain.doFilter(request, response);
+                return;
+            }
+            PrincipalUsuario userDetails = encontrado.get();
             
             /**
              * VALIDAÇÃO: Se token é válido para o usuário
@@ -197,7 +250,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                  * CRIAÇÃO: Token de autenticação do Spring Security
                  * 
                  * PARÂMETROS:
-                 * - userDetails: Dados do usuário (MottuUsuario)
+                 * - userDetails: Principal do usuário (PrincipalUsuario)
                  * - null: Credenciais (não necessárias para JWT)
                  * - userDetails.getAuthorities(): Permissões do usuário
                  * 
@@ -236,6 +289,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                  * - Spring Security permite acesso baseado em permissões
                  */
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                auditLog.registrar(AuditEventType.TOKEN_REJEITADO, userEmail, "Token não corresponde ao usuário");
             }
         }
         
@@ -258,4 +313,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
          */
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * MÉTODO: responderBancoIndisponivel()
+     * 
+     * FUNÇÃO: 503 BANCO_INDISPONIVEL com Retry-After, no mesmo formato
+     * (ErroResponse) da API de autenticação
+     */
+    private void responderBancoIndisponivel(HttpServletResponse response, RuntimeException ex) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(BancoIndisponivelException.retryAfterSegundos(ex)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(),
+                BancoIndisponivelException.erroResponse());
+    }
 }
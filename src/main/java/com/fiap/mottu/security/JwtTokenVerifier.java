@@ -0,0 +1,96 @@
+package com.fiap.mottu.security;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * VERIFICADOR: JwtTokenVerifier
+ *
+ * Núcleo da verificação de tokens JWT, sem dependência de Spring, JPA ou
+ * servlet. É usado pelo JwtService desta aplicação e pelo módulo reativo
+ * verificador-token, que o recebe no artefato mottu-auth-api-*-jwt.jar
+ * (ver maven-jar-plugin no pom.xml).
+ *
+ * FUNÇÃO: Conferir assinatura (HS256) e expiração e devolver o subject
+ * IMPORTANTE:
+ * - Só CPU: pode rodar em thread de event loop sem bloquear
+ * - Instância imutável e thread-safe; chave e parser são criados uma vez
+ */
+public final class JwtTokenVerifier {
+
+    /**
+     * Token com assinatura válida e dentro da validade.
+     *
+     * @param email subject do token na forma canônica
+     * @param expiraEm momento de expiração
+     */
+    public record TokenVerificado(String email, Instant expiraEm) {
+    }
+
+    private final SecretKey chave;
+    private final JwtParser parser;
+
+    /**
+     * @param secret mesmo valor de jwt.secret usado para emitir os tokens
+     */
+    public JwtTokenVerifier(String secret) {
+        this.chave = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(chave).build();
+    }
+
+    /**
+     * Chave de assinatura (emissão de tokens no JwtService).
+     */
+    public SecretKey chave() {
+        return chave;
+    }
+
+    /**
+     * MÉTODO: lerClaims(String token)
+     *
+     * FUNÇÃO: Confere a assinatura e devolve o payload
+     * IMPORTANTE: lança JwtException para token malformado, com assinatura
+     * inválida ou expirado (o parser do JJWT já rejeita exp no passado)
+     */
+    public Claims lerClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * MÉTODO: verificar(String token)
+     *
+     * FUNÇÃO: Verificação completa sem exceções no caminho de falha
+     * RETORNO: TokenVerificado, ou vazio se o token não for aceito
+     *
+     * IMPORTANTE: tokens emitidos antes da normalização de emails (V9) podem
+     * trazer o subject com maiúsculas; ele é devolvido na forma canônica
+     * (trim + minúsculas, a mesma de MottuUsuario.normalizarEmail)
+     */
+    public Optional<TokenVerificado> verificar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Claims claims;
+        try {
+            claims = lerClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        String subject = claims.getSubject();
+        Date expiracao = claims.getExpiration();
+        if (subject == null || expiracao == null || !expiracao.after(new Date())) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenVerificado(subject.trim().toLowerCase(Locale.ROOT), expiracao.toInstant()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.mottu.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+
+/**
+ * PRINCIPAL: PrincipalUsuario
+ * 
+ * Usuário ativo autenticado por token: o que o SecurityContext precisa,
+ * sem a senha e sem ser entidade gerenciada pelo Hibernate.
+ * 
+ * FUNÇÃO: Principal do JwtAuthenticationFilter e item do PrincipalCache
+ * ORIGEM: Projeção JPQL (MottuUsuarioRepository.buscarPrincipaisAtivos)
+ * ou cópia de um MottuUsuario já carregado
+ * 
+ * IMPORTANTE: 
+ * - Imutável: pode ser compartilhado entre requisições e nós do cache
+ * - versao permite descartar alterações mais antigas que a entrada em cache
+ * - Só usuários ativos viram PrincipalUsuario (isEnabled sempre true)
+ */
+public record PrincipalUsuario(Long id, String email, PerfilUsuario perfil, Long versao) implements UserDetails {
+
+    public static PrincipalUsuario de(MottuUsuario usuario) {
+        return new PrincipalUsuario(usuario.getId(), usuario.getEmail(), usuario.getPerfil(), usuario.getVersao());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + perfil.name()));
+    }
+
+    /**
+     * Autenticação por token: a senha não é necessária nem carregada
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
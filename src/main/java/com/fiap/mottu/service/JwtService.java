@@ -3,18 +3,23 @@ package com.fiap.mottu.service;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.fiap.mottu.security.JwtTokenVerifier;
+import com.fiap.mottu.security.JwtTokenVerifier.TokenVerificado;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 
 /**
  * SERVIÇO: JwtService
@@ -58,6 +63,20 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    /**
+     * VERIFICADOR COMPARTILHADO
+     *
+     * FUNÇÃO: Assinatura, parsing e expiração dos tokens
+     * IMPORTANTE: a mesma classe roda no módulo reativo verificador-token;
+     * mudanças na validação devem ser feitas lá (JwtTokenVerifier), não aqui
+     */
+    private JwtTokenVerifier tokenVerifier;
+
+    @PostConstruct
+    void iniciarVerificador() {
+        tokenVerifier = new JwtTokenVerifier(secret);
+    }
+
     /**
      * MÉTODO: getSigningKey()
      * 
@@ -71,7 +90,7 @@ public class JwtService {
      * - Chave deve ter tamanho adequado para o algoritmo
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return tokenVerifier.chave();
     }
 
     /**
@@ -140,27 +159,7 @@ public class JwtService {
      * SEGURANÇA: Verifica se token foi assinado corretamente
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * MÉTODO: isTokenExpired(String token)
-     * 
-     * FUNÇÃO: Verifica se o token expirou
-     * RETORNO: boolean (true se expirou, false se válido)
-     * USO: Validação de expiração antes de aceitar token
-     * 
-     * IMPORTANTE: 
-     * - Compara data de expiração com data atual
-     * - Token expirado não deve ser aceito
-     * - Usado para validação de segurança
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return tokenVerifier.lerClaims(token);
     }
 
     /**
@@ -210,6 +209,17 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * MÉTODO: verificar(String token)
+     * 
+     * FUNÇÃO: Assinatura e expiração, sem exceção para token recusado
+     * RETORNO: email canônico e expiração, ou vazio
+     * USO: Introspecção de tokens (TokenIntrospectionService)
+     */
+    public Optional<TokenVerificado> verificar(String token) {
+        return tokenVerifier.verificar(token);
+    }
+
     /**
      * MÉTODO: validateToken(String token, UserDetails userDetails)
      * 
@@ -228,7 +238,8 @@ public class JwtService {
      * - Garante segurança das requisições
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return tokenVerifier.verificar(token)
+                .map(verificado -> verificado.email().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 }
@@ -0,0 +1,115 @@
+package com.fiap.mottu.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * COMPONENTE: LastLoginTracker
+ * 
+ * Acumula em memória o último login e a quantidade de logins de cada
+ * usuário e grava tudo de uma vez, em um UPDATE em lote periódico.
+ * 
+ * FUNÇÃO: Último login / total de logins sem escrita no caminho do login
+ * USO: AuthController.login chama registrarLogin(email)
+ * 
+ * IMPORTANTE: 
+ * - Vários logins do mesmo usuário entre duas gravações viram um único UPDATE
+ * - Atraso máximo dos dados no banco: mottu.ultimo-login.intervalo-flush-ms
+ * - Gravação também no encerramento normal (@PreDestroy)
+ * - O trigger TRG_MOTTU_USUARIOS_BU (V7) não dispara para estas colunas
+ * - Falha na gravação devolve os valores ao acumulador (tentativa no próximo ciclo)
+ * - @Lazy(false): com spring.main.lazy-initialization=true o agendamento
+ *   só existiria depois do primeiro login
+ */
+@Component
+@Lazy(false)
+public class LastLoginTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginTracker.class);
+
+    private static final String UPDATE = "UPDATE mottu_usuarios_sistema "
+            + "SET ultimo_login = CASE WHEN ultimo_login IS NULL OR ultimo_login < ? THEN ? ELSE ultimo_login END, "
+            + "total_logins = COALESCE(total_logins, 0) + ? "
+            + "WHERE email_usuario = ?";
+
+    private final Map<String, Acumulado> pendentes = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LastLoginTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * MÉTODO: registrarLogin(String email)
+     * 
+     * FUNÇÃO: Conta um login bem-sucedido (somente memória)
+     */
+    public void registrarLogin(String email) {
+        pendentes.merge(email, new Acumulado(Instant.now(), 1), Acumulado::somar);
+    }
+
+    /**
+     * MÉTODO: descarregar()
+     * 
+     * FUNÇÃO: Grava os logins acumulados em um UPDATE em lote
+     * RETORNO: Quantidade de usuários gravados
+     */
+    @Scheduled(fixedDelayString = "${mottu.ultimo-login.intervalo-flush-ms:60000}")
+    public int descarregar() {
+        List<Map.Entry<String, Acumulado>> lote = new ArrayList<>();
+        for (String email : pendentes.keySet()) {
+            Acumulado acumulado = pendentes.remove(email);
+            if (acumulado != null) {
+                lote.add(Map.entry(email, acumulado));
+            }
+        }
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE, lote, lote.size(), (ps, item) -> {
+                Timestamp ultimo = Timestamp.from(item.getValue().ultimo());
+                ps.setTimestamp(1, ultimo);
+                ps.setTimestamp(2, ultimo);
+                ps.setLong(3, item.getValue().contagem());
+                ps.setString(4, item.getKey());
+            });
+            return lote.size();
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao gravar último login de {} usuários, nova tentativa no próximo ciclo: {}",
+                    lote.size(), ex.getMessage());
+            lote.forEach(item -> pendentes.merge(item.getKey(), item.getValue(), Acumulado::somar));
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+    }
+
+    /**
+     * Último login e logins contados desde a última gravação
+     */
+    private record Acumulado(Instant ultimo, long contagem) {
+
+        Acumulado somar(Acumulado outro) {
+            return new Acumulado(ultimo.isAfter(outro.ultimo) ? ultimo : outro.ultimo, contagem + outro.contagem);
+        }
+    }
+}
@@ -1,19 +1,41 @@
 package com.fiap.mottu.service;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import com.fiap.mottu.cache.PrincipalCache;
+import com.fiap.mottu.cache.SingleFlight;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+import com.fiap.mottu.datasource.ReadYourWritesTracker;
 import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.dto.OperacaoEmMassaRequest;
+import com.fiap.mottu.dto.ResultadoOperacaoEmMassa;
+import com.fiap.mottu.dto.UsuarioResumo;
 import com.fiap.mottu.entity.MottuUsuario;
 import com.fiap.mottu.entity.PerfilUsuario;
 import com.fiap.mottu.repository.MottuUsuarioRepository;
+import com.fiap.mottu.security.PrincipalUsuario;
 
 /**
  * SERVIÇO: MottuUsuarioService
@@ -26,11 +48,28 @@ import com.fiap.mottu.repository.MottuUsuarioRepository;
  * SEGURANÇA: Integração com Spring Security
  * TRANSAÇÕES: Gerenciamento de transações de banco
  * AUTENTICAÇÃO: Carregamento de usuários para login
+ * 
+ * IMPORTANTE (TRANSAÇÕES):
+ * - Não há @Transactional no nível da classe
+ * - Fluxos que criptografam senha (BCrypt, ~100 ms) calculam o hash
+ *   ANTES de abrir a transação, via TransactionTemplate, para não
+ *   segurar uma conexão do pool enquanto a CPU trabalha
+ * - Demais métodos declaram @Transactional individualmente
+ * - Emails são normalizados (MottuUsuario.normalizarEmail) antes de
+ *   qualquer busca ou gravação; o banco só guarda a forma canônica
+ * - Leituras usam @Transactional(readOnly = true) e podem ser atendidas
+ *   por uma réplica (DataSourceRoutingConfig); escritas registram o autor
+ *   no ReadYourWritesTracker para que ele leia as próprias alterações
  */
 @Service
-@Transactional
 public class MottuUsuarioService implements UserDetailsService {
 
+    /**
+     * LIMITE DE ITENS EM UMA LISTA IN
+     * - Oracle rejeita listas com mais de 1000 expressões (ORA-01795)
+     */
+    static final int LIMITE_IN_ORACLE = 1000;
+
     /**
      * REPOSITÓRIO DE USUÁRIOS
      * 
@@ -56,6 +95,69 @@ public class MottuUsuarioService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    /**
+     * TEMPLATE DE TRANSAÇÃO
+     * 
+     * FUNÇÃO: Delimita apenas a parte de leitura/escrita no banco
+     * USO: Fluxos com criptografia de senha (cadastro, criação e alteração de senha)
+     * 
+     * IMPORTANTE: 
+     * - A conexão só é obtida dentro de execute()
+     * - O hash BCrypt é calculado antes, fora da transação
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * CONTROLE DE LEITURA DAS PRÓPRIAS ESCRITAS
+     * 
+     * FUNÇÃO: Após uma escrita, direciona leituras do autor e do usuário
+     * alterado ao banco principal enquanto a réplica pode estar atrasada
+     */
+    @Autowired
+    private ReadYourWritesTracker leituraPropria;
+
+    /**
+     * CACHE DE PRINCIPALS
+     * 
+     * FUNÇÃO: Evita a consulta do usuário em cada requisição com token
+     * IMPORTANTE: Mantido atual pelo UsuariosAlteradosEvent (este nó) e
+     * pelo UserChangePoller (demais nós)
+     */
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * AGRUPAMENTO DE CONSULTAS SIMULTÂNEAS
+     * 
+     * FUNÇÃO: Requisições simultâneas do mesmo usuário (cache vencido, nó
+     * recém-iniciado) compartilham uma única consulta em andamento
+     */
+    @Autowired
+    private SingleFlight singleFlight;
+
+    /**
+     * CIRCUIT BREAKER DO BANCO
+     * 
+     * FUNÇÃO: Recusa cadastro e troca de senha antes do hash BCrypt quando
+     * o banco está indisponível (o repositório já passa pelo circuito)
+     */
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    /**
+     * PUBLICADOR DE EVENTOS
+     * 
+     * FUNÇÃO: Avisa outros componentes (caches) sobre usuários alterados ou excluídos
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * HASH FICTÍCIO (ver autenticar)
+     */
+    private volatile String hashFicticio;
+
     /**
      * MÉTODO: loadUserByUsername(String email)
      * 
@@ -68,6 +170,9 @@ public class MottuUsuarioService implements UserDetailsService {
      * - Método obrigatório para Spring Security
      * - Busca apenas usuários ativos (ativo = true)
      * - Lança exceção se usuário não for encontrado
+     * - Sem @Transactional: a consulta roda na transação readOnly do
+     *   repositório, e chamadas simultâneas para o mesmo email
+     *   compartilham uma só (SingleFlight)
      * 
      * FLUXO: 
      * 1. Usuário tenta fazer login
@@ -78,19 +183,152 @@ public class MottuUsuarioService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepository.findByEmailAndAtivoTrue(email)
+        String canonico = MottuUsuario.normalizarEmail(email);
+        return leituraPropria.consultandoUsuario(canonico, () -> singleFlight.executar("loadUserByUsername",
+                        chaveDeLeitura(canonico), () -> usuarioRepository.findByEmailAndAtivoTrue(canonico)))
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
     }
 
+    /**
+     * MÉTODO: buscarPrincipalAtivo(String email)
+     * 
+     * FUNÇÃO: Principal do usuário ativo, do PrincipalCache ou, na falta
+     * dele, do banco (e então guardado no cache)
+     * RETORNO: Optional vazio se o usuário não existir ou estiver inativo
+     * USO: JwtAuthenticationFilter (token de usuário excluído ou inativo
+     * não é exceção, apenas requisição sem autenticação)
+     * 
+     * IMPORTANTE: 
+     * - Sem @Transactional: acerto no cache não abre transação; a consulta
+     *   roda na transação readOnly do repositório
+     * - Falta no cache com várias requisições simultâneas do mesmo usuário:
+     *   uma única consulta, compartilhada (SingleFlight)
+     * - Banco indisponível (circuito aberto, timeout): usa o último estado
+     *   conhecido do cache (PrincipalCache.buscarUltimoConhecido); sem ele,
+     *   a exceção segue e o filtro responde 503
+     */
+    public Optional<PrincipalUsuario> buscarPrincipalAtivo(String email) {
+        String canonico = MottuUsuario.normalizarEmail(email);
+        Optional<PrincipalUsuario> emCache = principalCache.buscar(canonico);
+        if (emCache.isPresent()) {
+            return emCache;
+        }
+        try {
+            return leituraPropria.consultandoUsuario(canonico, () -> singleFlight.executar("buscarPrincipalAtivo",
+                            chaveDeLeitura(canonico), () -> usuarioRepository.buscarPrincipalAtivo(canonico)))
+                    .map(principalCache::guardar);
+        } catch (RuntimeException e) {
+            Optional<PrincipalUsuario> ultimoConhecido = principalCache.buscarUltimoConhecido(canonico);
+            if (!DatabaseCircuitBreaker.falhaDeBanco(e) || ultimoConhecido.isEmpty()) {
+                throw e;
+            }
+            return ultimoConhecido;
+        }
+    }
+
+    /**
+     * MÉTODO: buscarPerfisAtivos(Collection<String> emails)
+     * 
+     * FUNÇÃO: Perfil de cada usuário ativo entre os emails informados
+     * RETORNO: Mapa email canônico → perfil; emails inexistentes ou
+     * inativos não aparecem
+     * USO: TokenIntrospectionService
+     * 
+     * IMPORTANTE: 
+     * - Emails em cache não vão ao banco; os demais são lidos em um único
+     *   comando SQL e guardados no cache
+     * - Se algum dos emails lidos foi alterado dentro da janela de leitura
+     *   das próprias escritas, a consulta inteira vai ao primário
+     * - Banco indisponível: usa o último estado conhecido de cada email;
+     *   se faltar algum, a exceção segue (503), em vez de responder
+     *   "inativo" para um token que pode ser válido
+     */
+    public Map<String, PerfilUsuario> buscarPerfisAtivos(Collection<String> emails) {
+        Map<String, PerfilUsuario> perfis = new HashMap<>();
+        List<String> ausentes = new ArrayList<>();
+        for (String email : emails) {
+            principalCache.buscar(email).ifPresentOrElse(
+                    principal -> perfis.put(email, principal.perfil()),
+                    () -> ausentes.add(email));
+        }
+        if (ausentes.isEmpty()) {
+            return perfis;
+        }
+        String escritaRecente = ausentes.stream()
+                .filter(leituraPropria::escreveuRecentemente)
+                .findFirst()
+                .orElse(null);
+        try {
+            leituraPropria.consultandoUsuario(escritaRecente, () -> usuarioRepository.buscarPrincipaisAtivos(ausentes))
+                    .forEach(principal -> perfis.put(principalCache.guardar(principal).email(), principal.perfil()));
+        } catch (RuntimeException e) {
+            if (!DatabaseCircuitBreaker.falhaDeBanco(e)) {
+                throw e;
+            }
+            for (String email : ausentes) {
+                PrincipalUsuario ultimoConhecido = principalCache.buscarUltimoConhecido(email).orElseThrow(() -> e);
+                perfis.put(email, ultimoConhecido.perfil());
+            }
+        }
+        return perfis;
+    }
+
+    /**
+     * MÉTODO: autenticar(String email, String senha)
+     * 
+     * FUNÇÃO: Valida as credenciais do login
+     * RETORNO: Autenticado(usuario) ou Recusado(motivo); nunca lança
+     * exceção por credencial errada
+     * USO: POST /api/auth/login (substitui o AuthenticationManager,
+     * que sinaliza cada falha com BadCredentialsException)
+     * 
+     * IMPORTANTE: 
+     * - Uma única consulta (findByEmail, transação readOnly do repositório);
+     *   o BCrypt roda depois, com a conexão já devolvida ao pool
+     * - Email inexistente também paga um BCrypt (contra um hash fictício),
+     *   para que o tempo de resposta não revele quais emails existem
+     * - A senha é conferida antes do status: conta inativa só é
+     *   identificada (para auditoria) por quem sabe a senha
+     */
+    public ResultadoAutenticacao autenticar(String email, String senha) {
+        String canonico = MottuUsuario.normalizarEmail(email);
+        Optional<MottuUsuario> encontrado = leituraPropria.consultandoUsuario(canonico, () -> usuarioRepository.findByEmail(canonico));
+        if (encontrado.isEmpty()) {
+            passwordEncoder.matches(senha, hashFicticio());
+            return new ResultadoAutenticacao.Recusado(ResultadoAutenticacao.Motivo.USUARIO_INEXISTENTE);
+        }
+        MottuUsuario usuario = encontrado.get();
+        if (!passwordEncoder.matches(senha, usuario.getSenha())) {
+            return new ResultadoAutenticacao.Recusado(ResultadoAutenticacao.Motivo.SENHA_INCORRETA);
+        }
+        if (!usuario.isEnabled()) {
+            return new ResultadoAutenticacao.Recusado(ResultadoAutenticacao.Motivo.USUARIO_INATIVO);
+        }
+        return new ResultadoAutenticacao.Autenticado(usuario);
+    }
+
+    /**
+     * Hash BCrypt de uma senha aleatória, gerado na primeira tentativa com
+     * email inexistente (mesmo custo do encoder configurado)
+     */
+    private String hashFicticio() {
+        String hash = hashFicticio;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            hashFicticio = hash;
+        }
+        return hash;
+    }
+
     /**
      * MÉTODO: cadastrarUsuario(CadastroRequest request)
      * 
      * FUNÇÃO: Cria novo usuário no sistema
-     * RETORNO: MottuUsuario criado e salvo
+     * RETORNO: Cadastrado(usuario) ou EmailJaCadastrado(email)
      * USO: Formulário de cadastro de novos usuários
      * 
      * VALIDAÇÕES:
-     * - Email não pode estar duplicado
+     * - Email não pode estar duplicado (restrição UNIQUE de email_usuario)
      * - Todos os campos obrigatórios preenchidos
      * 
      * CONFIGURAÇÕES AUTOMÁTICAS:
@@ -99,53 +337,53 @@ public class MottuUsuarioService implements UserDetailsService {
      * - Senha: criptografada com BCrypt
      * 
      * IMPORTANTE: 
-     * - Verifica duplicação de email antes de salvar
+     * - Não consulta o email antes de salvar: dois cadastros simultâneos
+     *   passariam os dois pela consulta; o banco é quem garante a unicidade
      * - Criptografa senha antes de armazenar
      * - Define perfil padrão para novos usuários
      * 
      * FLUXO:
-     * 1. Verifica se email já existe
-     * 2. Cria nova instância de MottuUsuario
-     * 3. Define dados do request
-     * 4. Criptografa senha
-     * 5. Define perfil e status padrão
-     * 6. Salva no banco
+     * 1. Cria nova instância de MottuUsuario
+     * 2. Define dados do request
+     * 3. Criptografa senha (fora da transação)
+     * 4. Define perfil e status padrão
+     * 5. Abre transação curta e executa o INSERT (inserirNovo)
+     * 6. Email duplicado volta como EmailJaCadastrado (sem exceção)
      */
-    public MottuUsuario cadastrarUsuario(CadastroRequest request) {
-        // VALIDAÇÃO: Verifica se email já está cadastrado
-        if (usuarioRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email já cadastrado: " + request.getEmail());
-        }
+    public ResultadoCadastro cadastrarUsuario(CadastroRequest request) {
+        // BANCO INDISPONÍVEL: 503 antes do BCrypt
+        circuitBreaker.exigirDisponivel();
 
         // CRIAÇÃO: Nova instância de usuário
         MottuUsuario usuario = new MottuUsuario();
         usuario.setNome(request.getNome());
         usuario.setEmail(request.getEmail());
         
-        // SEGURANÇA: Criptografa senha antes de salvar
+        // SEGURANÇA: Criptografa senha antes de abrir a transação
         usuario.setSenha(passwordEncoder.encode(request.getSenha()));
         
         // CONFIGURAÇÃO: Define perfil e status padrão
         usuario.setPerfil(PerfilUsuario.USUARIO);
         usuario.setAtivo(true);
 
-        // PERSISTÊNCIA: Salva usuário no banco
-        return usuarioRepository.save(usuario);
+        // PERSISTÊNCIA: INSERT direto; a restrição UNIQUE decide a duplicidade
+        return inserirNovo(usuario);
     }
 
     // ===== CRUD Admin =====
-    public List<MottuUsuario> listarTodos() {
-        return usuarioRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UsuarioResumo> listarTodos() {
+        return usuarioRepository.listarResumos();
     }
 
+    @Transactional(readOnly = true)
     public MottuUsuario buscarPorId(Long id) {
         return usuarioRepository.findById(id).orElse(null);
     }
 
-    public MottuUsuario criarUsuarioAdmin(MottuUsuario usuario) {
-        if (usuarioRepository.existsByEmail(usuario.getEmail())) {
-            throw new RuntimeException("Email já cadastrado: " + usuario.getEmail());
-        }
+    public ResultadoCadastro criarUsuarioAdmin(MottuUsuario usuario) {
+        circuitBreaker.exigirDisponivel();
+        // Hash calculado antes de abrir a transação
         usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
         if (usuario.getAtivo() == null) {
             usuario.setAtivo(true);
@@ -153,36 +391,216 @@ public class MottuUsuarioService implements UserDetailsService {
         if (usuario.getPerfil() == null) {
             usuario.setPerfil(PerfilUsuario.USUARIO);
         }
-        return usuarioRepository.save(usuario);
+        return inserirNovo(usuario);
     }
 
-    public void atualizarDadosBasicos(Long id, String nome, String email, PerfilUsuario perfil, Boolean ativo) {
-        MottuUsuario existente = usuarioRepository.findById(id).orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        existente.setNome(nome);
-        existente.setEmail(email);
-        existente.setPerfil(perfil);
-        existente.setAtivo(ativo != null ? ativo : existente.getAtivo());
-        usuarioRepository.save(existente);
+    /**
+     * MÉTODO: inserirNovo(MottuUsuario usuario)
+     * 
+     * FUNÇÃO: Grava um usuário novo (cadastro e criação pelo admin)
+     * RETORNO: Cadastrado(usuario) ou EmailJaCadastrado(email)
+     * 
+     * IMPORTANTE: 
+     * - Sem existsByEmail: só NEXTVAL + INSERT, e sem janela entre
+     *   consulta e gravação em que outro cadastro do mesmo email entre
+     * - saveAndFlush força o INSERT dentro do execute(), para que a
+     *   violação apareça aqui (e não no commit)
+     * - Em caso de duplicidade, id e versão atribuídos pelo persist são
+     *   desfeitos: o formulário do admin decide criar/editar pelo id
+     */
+    private ResultadoCadastro inserirNovo(MottuUsuario usuario) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> usuarioRepository.saveAndFlush(usuario));
+        } catch (DataIntegrityViolationException e) {
+            if (!violouEmailUnico(e)) {
+                throw e;
+            }
+            usuario.setId(null);
+            usuario.setVersao(null);
+            return new ResultadoCadastro.EmailJaCadastrado(usuario.getEmail());
+        }
+        leituraPropria.registrarEscrita(usuario.getEmail());
+        return new ResultadoCadastro.Cadastrado(usuario);
     }
 
-    public void atualizarComSenha(Long id, String nome, String email, PerfilUsuario perfil, Boolean ativo, String novaSenha) {
-        MottuUsuario existente = usuarioRepository.findById(id).orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        existente.setNome(nome);
-        existente.setEmail(email);
-        existente.setPerfil(perfil);
-        existente.setAtivo(ativo != null ? ativo : existente.getAtivo());
-        existente.setSenha(passwordEncoder.encode(novaSenha));
-        usuarioRepository.save(existente);
+    /**
+     * Violação da restrição única do email: ORA-00001 no Oracle, SQLSTATE
+     * 23505 no H2, com uk_mottu_usuarios_email (ou o índice
+     * uk_mottu_usuarios_email_lower da V9) na mensagem. Outras violações
+     * de unicidade seguem como erro, não como email duplicado.
+     */
+    private static boolean violouEmailUnico(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql
+                && (sql.getErrorCode() == 1 || "23505".equals(sql.getSQLState()))
+                && sql.getMessage() != null
+                && sql.getMessage().toLowerCase(Locale.ROOT).contains(MottuUsuario.RESTRICAO_EMAIL_UNICO);
     }
 
+    /**
+     * MÉTODO: atualizarDadosBasicos(...)
+     * 
+     * FUNÇÃO: Atualiza dados do usuário em um único UPDATE com verificação de versão
+     * 
+     * IMPORTANTE: 
+     * - versao é a versão lida quando o formulário foi aberto
+     * - Lança ObjectOptimisticLockingFailureException se outro administrador
+     *   alterou o usuário depois disso
+     * - Formulário salvo sem mudanças não grava nada (nem versão, nem
+     *   data_atualizacao) e não invalida caches
+     */
+    @Transactional
+    public void atualizarDadosBasicos(Long id, Long versao, String nome, String email, PerfilUsuario perfil, Boolean ativo) {
+        String canonico = MottuUsuario.normalizarEmail(email);
+        int linhas = usuarioRepository.atualizarDadosBasicos(id, versao, nome, canonico, perfil, ativo);
+        if (!verificarAtualizacao(id, versao, linhas)) {
+            return;
+        }
+        eventPublisher.publishEvent(new UsuariosAlteradosEvent(List.of(id)));
+        leituraPropria.registrarEscrita(canonico);
+    }
+
+    public void atualizarComSenha(Long id, Long versao, String nome, String email, PerfilUsuario perfil, Boolean ativo, String novaSenha) {
+        circuitBreaker.exigirDisponivel();
+        // Hash calculado antes de abrir a transação
+        String senhaCriptografada = passwordEncoder.encode(novaSenha);
+        String canonico = MottuUsuario.normalizarEmail(email);
+        transactionTemplate.executeWithoutResult(status -> {
+            int linhas = usuarioRepository.atualizarComSenha(id, versao, nome, canonico, perfil, ativo, senhaCriptografada);
+            verificarAtualizacao(id, versao, linhas);
+            eventPublisher.publishEvent(new UsuariosAlteradosEvent(List.of(id)));
+        });
+        leituraPropria.registrarEscrita(canonico);
+    }
+
+    /**
+     * MÉTODO: alternarStatusAtivo(Long id)
+     * 
+     * FUNÇÃO: Ativa/inativa o usuário com um único UPDATE atômico
+     * (sem leitura prévia, sem corrida entre administradores)
+     * 
+     * IMPORTANTE: 
+     * - O email é lido depois do UPDATE, na mesma transação (primário),
+     *   para que as leituras seguintes sobre o usuário não vão à réplica
+     */
+    @Transactional
     public void alternarStatusAtivo(Long id) {
-        MottuUsuario existente = usuarioRepository.findById(id).orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        existente.setAtivo(!Boolean.TRUE.equals(existente.getAtivo()));
-        usuarioRepository.save(existente);
+        if (usuarioRepository.alternarAtivo(id) == 0) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
+        eventPublisher.publishEvent(new UsuariosAlteradosEvent(List.of(id)));
+        leituraPropria.registrarEscrita(usuarioRepository.buscarEmailPorId(id).orElse(null));
     }
 
+    /**
+     * MÉTODO: verificarAtualizacao(Long id, Long versao, int linhas)
+     * 
+     * FUNÇÃO: Interpreta um UPDATE com versão que não alterou nenhuma linha
+     * - Usuário não existe: RuntimeException("Usuário não encontrado")
+     * - Versão mudou: conflito de edição concorrente
+     * - Versão igual: nada a alterar (valores iguais aos gravados)
+     * RETORNO: true se a linha foi alterada
+     */
+    private boolean verificarAtualizacao(Long id, Long versao, int linhas) {
+        if (linhas > 0) {
+            return true;
+        }
+        Long atual = usuarioRepository.buscarVersaoPorId(id)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        if (!atual.equals(versao)) {
+            throw new ObjectOptimisticLockingFailureException(MottuUsuario.class, id);
+        }
+        return false;
+    }
+
+    /**
+     * MÉTODO: excluirPorId(Long id)
+     * 
+     * FUNÇÃO: Exclui o usuário; findById + delete são os mesmos comandos
+     * de deleteById, e o email lido marca a escrita para a leitura própria
+     */
+    @Transactional
     public void excluirPorId(Long id) {
-        usuarioRepository.deleteById(id);
+        usuarioRepository.findById(id).ifPresent(usuario -> {
+            usuarioRepository.delete(usuario);
+            leituraPropria.registrarEscrita(usuario.getEmail());
+        });
+        eventPublisher.publishEvent(new UsuariosAlteradosEvent(List.of(id)));
+    }
+
+    /**
+     * MÉTODO: executarEmMassa(OperacaoEmMassaRequest request)
+     * 
+     * FUNÇÃO: Ativa, inativa, exclui ou altera o perfil de vários usuários
+     * RETORNO: ResultadoOperacaoEmMassa com selecionados e linhas afetadas
+     * USO: POST /admin/users/bulk (AdminUserController)
+     * 
+     * IMPORTANTE: 
+     * - Usa os ids marcados ou, se não houver, resolve o filtro em uma consulta
+     * - Cada lote de até LIMITE_IN_ORACLE ids vira um único UPDATE/DELETE,
+     *   precedido da leitura dos emails do lote (no primário, antes de um
+     *   DELETE apagá-los)
+     * - Tudo em uma transação: ou todos os lotes são aplicados, ou nenhum
+     * - Publica UsuariosAlteradosEvent com todos os ids para invalidar
+     *   caches de principals de uma só vez
+     * - Registra o email de cada usuário afetado na leitura das próprias
+     *   escritas: a próxima carga do principal não vem de réplica atrasada
+     */
+    @Transactional
+    public ResultadoOperacaoEmMassa executarEmMassa(OperacaoEmMassaRequest request) {
+        if (request.getAcao() == null) {
+            throw new IllegalArgumentException("Selecione a ação a executar");
+        }
+        if (request.getAcao() == OperacaoEmMassaRequest.Acao.ALTERAR_PERFIL && request.getPerfilDestino() == null) {
+            throw new IllegalArgumentException("Selecione o novo perfil");
+        }
+
+        List<Long> ids = resolverIds(request);
+        List<String> emails = new ArrayList<>(ids.size());
+        int afetados = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += LIMITE_IN_ORACLE) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + LIMITE_IN_ORACLE, ids.size()));
+            emails.addAll(usuarioRepository.buscarEmailsPorIds(lote));
+            afetados += switch (request.getAcao()) {
+                case ATIVAR -> usuarioRepository.definirAtivoEmLote(lote, true);
+                case INATIVAR -> usuarioRepository.definirAtivoEmLote(lote, false);
+                case ALTERAR_PERFIL -> usuarioRepository.definirPerfilEmLote(lote, request.getPerfilDestino());
+                case EXCLUIR -> usuarioRepository.excluirEmLote(lote);
+            };
+        }
+
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new UsuariosAlteradosEvent(ids));
+            leituraPropria.registrarEscritas(emails);
+        }
+        return new ResultadoOperacaoEmMassa(request.getAcao(), ids.size(), afetados);
+    }
+
+    /**
+     * MÉTODO: resolverIds(OperacaoEmMassaRequest request)
+     * 
+     * FUNÇÃO: Ids marcados (sem repetição) ou ids que atendem ao filtro
+     */
+    private List<Long> resolverIds(OperacaoEmMassaRequest request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            return request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        }
+        String emailPadrao = StringUtils.hasText(request.getFiltroEmail())
+                ? "%" + escaparLike(request.getFiltroEmail().trim().toLowerCase(Locale.ROOT)) + "%"
+                : null;
+        if (request.getFiltroPerfil() == null && request.getFiltroAtivo() == null && emailPadrao == null) {
+            throw new IllegalArgumentException("Marque ao menos um usuário ou informe um filtro");
+        }
+        return usuarioRepository.buscarIdsPorFiltro(request.getFiltroPerfil(), request.getFiltroAtivo(), emailPadrao);
+    }
+
+    /**
+     * MÉTODO: escaparLike(String texto)
+     * 
+     * FUNÇÃO: Trata '%' e '_' digitados no filtro como texto literal
+     * (escape '!', ver MottuUsuarioRepository.buscarIdsPorFiltro)
+     */
+    private static String escaparLike(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 
     /**
@@ -196,6 +614,8 @@ public class MottuUsuarioService implements UserDetailsService {
      * - Busca qualquer usuário (ativo ou inativo)
      * - Lança exceção se não encontrar
      * - Diferente de loadUserByUsername (que só busca ativos)
+     * - Sem @Transactional, como loadUserByUsername: chamadas simultâneas
+     *   para o mesmo email compartilham uma só consulta (SingleFlight)
      * 
      * USOS:
      * - Administração (ver todos os usuários)
@@ -203,10 +623,21 @@ public class MottuUsuarioService implements UserDetailsService {
      * - Validações específicas
      */
     public MottuUsuario buscarPorEmail(String email) {
-        return usuarioRepository.findByEmail(email)
+        String canonico = MottuUsuario.normalizarEmail(email);
+        return leituraPropria.consultandoUsuario(canonico, () -> singleFlight.executar("buscarPorEmail",
+                        chaveDeLeitura(canonico), () -> usuarioRepository.findByEmail(canonico)))
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
     }
 
+    /**
+     * Chave do SingleFlight: o email e, se for o caso, a leitura no
+     * primário (quem acabou de escrever não pode receber o resultado de
+     * uma consulta feita na réplica). Chamado dentro de consultandoUsuario.
+     */
+    private String chaveDeLeitura(String canonico) {
+        return leituraPropria.deveLerDoPrimario() ? canonico + " primario" : canonico;
+    }
+
     /**
      * MÉTODO: verificarSenha(String senhaDigitada, String senhaCriptografada)
      * 
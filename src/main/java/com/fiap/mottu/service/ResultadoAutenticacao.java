@@ -0,0 +1,37 @@
+package com.fiap.mottu.service;
+
+import com.fiap.mottu.entity.MottuUsuario;
+
+/**
+ * RESULTADO: ResultadoAutenticacao
+ * 
+ * Retorno de MottuUsuarioService.autenticar(email, senha).
+ * 
+ * FUNÇÃO: Representar o login recusado como valor, e não como exceção
+ * 
+ * IMPORTANTE: 
+ * - Credenciais erradas são o caso comum de um login, não uma situação
+ *   excepcional; o AuthController responde 401 a partir do resultado
+ * - O motivo da recusa serve só para auditoria; a resposta HTTP é a
+ *   mesma para os três motivos
+ */
+public sealed interface ResultadoAutenticacao {
+
+    /**
+     * Credenciais corretas e conta ativa
+     */
+    record Autenticado(MottuUsuario usuario) implements ResultadoAutenticacao {
+    }
+
+    /**
+     * Login recusado
+     */
+    record Recusado(Motivo motivo) implements ResultadoAutenticacao {
+    }
+
+    enum Motivo {
+        USUARIO_INEXISTENTE,
+        SENHA_INCORRETA,
+        USUARIO_INATIVO
+    }
+}
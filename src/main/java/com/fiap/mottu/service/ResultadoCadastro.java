@@ -0,0 +1,30 @@
+package com.fiap.mottu.service;
+
+import com.fiap.mottu.entity.MottuUsuario;
+
+/**
+ * RESULTADO: ResultadoCadastro
+ * 
+ * Retorno de MottuUsuarioService.cadastrarUsuario(request) e
+ * criarUsuarioAdmin(usuario).
+ * 
+ * FUNÇÃO: Devolver o email duplicado como resultado previsto do cadastro
+ * (409 montado pelo AuthController), sem lançar RuntimeException
+ * 
+ * IMPORTANTE: EmailJaCadastrado vem da restrição UNIQUE do banco, não de
+ * uma consulta prévia; vale também para cadastros simultâneos
+ */
+public sealed interface ResultadoCadastro {
+
+    /**
+     * Usuário gravado
+     */
+    record Cadastrado(MottuUsuario usuario) implements ResultadoCadastro {
+    }
+
+    /**
+     * Já existe um usuário com este email; nada foi gravado
+     */
+    record EmailJaCadastrado(String email) implements ResultadoCadastro {
+    }
+}
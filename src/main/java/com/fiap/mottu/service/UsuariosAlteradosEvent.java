@@ -0,0 +1,30 @@
+package com.fiap.mottu.service;
+
+import java.util.List;
+
+/**
+ * EVENTO: UsuariosAlteradosEvent
+ * 
+ * Publicado pelo MottuUsuarioService quando o admin altera, ativa/inativa
+ * ou exclui usuários (um a um ou em massa).
+ * 
+ * FUNÇÃO: Permite invalidar, de uma só vez, caches de principals
+ * (UserDetails) dos usuários afetados; ouvinte: PrincipalCache
+ * 
+ * IMPORTANTE: 
+ * - Publicado dentro da transação; ouvintes que dependem dos dados
+ *   gravados devem usar @TransactionalEventListener (AFTER_COMMIT)
+ * - ids contém todos os usuários selecionados, alterados ou não
+ */
+public class UsuariosAlteradosEvent {
+
+    private final List<Long> ids;
+
+    public UsuariosAlteradosEvent(List<Long> ids) {
+        this.ids = List.copyOf(ids);
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
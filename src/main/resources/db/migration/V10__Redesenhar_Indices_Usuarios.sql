@@ -0,0 +1,64 @@
+-- V10__Redesenhar_Indices_Usuarios.sql
+-- Índices de mottu_usuarios_sistema alinhados às consultas que a aplicação
+-- realmente executa (conferência: scripts/verificar-indices.sql)
+--
+-- REMOVIDOS:
+-- - idx_mottu_usuarios_email: repetia o índice da restrição UNIQUE
+-- - idx_mottu_usuarios_ativo / idx_mottu_usuarios_perfil: colunas com dois
+--   valores; o otimizador não os usa para filtrar e todo INSERT os mantinha
+-- - índice da restrição UNIQUE com nome de sistema (SYS_C...): substituído
+--   pelo composto abaixo
+--
+-- CRIADOS:
+-- - idx_mottu_usuarios_login (email_usuario, ativo): findByEmail e
+--   findByEmailAndAtivoTrue (o filtro ativo = 1 é resolvido no índice);
+--   também sustenta a restrição uk_mottu_usuarios_email (USING INDEX),
+--   então email_usuario continua com um único índice
+-- - idx_mottu_usuarios_listagem (nome_completo, perfil_acesso, ativo,
+--   email_usuario, id_usuario): ordem da listagem do admin (order by nome)
+--   e todas as colunas do filtro da operação em massa, que é respondido só
+--   pelo índice. ultimo_login/total_logins ficam de fora de propósito: o
+--   LastLoginTracker os atualiza em lote e não deve manter índice algum
+--
+-- MANTIDOS: PK_MOTTU_USUARIOS_SISTEMA e uk_mottu_usuarios_email_lower (V9)
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  FOR i IN (SELECT index_name FROM user_indexes
+             WHERE table_name = 'MOTTU_USUARIOS_SISTEMA'
+               AND index_name IN ('IDX_MOTTU_USUARIOS_EMAIL', 'IDX_MOTTU_USUARIOS_ATIVO', 'IDX_MOTTU_USUARIOS_PERFIL')) LOOP
+    EXECUTE IMMEDIATE 'DROP INDEX ' || i.index_name;
+  END LOOP;
+
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_USUARIOS_LOGIN';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_usuarios_login ON mottu_usuarios_sistema(email_usuario, ativo)';
+  END IF;
+
+  -- Troca a restrição UNIQUE de nome de sistema por uma nomeada, apoiada no
+  -- índice composto; durante a troca, uk_mottu_usuarios_email_lower (V9)
+  -- continua impedindo emails repetidos
+  FOR c IN (SELECT uc.constraint_name
+              FROM user_constraints uc
+              JOIN user_cons_columns cc ON cc.constraint_name = uc.constraint_name
+             WHERE uc.table_name = 'MOTTU_USUARIOS_SISTEMA'
+               AND uc.constraint_type = 'U'
+               AND cc.column_name = 'EMAIL_USUARIO'
+               AND uc.constraint_name <> 'UK_MOTTU_USUARIOS_EMAIL') LOOP
+    EXECUTE IMMEDIATE 'ALTER TABLE mottu_usuarios_sistema DROP CONSTRAINT ' || c.constraint_name || ' DROP INDEX';
+  END LOOP;
+
+  SELECT COUNT(*) INTO v_count FROM user_constraints WHERE constraint_name = 'UK_MOTTU_USUARIOS_EMAIL';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE mottu_usuarios_sistema ADD CONSTRAINT uk_mottu_usuarios_email '
+      || 'UNIQUE (email_usuario) USING INDEX idx_mottu_usuarios_login';
+  END IF;
+
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_USUARIOS_LISTAGEM';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_usuarios_listagem ON mottu_usuarios_sistema'
+      || '(nome_completo, perfil_acesso, ativo, email_usuario, id_usuario)';
+  END IF;
+END;
+/
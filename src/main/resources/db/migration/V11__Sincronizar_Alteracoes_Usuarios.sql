@@ -0,0 +1,56 @@
+-- V11__Sincronizar_Alteracoes_Usuarios.sql
+-- Suporte ao UserChangePoller: cada nó lê só as linhas alteradas ou
+-- excluídas desde a última leitura e atualiza o próprio PrincipalCache
+--
+-- CRIADOS:
+-- - idx_mottu_usuarios_atualizacao (data_atualizacao): consulta por
+--   data_atualizacao > :marca. O cadastro deixa a coluna nula e o Oracle
+--   não indexa entradas totalmente nulas, então o INSERT não mantém este
+--   índice; só os UPDATEs que disparam TRG_MOTTU_USUARIOS_BU (V7)
+-- - mottu_usuarios_excluidos: registro de exclusão, já que a exclusão de
+--   usuários apaga a linha e não deixa data_atualizacao para ser lida.
+--   Expurgado pela aplicação após mottu.sync.usuarios.retencao-exclusoes-horas
+-- - TRG_MOTTU_USUARIOS_AD: grava o registro em toda exclusão, inclusive as
+--   feitas fora da aplicação
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_USUARIOS_ATUALIZACAO';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_usuarios_atualizacao ON mottu_usuarios_sistema(data_atualizacao)';
+  END IF;
+
+  SELECT COUNT(*) INTO v_count FROM user_tables WHERE table_name = 'MOTTU_USUARIOS_EXCLUIDOS';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE '
+    CREATE TABLE mottu_usuarios_excluidos (
+      id_usuario NUMBER(19) NOT NULL,
+      email_usuario VARCHAR2(100) NOT NULL,
+      data_exclusao TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL
+    )';
+  END IF;
+
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_USUARIOS_EXCLUSAO';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_usuarios_exclusao ON mottu_usuarios_excluidos(data_exclusao)';
+  END IF;
+END;
+/
+
+BEGIN
+  EXECUTE IMMEDIATE '
+    CREATE OR REPLACE TRIGGER TRG_MOTTU_USUARIOS_AD
+    AFTER DELETE ON mottu_usuarios_sistema
+    FOR EACH ROW
+    BEGIN
+      INSERT INTO mottu_usuarios_excluidos (id_usuario, email_usuario, data_exclusao)
+      VALUES (:OLD.id_usuario, :OLD.email_usuario, SYSTIMESTAMP);
+    END;';
+END;
+/
+
+COMMENT ON TABLE mottu_usuarios_excluidos IS 'Usuários excluídos, lidos pelos nós para remover do cache local';
+COMMENT ON COLUMN mottu_usuarios_excluidos.id_usuario IS 'ID do usuário excluído';
+COMMENT ON COLUMN mottu_usuarios_excluidos.email_usuario IS 'Email do usuário excluído';
+COMMENT ON COLUMN mottu_usuarios_excluidos.data_exclusao IS 'Momento da exclusão (marca d''água da sincronização)';
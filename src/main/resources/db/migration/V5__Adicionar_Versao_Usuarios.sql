@@ -0,0 +1,16 @@
+-- V5__Adicionar_Versao_Usuarios.sql
+-- Coluna de versão para controle de concorrência otimista (@Version)
+-- Atualizações administrativas usam "WHERE versao = :versao" e incrementam a versão
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count FROM user_tab_columns
+   WHERE table_name = 'MOTTU_USUARIOS_SISTEMA' AND column_name = 'VERSAO';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE mottu_usuarios_sistema ADD (versao NUMBER(19) DEFAULT 0 NOT NULL)';
+  END IF;
+END;
+/
+
+COMMENT ON COLUMN mottu_usuarios_sistema.versao IS 'Versão do registro para controle de concorrência otimista';
@@ -0,0 +1,41 @@
+-- V6__Criar_Tabela_Auditoria.sql
+-- Trilha de auditoria de autenticação (login, cadastro, token rejeitado, ações administrativas)
+-- Gravada em lote pelo AuditWriter; id por IDENTITY para não disparar trigger por linha no INSERT em lote
+
+BEGIN
+  EXECUTE IMMEDIATE '
+  CREATE TABLE mottu_auditoria_autenticacao (
+    id_evento NUMBER(19) GENERATED BY DEFAULT AS IDENTITY,
+    tipo_evento VARCHAR2(30) NOT NULL,
+    email_usuario VARCHAR2(100),
+    email_ator VARCHAR2(100),
+    detalhe VARCHAR2(500),
+    endereco_ip VARCHAR2(45),
+    data_evento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_MOTTU_AUDITORIA PRIMARY KEY (id_evento)
+  )';
+EXCEPTION
+  WHEN OTHERS THEN
+    IF SQLCODE != -955 THEN RAISE; END IF; -- ORA-00955: name is already used by an existing object
+END;
+/
+
+-- Índices para as consultas de conformidade (por usuário e por período)
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_AUDITORIA_EMAIL_DATA';
+  IF v_count = 0 THEN EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_auditoria_email_data ON mottu_auditoria_autenticacao(email_usuario, data_evento)'; END IF;
+
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'IDX_MOTTU_AUDITORIA_DATA';
+  IF v_count = 0 THEN EXECUTE IMMEDIATE 'CREATE INDEX idx_mottu_auditoria_data ON mottu_auditoria_autenticacao(data_evento)'; END IF;
+END;
+/
+
+COMMENT ON TABLE mottu_auditoria_autenticacao IS 'Trilha de auditoria de autenticação e administração de usuários';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.tipo_evento IS 'LOGIN_SUCESSO, LOGIN_FALHA, CADASTRO, CADASTRO_FALHA, TOKEN_REJEITADO ou ADMIN_ACAO';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.email_usuario IS 'Usuário alvo do evento';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.email_ator IS 'Usuário autenticado que executou a ação (nulo se anônimo)';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.detalhe IS 'Descrição curta do evento';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.endereco_ip IS 'Endereço IP de origem da requisição';
+COMMENT ON COLUMN mottu_auditoria_autenticacao.data_evento IS 'Momento em que o evento ocorreu';
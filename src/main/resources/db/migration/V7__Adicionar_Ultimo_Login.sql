@@ -0,0 +1,37 @@
+-- V7__Adicionar_Ultimo_Login.sql
+-- Último login e total de logins por usuário
+-- Gravados em lote pelo LastLoginTracker (acumulados em memória), não a cada login
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count FROM user_tab_columns
+   WHERE table_name = 'MOTTU_USUARIOS_SISTEMA' AND column_name = 'ULTIMO_LOGIN';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE mottu_usuarios_sistema ADD (ultimo_login TIMESTAMP(6))';
+  END IF;
+
+  SELECT COUNT(*) INTO v_count FROM user_tab_columns
+   WHERE table_name = 'MOTTU_USUARIOS_SISTEMA' AND column_name = 'TOTAL_LOGINS';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'ALTER TABLE mottu_usuarios_sistema ADD (total_logins NUMBER(10) DEFAULT 0 NOT NULL)';
+  END IF;
+END;
+/
+
+-- Trigger de data_atualizacao passa a disparar só para colunas de cadastro:
+-- a gravação de ultimo_login/total_logins não é uma alteração do usuário
+BEGIN
+  EXECUTE IMMEDIATE '
+    CREATE OR REPLACE TRIGGER TRG_MOTTU_USUARIOS_BU
+    BEFORE UPDATE OF nome_completo, email_usuario, senha_criptografada, perfil_acesso, ativo
+    ON mottu_usuarios_sistema
+    FOR EACH ROW
+    BEGIN
+      :NEW.data_atualizacao := SYSTIMESTAMP;
+    END;';
+END;
+/
+
+COMMENT ON COLUMN mottu_usuarios_sistema.ultimo_login IS 'Data e hora do último login bem-sucedido (atraso máximo: intervalo de gravação)';
+COMMENT ON COLUMN mottu_usuarios_sistema.total_logins IS 'Quantidade de logins bem-sucedidos';
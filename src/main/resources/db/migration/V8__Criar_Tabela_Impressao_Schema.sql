@@ -0,0 +1,25 @@
+-- V8__Criar_Tabela_Impressao_Schema.sql
+-- Impressão digital (SHA-256) dos scripts de migração aplicados com sucesso
+-- Gravada pela aplicação após o flyway.migrate(); se a impressão das migrações
+-- empacotadas for igual, a inicialização não executa a validação do Flyway
+
+BEGIN
+  EXECUTE IMMEDIATE '
+  CREATE TABLE mottu_schema_impressao (
+    id NUMBER(1) NOT NULL,
+    impressao VARCHAR2(64) NOT NULL,
+    total_migracoes NUMBER(5) NOT NULL,
+    data_registro TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_MOTTU_SCHEMA_IMPRESSAO PRIMARY KEY (id),
+    CONSTRAINT CK_MOTTU_SCHEMA_IMPRESSAO_ID CHECK (id = 1)
+  )';
+EXCEPTION
+  WHEN OTHERS THEN
+    IF SQLCODE != -955 THEN RAISE; END IF; -- ORA-00955: name is already used by an existing object
+END;
+/
+
+COMMENT ON TABLE mottu_schema_impressao IS 'Impressão das migrações Flyway aplicadas (linha única)';
+COMMENT ON COLUMN mottu_schema_impressao.impressao IS 'SHA-256 dos nomes e conteúdos dos scripts de migração';
+COMMENT ON COLUMN mottu_schema_impressao.total_migracoes IS 'Quantidade de scripts considerados na impressão';
+COMMENT ON COLUMN mottu_schema_impressao.data_registro IS 'Momento da última migração/validação completa';
@@ -0,0 +1,44 @@
+-- V9__Normalizar_Email_Usuarios.sql
+-- Emails passam a ser gravados na forma canônica LOWER(TRIM(email)), igual à
+-- MottuUsuario.normalizarEmail da aplicação; as buscas comparam o valor já
+-- normalizado com "email_usuario = ?" e continuam usando o índice da coluna
+--
+-- 1. Interrompe a migração se dois usuários só diferem por maiúsculas/espaços
+--    (precisam ser resolvidos manualmente antes; não há como escolher um)
+-- 2. Normaliza os emails existentes (versao + 1 invalida formulários abertos)
+-- 3. Índice único baseado em função: garante a unicidade sem distinção de
+--    maiúsculas também para gravações feitas fora da aplicação
+
+DECLARE
+  v_conflitos NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_conflitos FROM (
+    SELECT LOWER(TRIM(email_usuario))
+      FROM mottu_usuarios_sistema
+     GROUP BY LOWER(TRIM(email_usuario))
+    HAVING COUNT(*) > 1
+  );
+  IF v_conflitos > 0 THEN
+    RAISE_APPLICATION_ERROR(-20042, v_conflitos
+      || ' email(s) repetido(s) sem distinção de maiúsculas em mottu_usuarios_sistema; '
+      || 'unifique as contas antes de migrar');
+  END IF;
+END;
+/
+
+UPDATE mottu_usuarios_sistema
+   SET email_usuario = LOWER(TRIM(email_usuario)),
+       versao = versao + 1
+ WHERE email_usuario <> LOWER(TRIM(email_usuario));
+
+DECLARE
+  v_count NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO v_count FROM user_indexes WHERE index_name = 'UK_MOTTU_USUARIOS_EMAIL_LOWER';
+  IF v_count = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE UNIQUE INDEX uk_mottu_usuarios_email_lower ON mottu_usuarios_sistema(LOWER(email_usuario))';
+  END IF;
+END;
+/
+
+COMMENT ON COLUMN mottu_usuarios_sistema.email_usuario IS 'Email único do usuário para login (minúsculas, sem espaços nas pontas)';
@@ -0,0 +1,150 @@
+// Script da página admin.html
+// Verificar se o usuário está logado e é admin
+function checkAdminAuth() {
+    const token = localStorage.getItem('authToken');
+    const userData = localStorage.getItem('userData');
+
+    if (!token || !userData) {
+        window.location.href = '/login';
+        return;
+    }
+
+    const user = JSON.parse(userData);
+    if (user.perfil !== 'ADMIN') {
+        alert('Acesso negado. Apenas administradores podem acessar esta página.');
+        window.location.href = '/dashboard';
+        return;
+    }
+
+    // Carregar dados administrativos
+    loadAdminData();
+}
+
+// Carregar dados administrativos
+async function loadAdminData() {
+    await Promise.all([
+        loadStats(),
+        loadUsers()
+    ]);
+}
+
+// Carregar estatísticas
+async function loadStats() {
+    // Simular carregamento de estatísticas
+    document.getElementById('totalUsers').textContent = '25';
+    document.getElementById('totalAdmins').textContent = '3';
+    document.getElementById('activeUsers').textContent = '22';
+    document.getElementById('inactiveUsers').textContent = '3';
+}
+
+// Carregar lista de usuários
+async function loadUsers() {
+    const users = [
+        { id: 1, nome: 'Administrador Sistema', email: 'admin@mottu.com', perfil: 'ADMIN', ativo: true },
+        { id: 2, nome: 'Usuário Teste', email: 'user@mottu.com', perfil: 'USUARIO', ativo: true },
+        { id: 3, nome: 'João Silva', email: 'joao@exemplo.com', perfil: 'USUARIO', ativo: true },
+        { id: 4, nome: 'Maria Santos', email: 'maria@exemplo.com', perfil: 'USUARIO', ativo: false }
+    ];
+
+    const tbody = document.getElementById('usersTableBody');
+    tbody.innerHTML = '';
+
+    users.forEach(user => {
+        const row = document.createElement('tr');
+        row.innerHTML = `
+            <td>${user.id}</td>
+            <td>${user.nome}</td>
+            <td>${user.email}</td>
+            <td>
+                <span class="badge ${user.perfil === 'ADMIN' ? 'bg-danger' : 'bg-primary'}">
+                    ${user.perfil}
+                </span>
+            </td>
+            <td>
+                <span class="badge ${user.ativo ? 'bg-success' : 'bg-secondary'}">
+                    ${user.ativo ? 'Ativo' : 'Inativo'}
+                </span>
+            </td>
+            <td>
+                <button class="btn btn-sm btn-outline-primary me-1" onclick="editUser(${user.id})">
+                    <i class="fas fa-edit"></i>
+                </button>
+                <button class="btn btn-sm btn-outline-warning me-1" onclick="toggleUserStatus(${user.id})">
+                    <i class="fas fa-power-off"></i>
+                </button>
+                <button class="btn btn-sm btn-outline-danger" onclick="deleteUser(${user.id})">
+                    <i class="fas fa-trash"></i>
+                </button>
+            </td>
+        `;
+        tbody.appendChild(row);
+    });
+}
+
+// Atualizar estatísticas
+function refreshStats() {
+    loadStats();
+    alert('Estatísticas atualizadas!');
+}
+
+// Exportar usuários
+function exportUsers() {
+    alert('Funcionalidade de exportação será implementada em breve!');
+}
+
+// Mostrar informações do sistema
+function showSystemInfo() {
+    const systemInfo = {
+        'Versão': '1.0.0',
+        'Spring Boot': '3.2.0',
+        'Java': '17',
+        'Database': 'Oracle',
+        'Flyway': '10.7.1',
+        'JWT': '0.12.3'
+    };
+
+    let infoText = 'Informações do Sistema:\n\n';
+    for (const [key, value] of Object.entries(systemInfo)) {
+        infoText += `${key}: ${value}\n`;
+    }
+
+    alert(infoText);
+}
+
+// Mostrar zona de perigo
+function showDangerZone() {
+    alert('Zona de Perigo - Funcionalidades críticas do sistema:\n\n' +
+          '• Exclusão em massa de usuários\n' +
+          '• Reset de senhas\n' +
+          '• Manutenção do sistema\n' +
+          '• Logs de auditoria');
+}
+
+// Editar usuário
+function editUser(userId) {
+    alert(`Editando usuário ID: ${userId}\n\nFuncionalidade será implementada em breve!`);
+}
+
+// Alternar status do usuário
+function toggleUserStatus(userId) {
+    if (confirm('Deseja alterar o status deste usuário?')) {
+        alert(`Status do usuário ID: ${userId} alterado!\n\nFuncionalidade será implementada em breve!`);
+    }
+}
+
+// Excluir usuário
+function deleteUser(userId) {
+    if (confirm('Tem certeza que deseja excluir este usuário? Esta ação não pode ser desfeita.')) {
+        alert(`Usuário ID: ${userId} excluído!\n\nFuncionalidade será implementada em breve!`);
+    }
+}
+
+// Logout
+function logout() {
+    localStorage.removeItem('authToken');
+    localStorage.removeItem('userData');
+    window.location.href = '/';
+}
+
+// Verificar autenticação ao carregar a página
+document.addEventListener('DOMContentLoaded', checkAdminAuth);
@@ -0,0 +1,142 @@
+// Script da página cadastro.html
+// Validação de força da senha
+document.getElementById('senha').addEventListener('input', function() {
+    const senha = this.value;
+    const strengthBar = document.getElementById('passwordStrength');
+
+    let strength = 0;
+    if (senha.length >= 6) strength++;
+    if (senha.match(/[a-z]/)) strength++;
+    if (senha.match(/[A-Z]/)) strength++;
+    if (senha.match(/[0-9]/)) strength++;
+    if (senha.match(/[^a-zA-Z0-9]/)) strength++;
+
+    strengthBar.className = 'password-strength';
+    if (strength < 2) {
+        strengthBar.classList.add('strength-weak');
+    } else if (strength < 4) {
+        strengthBar.classList.add('strength-medium');
+    } else {
+        strengthBar.classList.add('strength-strong');
+    }
+});
+
+// Validação de confirmação de senha
+document.getElementById('confirmarSenha').addEventListener('input', function() {
+    const senha = document.getElementById('senha').value;
+    const confirmarSenha = this.value;
+
+    if (senha !== confirmarSenha) {
+        this.setCustomValidity('As senhas não coincidem');
+    } else {
+        this.setCustomValidity('');
+    }
+});
+
+// Validação de nome
+document.getElementById('nome').addEventListener('input', function() {
+    const nome = this.value;
+
+    if (nome.length < 2 || nome.length > 100) {
+        this.setCustomValidity('Nome deve ter entre 2 e 100 caracteres');
+    } else {
+        this.setCustomValidity('');
+    }
+});
+
+// Validação de email
+document.getElementById('email').addEventListener('input', function() {
+    const email = this.value;
+    const emailRegex = /^[^\s@]+@[^\s@]+\.[^\s@]+$/;
+
+    if (!emailRegex.test(email)) {
+        this.setCustomValidity('Email deve ser válido');
+    } else {
+        this.setCustomValidity('');
+    }
+});
+
+// Validação de senha
+document.getElementById('senha').addEventListener('input', function() {
+    const senha = this.value;
+
+    if (senha.length < 6) {
+        this.setCustomValidity('Senha deve ter pelo menos 6 caracteres');
+    } else {
+        this.setCustomValidity('');
+    }
+});
+
+// Submissão do formulário
+document.getElementById('cadastroForm').addEventListener('submit', async function(e) {
+    e.preventDefault();
+
+    const nome = document.getElementById('nome').value;
+    const email = document.getElementById('email').value;
+    const senha = document.getElementById('senha').value;
+    const confirmarSenha = document.getElementById('confirmarSenha').value;
+
+    // Validações finais
+    if (senha !== confirmarSenha) {
+        showAlert('As senhas não coincidem', 'danger');
+        return;
+    }
+
+    if (nome.length < 2 || nome.length > 100) {
+        showAlert('Nome deve ter entre 2 e 100 caracteres', 'danger');
+        return;
+    }
+
+    if (senha.length < 6) {
+        showAlert('Senha deve ter pelo menos 6 caracteres', 'danger');
+        return;
+    }
+
+    try {
+        const response = await fetch('/api/auth/cadastro', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify({ nome, email, senha })
+        });
+
+        if (response.ok) {
+            const data = await response.json();
+
+            // Salvar token no localStorage
+            localStorage.setItem('authToken', data.token);
+            localStorage.setItem('userData', JSON.stringify({
+                nome: data.nome,
+                email: data.email,
+                perfil: data.perfil
+            }));
+
+            // Mostrar mensagem de sucesso
+            showAlert('Cadastro realizado com sucesso! Redirecionando...', 'success');
+
+            // Redirecionar para dashboard
+            setTimeout(() => {
+                window.location.href = '/dashboard';
+            }, 1500);
+
+        } else {
+            // Erro da API: {"codigo": "...", "mensagem": "..."}
+            const errorData = await response.json().catch(() => null);
+            showAlert('Erro no cadastro: ' + (errorData ? errorData.mensagem : response.statusText), 'danger');
+        }
+
+    } catch (error) {
+        showAlert('Erro de conexão: ' + error.message, 'danger');
+    }
+});
+
+function showAlert(message, type) {
+    const alertContainer = document.getElementById('alertContainer');
+    alertContainer.innerHTML = `
+        <div class="alert alert-${type} alert-dismissible fade show" role="alert">
+            ${message}
+            <button type="button" class="btn-close" data-bs-dismiss="alert"></button>
+        </div>
+    `;
+}
@@ -0,0 +1,86 @@
+// Script da página dashboard.html
+// Verificar se o usuário está logado
+function checkAuth() {
+    const token = localStorage.getItem('authToken');
+    const userData = localStorage.getItem('userData');
+
+    if (!token || !userData) {
+        window.location.href = '/login';
+        return;
+    }
+
+    // Carregar dados do usuário
+    loadUserData();
+}
+
+// Carregar dados do usuário
+function loadUserData() {
+    const userData = JSON.parse(localStorage.getItem('userData'));
+
+    document.getElementById('welcomeMessage').textContent = `Bem-vindo, ${userData.nome}!`;
+    document.getElementById('userName').textContent = userData.nome;
+    document.getElementById('userEmail').textContent = userData.email;
+    document.getElementById('userProfile').textContent = userData.perfil;
+    document.getElementById('userRole').textContent = userData.perfil;
+
+    // Mostrar link de admin se for administrador
+    if (userData.perfil === 'ADMIN') {
+        document.getElementById('adminLink').style.display = 'block';
+    }
+}
+
+// Atualizar perfil
+async function refreshProfile() {
+    const token = localStorage.getItem('authToken');
+
+    try {
+        const response = await fetch('/api/auth/perfil', {
+            headers: {
+                'Authorization': `Bearer ${token}`
+            }
+        });
+
+        if (response.ok) {
+            const userData = await response.json();
+            localStorage.setItem('userData', JSON.stringify({
+                nome: userData.nome,
+                email: userData.email,
+                perfil: userData.perfil
+            }));
+            loadUserData();
+            alert('Perfil atualizado com sucesso!');
+        } else {
+            alert('Erro ao atualizar perfil');
+        }
+    } catch (error) {
+        alert('Erro de conexão: ' + error.message);
+    }
+}
+
+// Mostrar informações do token
+function showTokenInfo() {
+    const token = localStorage.getItem('authToken');
+    if (token) {
+        const tokenInfo = {
+            token: token.substring(0, 50) + '...',
+            length: token.length,
+            type: 'JWT'
+        };
+        alert(`Informações do Token:\nTipo: ${tokenInfo.type}\nTamanho: ${tokenInfo.length} caracteres\nInício: ${tokenInfo.token}`);
+    }
+}
+
+// Alterar senha (placeholder)
+function changePassword() {
+    alert('Funcionalidade de alteração de senha será implementada em breve!');
+}
+
+// Logout
+function logout() {
+    localStorage.removeItem('authToken');
+    localStorage.removeItem('userData');
+    window.location.href = '/';
+}
+
+// Verificar autenticação ao carregar a página
+document.addEventListener('DOMContentLoaded', checkAuth);
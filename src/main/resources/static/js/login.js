@@ -0,0 +1,59 @@
+// Script da página login.html
+document.getElementById('loginForm').addEventListener('submit', async function(e) {
+    e.preventDefault();
+
+    const email = document.getElementById('email').value;
+    const senha = document.getElementById('senha').value;
+
+    try {
+        const response = await fetch('/api/auth/login', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify({ email, senha })
+        });
+
+        if (response.ok) {
+            const data = await response.json();
+
+            // Salvar token no localStorage
+            localStorage.setItem('authToken', data.token);
+            localStorage.setItem('userData', JSON.stringify({
+                nome: data.nome,
+                email: data.email,
+                perfil: data.perfil
+            }));
+
+            // Mostrar mensagem de sucesso
+            showAlert('Login realizado com sucesso! Redirecionando...', 'success');
+
+            // Redirecionar baseado no perfil
+            setTimeout(() => {
+                if (data.perfil === 'ADMIN') {
+                    window.location.href = '/admin';
+                } else {
+                    window.location.href = '/dashboard';
+                }
+            }, 1500);
+
+        } else {
+            // Erro da API: {"codigo": "...", "mensagem": "..."}
+            const errorData = await response.json().catch(() => null);
+            showAlert('Erro no login: ' + (errorData ? errorData.mensagem : response.statusText), 'danger');
+        }
+
+    } catch (error) {
+        showAlert('Erro de conexão: ' + error.message, 'danger');
+    }
+});
+
+function showAlert(message, type) {
+    const alertContainer = document.getElementById('alertContainer');
+    alertContainer.innerHTML = `
+        <div class="alert alert-${type} alert-dismissible fade show" role="alert">
+            ${message}
+            <button type="button" class="btn-close" data-bs-dismiss="alert"></button>
+        </div>
+    `;
+}
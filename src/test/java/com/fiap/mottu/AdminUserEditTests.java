@@ -0,0 +1,99 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * Verifica a edição concorrente na área administrativa: salvar um
+ * formulário aberto antes da alteração de outro administrador (versão
+ * desatualizada) não sobrescreve os dados e mostra a mensagem de conflito;
+ * salvar sem mudanças não grava a linha.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class AdminUserEditTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void versaoDesatualizadaMostraConflitoNoFormulario() throws Exception {
+        String email = "conflito-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.criarUsuarioAdmin(new MottuUsuario("Usuário Conflito", email, "senha123"));
+        MottuUsuario lido = usuarioService.buscarPorEmail(email);
+        Long versaoLida = lido.getVersao();
+
+        usuarioService.atualizarDadosBasicos(lido.getId(), versaoLida, "Alterado Antes", email,
+                PerfilUsuario.USUARIO, true);
+
+        assertThatThrownBy(() -> usuarioService.atualizarDadosBasicos(lido.getId(), versaoLida, "Versão Antiga",
+                email, PerfilUsuario.ADMIN, true))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        mockMvc.perform(post("/admin/users/{id}", lido.getId())
+                        .param("nome", "Versão Antiga")
+                        .param("email", email)
+                        .param("senha", "novaSenha123")
+                        .param("versao", String.valueOf(versaoLida))
+                        .param("perfil", PerfilUsuario.ADMIN.name())
+                        .param("ativo", "true"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-users-form"))
+                .andExpect(model().attribute("error", containsString("alterado por outro administrador")));
+
+        MottuUsuario atual = usuarioService.buscarPorEmail(email);
+        assertThat(atual.getNome()).isEqualTo("Alterado Antes");
+        assertThat(atual.getPerfil()).isEqualTo(PerfilUsuario.USUARIO);
+    }
+
+    @Test
+    void salvarSemMudancasNaoGravaNemAvancaAVersao() {
+        String email = "sem-mudancas-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.criarUsuarioAdmin(new MottuUsuario("Usuário Sem Mudanças", email, "senha123"));
+        MottuUsuario lido = usuarioService.buscarPorEmail(email);
+        usuarioService.atualizarDadosBasicos(lido.getId(), lido.getVersao(), "Usuário Editado", email,
+                PerfilUsuario.USUARIO, true);
+        Map<String, Object> antes = linha(lido.getId());
+
+        usuarioService.atualizarDadosBasicos(lido.getId(), lido.getVersao() + 1, "Usuário Editado", email,
+                PerfilUsuario.USUARIO, true);
+
+        assertThat(linha(lido.getId())).isEqualTo(antes);
+        assertThat(antes.get("VERSAO")).isEqualTo(lido.getVersao() + 1);
+    }
+
+    private Map<String, Object> linha(Long id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT versao, data_atualizacao FROM mottu_usuarios_sistema WHERE id_usuario = ?", id);
+    }
+}
@@ -0,0 +1,198 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.audit.AuditEvent;
+import com.fiap.mottu.audit.AuditEventType;
+import com.fiap.mottu.audit.AuditLog;
+import com.fiap.mottu.audit.AuditOverflowPolicy;
+import com.fiap.mottu.audit.AuditWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica a trilha de auditoria: eventos enfileirados pelos endpoints
+ * chegam à tabela em lote (um evento inválido não derruba o lote), textos
+ * são truncados pelo limite em bytes das colunas, e a fila respeita a
+ * política de overflow.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class AuthAuditLogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eventosDeAutenticacaoSaoGravadosEmLote() throws Exception {
+        String email = "auditoria-" + UUID.randomUUID() + "@mottu.com";
+
+        mockMvc.perform(post("/api/auth/cadastro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome":"Usuário Auditoria","email":"%s","senha":"senha123"}
+                                """.formatted(email)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","senha":"senhaErrada"}
+                                """.formatted(email)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","senha":"senha123"}
+                                """.formatted(email)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/auth/perfil").header("Authorization", "Bearer token.invalido.123"))
+                .andExpect(status().isBadRequest());
+
+        auditWriter.descarregar();
+
+        List<String> tipos = jdbcTemplate.queryForList(
+                "SELECT tipo_evento FROM mottu_auditoria_autenticacao WHERE email_usuario = ? ORDER BY id_evento",
+                String.class, email);
+        assertThat(tipos).containsExactly("CADASTRO", "LOGIN_FALHA", "LOGIN_SUCESSO");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mottu_auditoria_autenticacao WHERE tipo_evento = 'TOKEN_REJEITADO'",
+                Integer.class)).isPositive();
+    }
+
+    @Test
+    void emailMaiorQueAColunaRecusadoNaValidacaoETruncadoNaAuditoria() throws Exception {
+        String longo = "a".repeat(60) + "@" + "b".repeat(60) + ".mottu.com";
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","senha":"senha123"}
+                                """.formatted(longo)))
+                .andExpect(status().isBadRequest());
+
+        String marcador = UUID.randomUUID().toString();
+        auditLog.registrar(new AuditEvent(AuditEventType.LOGIN_FALHA, longo, longo, marcador,
+                "2001:db8::1, ".repeat(10), Instant.now()));
+        auditWriter.descarregar();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT email_usuario FROM mottu_auditoria_autenticacao WHERE detalhe = ?", String.class, marcador))
+                .isEqualTo(longo.substring(0, 100));
+    }
+
+    @Test
+    void textoAcentuadoETruncadoPeloLimiteEmBytesDaColuna() {
+        String email = "acentos-" + UUID.randomUUID() + "@mottu.com";
+        String acentuado = "ç".repeat(99) + "ã".repeat(99) + "é".repeat(99);
+        String emoji = "a".repeat(43) + "\uD83D\uDE00";
+        auditLog.registrar(new AuditEvent(AuditEventType.LOGIN_FALHA, email, "ação@" + "ã".repeat(60), acentuado,
+                emoji, Instant.now()));
+        auditWriter.descarregar();
+
+        Map<String, Object> linha = jdbcTemplate.queryForMap("SELECT email_ator, detalhe, endereco_ip "
+                + "FROM mottu_auditoria_autenticacao WHERE email_usuario = ?", email);
+        assertThat(linha.get("DETALHE")).isEqualTo("ç".repeat(99) + "ã".repeat(99) + "é".repeat(52));
+        assertThat(linha.get("EMAIL_ATOR")).isEqualTo("ação@" + "ã".repeat(46));
+        assertThat(linha.get("ENDERECO_IP")).isEqualTo("a".repeat(43));
+    }
+
+    @Test
+    void eventoRejeitadoPeloBancoNaoDescartaORestoDoLote() {
+        String rejeitado = "rejeitado-" + UUID.randomUUID();
+        jdbcTemplate.execute("ALTER TABLE mottu_auditoria_autenticacao ADD CONSTRAINT ck_auditoria_teste "
+                + "CHECK (detalhe IS NULL OR detalhe <> '" + rejeitado + "')");
+        try {
+            String lote = "lote-" + UUID.randomUUID();
+            for (int i = 0; i < 5; i++) {
+                auditLog.registrar(new AuditEvent(AuditEventType.LOGIN_FALHA, "lote@mottu.com", null,
+                        i == 2 ? rejeitado : lote, null, Instant.now()));
+            }
+            auditWriter.descarregar();
+
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM mottu_auditoria_autenticacao WHERE detalhe = ?", Integer.class, lote))
+                    .isEqualTo(4);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE mottu_auditoria_autenticacao DROP CONSTRAINT ck_auditoria_teste");
+        }
+    }
+
+    @Test
+    void filaCheiaComDropDescartaEventosNovos() {
+        AuditLog auditLog = new AuditLog(new SimpleMeterRegistry(), 2, AuditOverflowPolicy.DROP, 10, 0);
+
+        assertThat(auditLog.registrar(evento("a"))).isTrue();
+        assertThat(auditLog.registrar(evento("b"))).isTrue();
+        assertThat(auditLog.registrar(evento("c"))).isFalse();
+
+        assertThat(auditLog.drenar(10)).extracting(AuditEvent::getEmail).containsExactly("a", "b");
+        assertThat(auditLog.tamanho()).isZero();
+    }
+
+    @Test
+    void filaCheiaComSampleSubstituiOMaisAntigoAUmaTaxaFixa() {
+        AuditLog auditLog = new AuditLog(new SimpleMeterRegistry(), 2, AuditOverflowPolicy.SAMPLE, 2, 0);
+        auditLog.registrar(evento("a"));
+        auditLog.registrar(evento("b"));
+
+        assertThat(auditLog.registrar(evento("c"))).isFalse();
+        assertThat(auditLog.registrar(evento("d"))).isTrue();
+
+        assertThat(auditLog.drenar(10)).extracting(AuditEvent::getEmail).containsExactly("b", "d");
+    }
+
+    @Test
+    void filaCheiaComBlockAguardaVagaAteOLimite() throws Exception {
+        AuditLog auditLog = new AuditLog(new SimpleMeterRegistry(), 1, AuditOverflowPolicy.BLOCK, 10, 2000);
+        auditLog.registrar(evento("a"));
+
+        Thread consumidor = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            auditLog.drenar(1);
+        });
+        consumidor.start();
+
+        assertThat(auditLog.registrar(evento("b"))).isTrue();
+        consumidor.join();
+        assertThat(auditLog.drenar(10)).extracting(AuditEvent::getEmail).containsExactly("b");
+
+        AuditLog semEspera = new AuditLog(new SimpleMeterRegistry(), 1, AuditOverflowPolicy.BLOCK, 10, 20);
+        semEspera.registrar(evento("a"));
+        assertThat(semEspera.registrar(evento("b"))).isFalse();
+    }
+
+    private static AuditEvent evento(String email) {
+        return new AuditEvent(AuditEventType.LOGIN_SUCESSO, email, null, null, null, Instant.now());
+    }
+}
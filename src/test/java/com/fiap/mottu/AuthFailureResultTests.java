@@ -0,0 +1,130 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.service.ResultadoAutenticacao;
+
+/**
+ * Verifica que login recusado e email duplicado saem como resultado
+ * (401/409 com ErroResponse) e, com -Dmottu.bench=true, compara o custo
+ * do login recusado com o caminho antigo (AuthenticationManager + exceção).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class AuthFailureResultTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Test
+    void loginRecusadoResponde401ComCorpoPadrao() throws Exception {
+        String email = "recusado-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.cadastrarUsuario(new CadastroRequest("Usuário Recusado", email, "senha123"));
+
+        for (String credenciais : new String[] {
+                "{\"email\":\"%s\",\"senha\":\"senhaErrada\"}".formatted(email),
+                "{\"email\":\"inexistente-%s\",\"senha\":\"senha123\"}".formatted(email)}) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(credenciais))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.codigo").value("CREDENCIAIS_INVALIDAS"))
+                    .andExpect(jsonPath("$.mensagem").value("Credenciais inválidas"));
+        }
+    }
+
+    @Test
+    void emailDuplicadoNoCadastroResponde409() throws Exception {
+        String corpo = """
+                {"nome":"Usuário Duplicado","email":"duplicado-%s@mottu.com","senha":"senha123"}
+                """.formatted(UUID.randomUUID());
+
+        mockMvc.perform(post("/api/auth/cadastro").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/cadastro").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.codigo").value("EMAIL_JA_CADASTRADO"));
+    }
+
+    @Test
+    void dadosInvalidosRespondem400ComCorpoPadrao() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nao-e-email\",\"senha\":\"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value("DADOS_INVALIDOS"));
+    }
+
+    /**
+     * Benchmark do login recusado: mediana de N tentativas por cenário,
+     * no caminho antigo e no novo. Desligado por padrão (BCrypt real,
+     * alguns segundos); rodar com
+     * mvn test -Dtest=AuthFailureResultTests -Dmottu.bench=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "mottu.bench", matches = "true")
+    void benchmarkLoginRecusado() {
+        String email = "bench-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.cadastrarUsuario(new CadastroRequest("Usuário Benchmark", email, "senha123"));
+        String inexistente = "inexistente-" + email;
+        int repeticoes = Integer.getInteger("mottu.bench.repeticoes", 50);
+
+        medir("antigo / email inexistente", repeticoes, () -> viaAuthenticationManager(inexistente, "senha123"));
+        medir("novo   / email inexistente", repeticoes, () -> usuarioService.autenticar(inexistente, "senha123"));
+        medir("antigo / senha incorreta  ", repeticoes, () -> viaAuthenticationManager(email, "senhaErrada"));
+        medir("novo   / senha incorreta  ", repeticoes, () -> usuarioService.autenticar(email, "senhaErrada"));
+    }
+
+    private Object viaAuthenticationManager(String email, String senha) {
+        try {
+            return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, senha));
+        } catch (AuthenticationException e) {
+            return e;
+        }
+    }
+
+    private static void medir(String cenario, int repeticoes, Supplier<Object> tentativa) {
+        // Aquecimento: sem ele o primeiro cenário mede o BCrypt ainda interpretado pelo JIT
+        for (int i = 0; i < 30; i++) {
+            tentativa.get();
+        }
+        long[] tempos = new long[repeticoes];
+        for (int i = 0; i < repeticoes; i++) {
+            long inicio = System.nanoTime();
+            Object resultado = tentativa.get();
+            tempos[i] = System.nanoTime() - inicio;
+            assertThat(resultado).isNotInstanceOf(ResultadoAutenticacao.Autenticado.class);
+        }
+        Arrays.sort(tempos);
+        System.out.printf("%s  mediana %.2f ms  p90 %.2f ms%n", cenario,
+                tempos[repeticoes / 2] / 1e6, tempos[repeticoes * 9 / 10] / 1e6);
+    }
+}
@@ -0,0 +1,111 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.fiap.mottu.datasource.ReadYourWritesTracker;
+import com.fiap.mottu.dto.OperacaoEmMassaRequest;
+import com.fiap.mottu.dto.OperacaoEmMassaRequest.Acao;
+import com.fiap.mottu.dto.ResultadoOperacaoEmMassa;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.service.UsuariosAlteradosEvent;
+
+/**
+ * Verifica as operações em massa da área administrativa: mais de 1000 ids
+ * são divididos em lotes sem perder linhas, e os emails de todos os
+ * usuários afetados entram na leitura das próprias escritas.
+ * Usuários são gravados direto por JDBC, para que o cadastro não marque
+ * os emails antes da operação.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+@RecordApplicationEvents
+class BulkUserOperationTests {
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private ReadYourWritesTracker leituraPropria;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void maisDeMilIdsSaoAplicadosEmLotesSemPerderLinhas() {
+        String dominio = "@lote-" + UUID.randomUUID() + ".mottu.com";
+        inserirUsuarios(dominio, 2_345);
+        List<Long> ids = idsDe(dominio);
+
+        ResultadoOperacaoEmMassa resultado = usuarioService.executarEmMassa(operacao(Acao.INATIVAR, ids));
+
+        assertThat(resultado.getSelecionados()).isEqualTo(2_345);
+        assertThat(resultado.getAfetados()).isEqualTo(2_345);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mottu_usuarios_sistema WHERE email_usuario LIKE ? AND ativo = FALSE",
+                Integer.class, "%" + dominio)).isEqualTo(2_345);
+        assertThat(eventos.stream(UsuariosAlteradosEvent.class))
+                .singleElement()
+                .satisfies(evento -> assertThat(evento.getIds()).containsExactlyInAnyOrderElementsOf(ids));
+    }
+
+    @Test
+    void operacaoEmMassaMarcaOEmailDeCadaUsuarioAfetado() {
+        String inativados = "@inativar-" + UUID.randomUUID() + ".mottu.com";
+        String excluidos = "@excluir-" + UUID.randomUUID() + ".mottu.com";
+        String intocado = "intocado-" + UUID.randomUUID() + "@mottu.com";
+        inserirUsuarios(inativados, 3);
+        inserirUsuarios(excluidos, 2);
+        jdbcTemplate.update("INSERT INTO mottu_usuarios_sistema (id_usuario, nome_completo, email_usuario, "
+                + "senha_criptografada, perfil_acesso, ativo, versao) "
+                + "VALUES (SEQ_MOTTU_USUARIOS_SISTEMA.NEXTVAL, 'Usuário Intocado', ?, 'hash', 'USUARIO', TRUE, 0)",
+                intocado);
+
+        usuarioService.executarEmMassa(operacao(Acao.INATIVAR, idsDe(inativados)));
+        usuarioService.executarEmMassa(operacao(Acao.EXCLUIR, idsDe(excluidos)));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(leituraPropria.escreveuRecentemente("u" + i + inativados)).isTrue();
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThat(leituraPropria.escreveuRecentemente("u" + i + excluidos)).isTrue();
+        }
+        assertThat(leituraPropria.escreveuRecentemente(intocado)).isFalse();
+    }
+
+    private void inserirUsuarios(String dominio, int quantidade) {
+        jdbcTemplate.batchUpdate("INSERT INTO mottu_usuarios_sistema (id_usuario, nome_completo, email_usuario, "
+                        + "senha_criptografada, perfil_acesso, ativo, versao) "
+                        + "VALUES (SEQ_MOTTU_USUARIOS_SISTEMA.NEXTVAL, ?, ?, 'hash', 'USUARIO', TRUE, 0)",
+                IntStream.range(0, quantidade)
+                        .mapToObj(i -> new Object[] {"Usuário Lote " + i, "u" + i + dominio})
+                        .toList());
+    }
+
+    private List<Long> idsDe(String dominio) {
+        return jdbcTemplate.queryForList(
+                "SELECT id_usuario FROM mottu_usuarios_sistema WHERE email_usuario LIKE ? ORDER BY id_usuario",
+                Long.class, "%" + dominio);
+    }
+
+    private static OperacaoEmMassaRequest operacao(Acao acao, List<Long> ids) {
+        OperacaoEmMassaRequest request = new OperacaoEmMassaRequest();
+        request.setAcao(acao);
+        request.setIds(ids);
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.service.ResultadoCadastro;
+
+/**
+ * Verifica que o cadastro depende só da restrição UNIQUE de email:
+ * vários cadastros simultâneos do mesmo email gravam exatamente um
+ * usuário e os demais recebem EmailJaCadastrado. Violações de outras
+ * restrições únicas não são confundidas com email duplicado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class ConcurrentRegistrationTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cadastrosSimultaneosDoMesmoEmailGravamUmUnicoUsuario() throws Exception {
+        String email = "concorrente-" + UUID.randomUUID() + "@mottu.com";
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<ResultadoCadastro>> tentativas = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                tentativas.add(executor.submit(() -> {
+                    largada.await();
+                    if (n % 2 == 0) {
+                        return usuarioService.cadastrarUsuario(new CadastroRequest("Usuário " + n, email, "senha123"));
+                    }
+                    return usuarioService.criarUsuarioAdmin(new MottuUsuario("Usuário " + n, email, "senha123"));
+                }));
+            }
+            largada.countDown();
+
+            List<ResultadoCadastro> resultados = new ArrayList<>();
+            for (Future<ResultadoCadastro> tentativa : tentativas) {
+                resultados.add(tentativa.get());
+            }
+            assertThat(resultados).filteredOn(ResultadoCadastro.Cadastrado.class::isInstance).hasSize(1);
+            assertThat(resultados).filteredOn(ResultadoCadastro.EmailJaCadastrado.class::isInstance).hasSize(THREADS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mottu_usuarios_sistema WHERE email_usuario = ?", Integer.class, email))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void emailDuplicadoNoFormularioDoAdminVoltaComoErro() throws Exception {
+        String email = "admin-duplicado-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.cadastrarUsuario(new CadastroRequest("Usuário Existente", email, "senha123"));
+
+        mockMvc.perform(post("/admin/users")
+                        .param("nome", "Usuário Repetido")
+                        .param("email", email)
+                        .param("senha", "senha123")
+                        .param("perfil", "USUARIO"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-users-form"))
+                .andExpect(model().attribute("error", "Email já cadastrado: " + email))
+                .andExpect(result -> assertThat(((MottuUsuario) result.getModelAndView().getModel().get("user")).getId()).isNull());
+    }
+
+    @Test
+    void outraRestricaoUnicaNaoViraEmailJaCadastrado() {
+        String nome = "Nome Único " + UUID.randomUUID();
+        // UNIQUE só sobre os nomes deste teste: outras classes gravam nomes repetidos no mesmo banco
+        jdbcTemplate.execute("ALTER TABLE mottu_usuarios_sistema ADD COLUMN nome_teste VARCHAR(100) GENERATED ALWAYS AS "
+                + "(CASE WHEN nome_completo LIKE 'Nome Único %' THEN nome_completo END)");
+        jdbcTemplate.execute("ALTER TABLE mottu_usuarios_sistema ADD CONSTRAINT uk_nome_teste UNIQUE (nome_teste)");
+        try {
+            usuarioService.cadastrarUsuario(new CadastroRequest(nome, "nome-a-" + UUID.randomUUID() + "@mottu.com", "senha123"));
+
+            assertThatThrownBy(() -> usuarioService.cadastrarUsuario(
+                    new CadastroRequest(nome, "nome-b-" + UUID.randomUUID() + "@mottu.com", "senha123")))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE mottu_usuarios_sistema DROP CONSTRAINT uk_nome_teste");
+            jdbcTemplate.execute("ALTER TABLE mottu_usuarios_sistema DROP COLUMN nome_teste");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.thymeleaf.spring6.view.ThymeleafView;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.support.ConnectionHoldTimeProbe;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Verifica o perfil de retenção de conexões: páginas administrativas
+ * registram mottu.jdbc.connection.hold com o handler, e a view Thymeleaf
+ * renderiza sem nenhuma conexão emprestada pela thread da requisição
+ * (open-in-view desativado).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class ConnectionHoldTimeTests {
+
+    private static final List<Integer> CONEXOES_NA_RENDERIZACAO = new CopyOnWriteArrayList<>();
+
+    private static volatile ConnectionHoldTimeProbe sonda;
+
+    @TestConfiguration
+    static class SondaConfig {
+        @Bean
+        static ConnectionHoldTimeProbe connectionHoldTimeProbe() {
+            sonda = new ConnectionHoldTimeProbe();
+            return sonda;
+        }
+
+        @Bean
+        static BeanPostProcessor viewComSonda() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof ThymeleafViewResolver resolver) {
+                        resolver.setViewClass(ViewComSonda.class);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * View que anota quantas conexões a thread mantém ao começar a renderizar
+     */
+    public static class ViewComSonda extends ThymeleafView {
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws Exception {
+            CONEXOES_NA_RENDERIZACAO.add(sonda.conexoesAbertasNestaThread());
+            super.render(model, request, response);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void paginasAdministrativasMedemRetencaoERenderizamSemConexao() throws Exception {
+        String email = "retencao-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.criarUsuarioAdmin(new MottuUsuario("Usuário Retenção", email, "senha123"));
+        MottuUsuario usuario = usuarioService.buscarPorEmail(email);
+        CONEXOES_NA_RENDERIZACAO.clear();
+
+        mockMvc.perform(get("/admin/users")).andExpect(status().isOk());
+        mockMvc.perform(get("/admin/users/{id}/edit", usuario.getId())).andExpect(status().isOk());
+
+        assertThat(CONEXOES_NA_RENDERIZACAO).hasSize(2).containsOnly(0);
+        assertThat(retencao("AdminUserController#list").count()).isPositive();
+        assertThat(retencao("AdminUserController#editForm").count()).isPositive();
+    }
+
+    private Timer retencao(String handler) {
+        Timer timer = meterRegistry.find("mottu.jdbc.connection.hold").tag("handler", handler).timer();
+        assertThat(timer).as("timer de retenção de %s", handler).isNotNull();
+        return timer;
+    }
+}
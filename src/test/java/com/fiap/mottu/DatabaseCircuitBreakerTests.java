@@ -0,0 +1,250 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.cache.PrincipalCache;
+import com.fiap.mottu.datasource.BancoIndisponivelException;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker.Estado;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.repository.MottuUsuarioRepository;
+import com.fiap.mottu.security.GatewayCredentialFilter;
+import com.fiap.mottu.security.PrincipalUsuario;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.support.RepositorioSimulado;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Verifica o circuit breaker do banco (pelo mesmo proxy aplicado ao
+ * repositório): abre só com falhas de indisponibilidade nas consultas de
+ * autenticação, recusa essas chamadas sem ir ao banco e fecha depois das
+ * chamadas de teste; consultas de autenticação lentas (espera pelo pool)
+ * o abrem sem encurtar o connection-timeout do pool; consultas do admin
+ * não contam; com ele aberto, tokens de usuários já conhecidos
+ * seguem autenticados e login/cadastro respondem 503.
+ */
+@SpringBootTest(properties = {
+        "mottu.circuit-breaker.banco.aberto-ms=3000",
+        "mottu.cache.principais.ttl-ms=50",
+        "management.endpoints.web.exposure.include=health,metrics",
+        "mottu.introspeccao.chave-gateway=chave-gateway-testes"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class DatabaseCircuitBreakerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void abreComFalhasDeBancoEFechaDepoisDasChamadasDeTeste() throws Exception {
+        DatabaseCircuitBreaker circuito = new DatabaseCircuitBreaker(10, 5, 50, 2_000, 200, 2);
+        RepositorioSimulado banco = new RepositorioSimulado();
+        MottuUsuarioRepository repositorio = banco.sob(circuito);
+
+        for (int i = 0; i < 10; i++) {
+            banco.falharCom(new DataIntegrityViolationException("ORA-00001"));
+            assertThatThrownBy(() -> repositorio.findByEmail("a@mottu.com"))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+            banco.falharCom(new ObjectOptimisticLockingFailureException(MottuUsuario.class, 1L));
+            assertThatThrownBy(() -> repositorio.findByEmail("a@mottu.com"))
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        }
+        assertThat(circuito.estado()).isEqualTo(Estado.FECHADO);
+
+        banco.falharCom(new QueryTimeoutException("ORA-01013"));
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> repositorio.buscarPrincipalAtivo("a@mottu.com"))
+                    .isInstanceOf(QueryTimeoutException.class);
+        }
+        assertThat(circuito.estado()).isEqualTo(Estado.ABERTO);
+
+        int chamadas = banco.chamadas();
+        assertThatThrownBy(() -> repositorio.buscarPrincipalAtivo("a@mottu.com"))
+                .isInstanceOf(BancoIndisponivelException.class);
+        assertThatThrownBy(circuito::exigirDisponivel).isInstanceOf(BancoIndisponivelException.class);
+        assertThat(banco.chamadas()).isEqualTo(chamadas);
+
+        Thread.sleep(250);
+        banco.responder();
+        repositorio.findByEmailAndAtivoTrue("a@mottu.com");
+        assertThat(circuito.estado()).isEqualTo(Estado.SEMI_ABERTO);
+        repositorio.buscarPrincipaisAtivos(List.of("a@mottu.com"));
+        assertThat(circuito.estado()).isEqualTo(Estado.FECHADO);
+        assertThat(banco.chamadas()).isEqualTo(chamadas + 2);
+    }
+
+    @Test
+    void falhaNoSemiAbertoReabreOCircuito() throws Exception {
+        DatabaseCircuitBreaker circuito = new DatabaseCircuitBreaker(4, 2, 50, 2_000, 100, 3);
+        RepositorioSimulado banco = new RepositorioSimulado()
+                .falharCom(new DataAccessResourceFailureException("ORA-12541"));
+        MottuUsuarioRepository repositorio = banco.sob(circuito);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> repositorio.buscarPrincipalAtivo("a@mottu.com"))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+        }
+        Thread.sleep(150);
+
+        banco.responder();
+        repositorio.buscarPrincipalAtivo("a@mottu.com");
+        banco.falharCom(new DataAccessResourceFailureException("ORA-12541"));
+        assertThatThrownBy(() -> repositorio.buscarPrincipalAtivo("a@mottu.com"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(circuito.estado()).isEqualTo(Estado.ABERTO);
+    }
+
+    @Test
+    void esperaLongaNasConsultasDeAutenticacaoAbreOCircuitoSemEncurtarOPool() throws Exception {
+        assertThat(dataSource.unwrap(HikariDataSource.class).getConnectionTimeout()).isEqualTo(30_000);
+
+        DatabaseCircuitBreaker circuito = new DatabaseCircuitBreaker(10, 5, 50, 10, 10_000, 2);
+        RepositorioSimulado banco = new RepositorioSimulado().atrasar(20); // pool esgotado: espera por conexão
+        MottuUsuarioRepository repositorio = banco.sob(circuito);
+        for (int i = 0; i < 5; i++) {
+            repositorio.buscarPrincipalAtivo("a@mottu.com");
+        }
+        assertThat(circuito.estado()).isEqualTo(Estado.ABERTO);
+
+        int chamadas = banco.chamadas();
+        assertThatThrownBy(() -> repositorio.findByEmailAndAtivoTrue("a@mottu.com"))
+                .isInstanceOf(BancoIndisponivelException.class);
+        assertThat(banco.chamadas()).isEqualTo(chamadas);
+    }
+
+    @Test
+    void consultasAdministrativasLentasOuComFalhaNaoAbremOCircuito() {
+        DatabaseCircuitBreaker circuito = new DatabaseCircuitBreaker(10, 5, 50, 10, 10_000, 2);
+        RepositorioSimulado banco = new RepositorioSimulado().atrasar(20);
+        MottuUsuarioRepository repositorio = banco.sob(circuito);
+
+        for (int i = 0; i < 10; i++) {
+            repositorio.listarResumos();
+            repositorio.buscarIdsPorFiltro(null, null, null);
+            repositorio.definirAtivoEmLote(List.of(1L), false);
+        }
+        banco.atrasar(0).falharCom(new QueryTimeoutException("ORA-01013"));
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> repositorio.excluirEmLote(List.of(1L)))
+                    .isInstanceOf(QueryTimeoutException.class);
+        }
+        assertThat(circuito.estado()).isEqualTo(Estado.FECHADO);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> repositorio.findByEmailAndAtivoTrue("a@mottu.com"))
+                    .isInstanceOf(QueryTimeoutException.class);
+        }
+        assertThat(circuito.estado()).isEqualTo(Estado.ABERTO);
+
+        // circuito aberto não bloqueia o admin: a chamada chega ao banco
+        int chamadas = banco.chamadas();
+        banco.responder();
+        repositorio.listarResumos();
+        assertThat(banco.chamadas()).isEqualTo(chamadas + 1);
+    }
+
+    @Test
+    void ultimoEstadoConhecidoTemIdadeMaxima() throws Exception {
+        PrincipalCache cache = new PrincipalCache(0, 1_000, 100);
+        cache.guardar(new PrincipalUsuario(1L, "conhecido@mottu.com", PerfilUsuario.USUARIO, 0L));
+
+        assertThat(cache.buscar("conhecido@mottu.com")).isEmpty();
+        assertThat(cache.buscarUltimoConhecido("conhecido@mottu.com")).isPresent();
+
+        Thread.sleep(150);
+        assertThat(cache.buscarUltimoConhecido("conhecido@mottu.com")).isEmpty();
+    }
+
+    @Test
+    void circuitoAbertoAtendeTokensConhecidosERecusaLoginECadastro() throws Exception {
+        MottuUsuario conhecido = criarUsuario();
+        MottuUsuario desconhecido = criarUsuario();
+        String tokenConhecido = jwtService.generateToken(conhecido);
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + tokenConhecido))
+                .andExpect(status().isOk());
+        Thread.sleep(100); // entrada fora do ttl: sem o circuito, iria ao banco
+
+        RepositorioSimulado.abrirCircuito(circuitBreaker);
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + tokenConhecido))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/introspect")
+                        .header(GatewayCredentialFilter.HEADER, "chave-gateway-testes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\": [\"" + tokenConhecido + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].active").value(true));
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(desconhecido)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.codigo").value("BANCO_INDISPONIVEL"));
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + conhecido.getEmail() + "\", \"senha\": \"senha123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.codigo").value("BANCO_INDISPONIVEL"));
+        mockMvc.perform(post("/api/auth/cadastro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Novo\", \"email\": \"novo-" + UUID.randomUUID()
+                                + "@mottu.com\", \"senha\": \"senha123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.codigo").value("BANCO_INDISPONIVEL"));
+
+        Thread.sleep(3_100);
+        for (int i = 0; i < 3; i++) {
+            usuarioService.buscarPrincipalAtivo("fechar-" + UUID.randomUUID() + "@mottu.com");
+        }
+        assertThat(circuitBreaker.estado()).isEqualTo(Estado.FECHADO);
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + conhecido.getEmail() + "\", \"senha\": \"senha123\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private MottuUsuario criarUsuario() {
+        MottuUsuario usuario = new MottuUsuario("Usuário Circuito",
+                "circuito-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        usuarioService.criarUsuarioAdmin(usuario);
+        return usuario;
+    }
+}
@@ -0,0 +1,100 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.entity.MottuUsuario;
+
+/**
+ * Verifica que o email é gravado e buscado na forma canônica (trim +
+ * minúsculas) em todos os pontos de entrada: cadastro, login e
+ * formulário do admin.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class EmailNormalizationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void formaCanonicaIgnoraEspacosEMaiusculas() {
+        assertThat(MottuUsuario.normalizarEmail("  Maria.Silva@Mottu.COM ")).isEqualTo("maria.silva@mottu.com");
+        assertThat(MottuUsuario.normalizarEmail(null)).isNull();
+        assertThat(new MottuUsuario("Maria", "MARIA@MOTTU.COM", "senha123").getEmail()).isEqualTo("maria@mottu.com");
+    }
+
+    @Test
+    void cadastroELoginUsamOEmailCanonico() throws Exception {
+        String local = "normalizado-" + UUID.randomUUID();
+        String digitado = " " + local.toUpperCase() + "@Mottu.com ";
+        String canonico = local + "@mottu.com";
+
+        mockMvc.perform(post("/api/auth/cadastro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome":"Usuário Normalizado","email":"%s","senha":"senha123"}
+                                """.formatted(digitado)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(canonico));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT email_usuario FROM mottu_usuarios_sistema WHERE LOWER(email_usuario) = ?", String.class, canonico))
+                .containsExactly(canonico);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","senha":"senha123"}
+                                """.formatted(local.toUpperCase() + "@MOTTU.COM")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/cadastro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome":"Outra Conta","email":"%s","senha":"senha123"}
+                                """.formatted(local + "@MOTTU.com")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void formularioDoAdminNormalizaOEmail() throws Exception {
+        String canonico = "admin-form-" + UUID.randomUUID() + "@mottu.com";
+
+        mockMvc.perform(post("/admin/users")
+                        .param("nome", "Usuário Form")
+                        .param("email", canonico.toUpperCase())
+                        .param("senha", "senha123")
+                        .param("perfil", "USUARIO"))
+                .andExpect(status().is3xxRedirection());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mottu_usuarios_sistema WHERE email_usuario = ?", Integer.class, canonico))
+                .isEqualTo(1);
+
+        mockMvc.perform(post("/admin/users")
+                        .param("nome", "Usuário Form Repetido")
+                        .param("email", " " + canonico + " ")
+                        .param("senha", "senha123")
+                        .param("perfil", "USUARIO"))
+                .andExpect(model().attribute("error", "Email já cadastrado: " + canonico));
+    }
+}
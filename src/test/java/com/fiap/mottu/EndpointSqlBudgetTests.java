@@ -0,0 +1,193 @@
+package com.fiap.mottu;
+
+import static com.fiap.mottu.support.SqlStatementBudgetAssertions.dentroDoOrcamento;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.monitoring.SqlStatementBudget;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * Verifica o orçamento de comandos SQL (@SqlStatementBudget) de cada
+ * endpoint dos controllers, executando as requisições contra H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class EndpointSqlBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void todoEndpointDosControllersDeclaraOrcamento() {
+        handlerMapping.getHandlerMethods().forEach((info, handler) -> {
+            if (handler.getBeanType().getPackageName().startsWith("com.fiap.mottu")) {
+                assertThat(handler.hasMethodAnnotation(SqlStatementBudget.class))
+                        .as("%s sem @SqlStatementBudget", handler)
+                        .isTrue();
+            }
+        });
+    }
+
+    @Test
+    void endpointsDeAutenticacaoRespeitamOrcamento() throws Exception {
+        String email = novoEmail();
+        String cadastro = """
+                {"nome":"Usuário Orçamento","email":"%s","senha":"senha123"}
+                """.formatted(email);
+
+        String corpo = mockMvc.perform(post("/api/auth/cadastro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(cadastro))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode resposta = objectMapper.readTree(corpo);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","senha":"senha123"}
+                                """.formatted(email)))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento());
+
+        mockMvc.perform(get("/api/auth/perfil")
+                        .header("Authorization", "Bearer " + resposta.get("token").asText()))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento());
+    }
+
+    @Test
+    void paginasWebRespeitamOrcamento() throws Exception {
+        for (String pagina : new String[] {"/", "/login", "/cadastro", "/dashboard", "/admin"}) {
+            mockMvc.perform(get(pagina))
+                    .andExpect(status().isOk())
+                    .andExpect(dentroDoOrcamento());
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void endpointsAdminRespeitamOrcamento() throws Exception {
+        mockMvc.perform(get("/admin/users"))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento());
+
+        mockMvc.perform(get("/admin/users/new"))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento());
+
+        String email = novoEmail();
+        mockMvc.perform(post("/admin/users")
+                        .param("nome", "Usuário Admin")
+                        .param("email", email)
+                        .param("senha", "senha123")
+                        .param("perfil", PerfilUsuario.USUARIO.name())
+                        .param("ativo", "true"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(dentroDoOrcamento());
+
+        MottuUsuario criado = usuarioService.buscarPorEmail(email);
+
+        mockMvc.perform(get("/admin/users/{id}/edit", criado.getId()))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento());
+
+        mockMvc.perform(post("/admin/users/{id}", criado.getId())
+                        .param("nome", "Usuário Alterado")
+                        .param("email", email)
+                        .param("senha", "outraSenha123")
+                        .param("versao", String.valueOf(criado.getVersao()))
+                        .param("perfil", PerfilUsuario.ADMIN.name())
+                        .param("ativo", "true"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(dentroDoOrcamento());
+
+        mockMvc.perform(post("/admin/users/{id}/toggle", criado.getId()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(dentroDoOrcamento());
+
+        mockMvc.perform(post("/admin/users/{id}/delete", criado.getId()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(dentroDoOrcamento());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void operacoesEmMassaRespeitamOrcamento() throws Exception {
+        String hub = "@hub-" + UUID.randomUUID() + ".mottu.com";
+        MottuUsuario primeiro = new MottuUsuario("Entregador Um", "um" + hub, "senha123");
+        MottuUsuario segundo = new MottuUsuario("Entregador Dois", "dois" + hub, "senha123");
+        usuarioService.criarUsuarioAdmin(primeiro);
+        usuarioService.criarUsuarioAdmin(segundo);
+
+        mockMvc.perform(post("/admin/users/bulk")
+                        .param("acao", "INATIVAR")
+                        .param("filtroEmail", hub.toUpperCase()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("success", "INATIVAR: 2 de 2 usuário(s) selecionado(s) alterado(s)."))
+                .andExpect(dentroDoOrcamento());
+
+        assertThat(usuarioService.buscarPorId(primeiro.getId()).getAtivo()).isFalse();
+        assertThat(usuarioService.buscarPorId(segundo.getId()).getAtivo()).isFalse();
+
+        mockMvc.perform(post("/admin/users/bulk")
+                        .param("acao", "ALTERAR_PERFIL")
+                        .param("perfilDestino", PerfilUsuario.ADMIN.name())
+                        .param("ids", String.valueOf(primeiro.getId())))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("success", "ALTERAR_PERFIL: 1 de 1 usuário(s) selecionado(s) alterado(s)."))
+                .andExpect(dentroDoOrcamento());
+
+        assertThat(usuarioService.buscarPorId(primeiro.getId()).getPerfil()).isEqualTo(PerfilUsuario.ADMIN);
+
+        mockMvc.perform(post("/admin/users/bulk").param("acao", "EXCLUIR"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("error"));
+
+        mockMvc.perform(post("/admin/users/bulk")
+                        .param("acao", "EXCLUIR")
+                        .param("ids", String.valueOf(primeiro.getId()), String.valueOf(segundo.getId())))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("success", "EXCLUIR: 2 de 2 usuário(s) selecionado(s) alterado(s)."))
+                .andExpect(dentroDoOrcamento());
+
+        assertThat(usuarioService.buscarPorId(primeiro.getId())).isNull();
+    }
+
+    private static String novoEmail() {
+        return "orcamento-" + UUID.randomUUID() + "@mottu.com";
+    }
+}
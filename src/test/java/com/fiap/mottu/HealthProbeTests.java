@@ -0,0 +1,177 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.monitoring.CachedDatabaseHealthIndicator;
+import com.fiap.mottu.monitoring.ConnectionPoolHealthIndicator;
+import com.fiap.mottu.monitoring.HashSenhaHealthIndicator;
+import com.fiap.mottu.security.InstrumentedPasswordEncoder;
+import com.fiap.mottu.support.ConnectionHoldTimeProbe;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Verifica as probes: liveness e readiness respondem da memória, sem pedir
+ * conexão ao pool, o "db" não fica UP indefinidamente com o pool ocupado,
+ * e o readiness sai do ar com o pool saturado ou com a fila de hashes de
+ * senha cheia.
+ */
+@SpringBootTest(properties = "management.endpoint.health.probes.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class HealthProbeTests {
+
+    @TestConfiguration
+    static class ProbeConfig {
+        @Bean
+        static ConnectionHoldTimeProbe connectionHoldTimeProbe() {
+            return new ConnectionHoldTimeProbe();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConnectionHoldTimeProbe probe;
+
+    @Autowired
+    private CachedDatabaseHealthIndicator dbHealthIndicator;
+
+    @Test
+    void probesNaoUsamConexaoDoPool() throws Exception {
+        dbHealthIndicator.verificar();
+        probe.reiniciar();
+
+        for (int i = 0; i < 50; i++) {
+            mockMvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("UP"));
+            mockMvc.perform(get("/actuator/health/liveness"))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(probe.conexoesObtidas()).isZero();
+        assertThat(dbHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void bancoForaDoArFicaDownSemNovaConsultaPorLeitura() throws Exception {
+        DataSource indisponivel = mock(DataSource.class);
+        when(indisponivel.getConnection()).thenThrow(new SQLException("ORA-12541: no listener"));
+        CachedDatabaseHealthIndicator indicador = new CachedDatabaseHealthIndicator(indisponivel, 15_000, 1_000);
+
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UNKNOWN);
+        indicador.verificar();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(indicador.health().getStatus()).isEqualTo(Status.DOWN);
+        }
+        assertThat(indicador.health().getDetails()).containsKey("erro");
+        verify(indisponivel, times(1)).getConnection();
+    }
+
+    @Test
+    void poolSemConexaoOciosaPulaARodadaSemRenovarOResultado() throws Exception {
+        DatabaseMetaData metadados = mock(DatabaseMetaData.class);
+        when(metadados.getDatabaseProductName()).thenReturn("Oracle");
+        Connection conexao = mock(Connection.class);
+        when(conexao.isValid(1)).thenReturn(true);
+        when(conexao.getMetaData()).thenReturn(metadados);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(hikari.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        when(hikari.getConnection()).thenReturn(conexao);
+        CachedDatabaseHealthIndicator indicador = new CachedDatabaseHealthIndicator(hikari, 50, 1_000);
+
+        when(pool.getIdleConnections()).thenReturn(1);
+        indicador.verificar();
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UP);
+
+        when(pool.getIdleConnections()).thenReturn(0);
+        indicador.verificar();
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UP);
+
+        Thread.sleep(200);
+        indicador.verificar();
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UNKNOWN);
+        assertThat(indicador.health().getDetails()).containsEntry("motivo", "pool sem conexão ociosa");
+        verify(hikari, times(1)).getConnection();
+    }
+
+    @Test
+    void filaDeHashesCheiaTiraDoReadiness() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciado = new CountDownLatch(1);
+        PasswordEncoder lento = mock(PasswordEncoder.class);
+        when(lento.matches("senha", "hash")).thenAnswer(invocacao -> {
+            iniciado.countDown();
+            return liberar.await(10, TimeUnit.SECONDS);
+        });
+        InstrumentedPasswordEncoder encoder = new InstrumentedPasswordEncoder(lento);
+        HashSenhaHealthIndicator indicador = new HashSenhaHealthIndicator(encoder, 1);
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UP);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> login = executor.submit(() -> encoder.matches("senha", "hash"));
+            assertThat(iniciado.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(indicador.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+            liberar.countDown();
+            assertThat(login.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(indicador.health().getStatus()).isEqualTo(Status.UP);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void poolSaturadoTiraDoReadiness() throws Exception {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(hikari.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        ConnectionPoolHealthIndicator indicador = new ConnectionPoolHealthIndicator(hikari, 10);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.UP);
+
+        when(pool.getThreadsAwaitingConnection()).thenReturn(10);
+        assertThat(indicador.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(indicador.health().getDetails()).containsEntry("aguardando", 10);
+    }
+}
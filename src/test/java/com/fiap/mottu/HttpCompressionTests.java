@@ -0,0 +1,63 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * Verifica HTTP/2 sem TLS (h2c) e a compressão gzip do Tomcat no servidor real.
+ * As propriedades repetem as de server.* do application.yml principal,
+ * que o application.yml de testes substitui.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.http2.enabled=true",
+                "server.compression.enabled=true",
+                "server.compression.min-response-size=1KB",
+                "server.compression.mime-types=application/json,application/problem+json,text/html,text/plain"})
+@ActiveProfiles("it")
+class HttpCompressionTests {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void listagemAdministrativaSaiComprimidaEmHttp2() throws Exception {
+        MottuUsuario admin = new MottuUsuario("Admin Compressão", "compressao-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        admin.setPerfil(PerfilUsuario.ADMIN);
+        usuarioService.criarUsuarioAdmin(admin);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/admin/users"))
+                .header("Authorization", "Bearer " + jwtService.generateToken(admin))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+}
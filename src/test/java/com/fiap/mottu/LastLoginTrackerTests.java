@@ -0,0 +1,64 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.service.LastLoginTracker;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * Verifica que o login não grava o último login na hora e que a
+ * gravação periódica consolida vários logins em um único UPDATE.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class LastLoginTrackerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private LastLoginTracker lastLoginTracker;
+
+    @Test
+    void loginsSaoAcumuladosEGravadosEmLote() throws Exception {
+        String email = "ultimo-login-" + UUID.randomUUID() + "@mottu.com";
+        usuarioService.cadastrarUsuario(new CadastroRequest("Usuário Último Login", email, "senha123"));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"email":"%s","senha":"senha123"}
+                                    """.formatted(email)))
+                    .andExpect(status().isOk());
+        }
+
+        MottuUsuario antes = usuarioService.buscarPorEmail(email);
+        assertThat(antes.getUltimoLogin()).isNull();
+
+        assertThat(lastLoginTracker.descarregar()).isPositive();
+
+        MottuUsuario depois = usuarioService.buscarPorEmail(email);
+        assertThat(depois.getUltimoLogin()).isNotNull();
+        assertThat(depois.getTotalLogins()).isEqualTo(3L);
+        assertThat(depois.getVersao()).isEqualTo(antes.getVersao());
+    }
+}
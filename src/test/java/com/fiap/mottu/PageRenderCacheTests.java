@@ -0,0 +1,68 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifica que as páginas sem modelo do WebController saem do cache de
+ * renderização com ETag, 304 e versão gzip equivalente ao HTML.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class PageRenderCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void paginaEmCacheResponde304ComEtag() throws Exception {
+        MockHttpServletResponse primeira = mockMvc.perform(get("/cadastro"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse();
+        String etag = primeira.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        assertThat(primeira.getContentAsString()).contains("<form").containsPattern("/css/cadastro-[0-9a-f]{32}\\.css");
+
+        mockMvc.perform(get("/cadastro"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(get("/cadastro").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void versaoGzipEquivaleAoHtml() throws Exception {
+        MockHttpServletResponse html = mockMvc.perform(get("/dashboard")).andReturn().getResponse();
+        MockHttpServletResponse comprimida = mockMvc.perform(get("/dashboard").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        assertThat(comprimida.getHeaders(HttpHeaders.VARY)).contains("Accept-Encoding");
+
+        byte[] descomprimido;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(comprimida.getContentAsByteArray()))) {
+            descomprimido = in.readAllBytes();
+        }
+        assertThat(comprimida.getContentAsByteArray().length).isLessThan(html.getContentAsByteArray().length);
+        assertThat(new String(descomprimido, StandardCharsets.UTF_8)).isEqualTo(html.getContentAsString(StandardCharsets.UTF_8));
+        assertThat(comprimida.getHeader(HttpHeaders.ETAG)).isEqualTo(html.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,94 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fiap.mottu.dto.CadastroRequest;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.support.ConnectionHoldTimeProbe;
+
+/**
+ * Garante que os fluxos com BCrypt não seguram conexão do pool
+ * enquanto calculam o hash: o tempo de retenção de cada conexão
+ * deve ficar bem abaixo do tempo de um hash.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class PasswordHashingConnectionHoldTests {
+
+    @TestConfiguration
+    static class ProbeConfig {
+        @Bean
+        static ConnectionHoldTimeProbe connectionHoldTimeProbe() {
+            return new ConnectionHoldTimeProbe();
+        }
+    }
+
+    @Autowired
+    private ConnectionHoldTimeProbe probe;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private long tempoDeHashMillis;
+
+    @BeforeEach
+    void medirHash() {
+        // A primeira execução de cada comando no contexto inclui a preparação
+        // do Hibernate/H2, com a conexão já emprestada
+        MottuUsuario aquecimento = new MottuUsuario("Usuário Aquecimento", novoEmail(), "senha123");
+        usuarioService.criarUsuarioAdmin(aquecimento);
+        usuarioService.atualizarComSenha(aquecimento.getId(), aquecimento.getVersao(), aquecimento.getNome(),
+                aquecimento.getEmail(), PerfilUsuario.USUARIO, true, "aquecimento");
+        passwordEncoder.encode("aquecimento");
+        long inicio = System.nanoTime();
+        passwordEncoder.encode("senha123");
+        tempoDeHashMillis = (System.nanoTime() - inicio) / 1_000_000;
+        probe.reiniciar();
+    }
+
+    @Test
+    void cadastroNaoRetemConexaoDuranteHash() {
+        usuarioService.cadastrarUsuario(new CadastroRequest("Usuário Pool", novoEmail(), "senha123"));
+
+        assertRetencaoMenorQueHash();
+    }
+
+    @Test
+    void criacaoEAlteracaoDeSenhaPeloAdminNaoRetemConexaoDuranteHash() {
+        MottuUsuario usuario = new MottuUsuario("Usuário Admin Pool", novoEmail(), "senha123");
+        usuario.setPerfil(PerfilUsuario.USUARIO);
+        usuarioService.criarUsuarioAdmin(usuario);
+
+        usuarioService.atualizarComSenha(usuario.getId(), usuario.getVersao(), usuario.getNome(), usuario.getEmail(),
+                PerfilUsuario.USUARIO, true, "novaSenha123");
+
+        assertRetencaoMenorQueHash();
+    }
+
+    private void assertRetencaoMenorQueHash() {
+        assertThat(probe.conexoesObtidas()).isPositive();
+        assertThat(probe.maiorRetencaoMillis())
+                .as("retenção máxima de conexão (hash leva %d ms)", tempoDeHashMillis)
+                .isLessThan(tempoDeHashMillis / 2);
+    }
+
+    private static String novoEmail() {
+        return "pool-" + UUID.randomUUID() + "@mottu.com";
+    }
+}
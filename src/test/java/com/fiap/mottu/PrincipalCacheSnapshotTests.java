@@ -0,0 +1,185 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.MethodMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.cache.PrincipalCache;
+import com.fiap.mottu.cache.PrincipalCacheSnapshot;
+import com.fiap.mottu.cache.UserChangePoller;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+import com.fiap.mottu.support.RepositorioSimulado;
+
+/**
+ * Verifica o snapshot do PrincipalCache: um "segundo nó" (cache e poller
+ * novos) restaura o arquivo gravado pelo primeiro e reconcilia, na primeira
+ * sincronização, o que mudou depois da gravação, e até lá não autentica
+ * ninguém com o que foi restaurado; arquivos inválidos são descartados.
+ */
+@SpringBootTest(properties = "mottu.sync.usuarios.intervalo-ms=3600000") // só as sincronizações do teste
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class PrincipalCacheSnapshotTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserChangePoller poller;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void noReiniciadoVoltaComCacheCheioEReconciliaAlteracoesPosteriores() {
+        MottuUsuario mantido = criarUsuario();
+        MottuUsuario promovido = criarUsuario();
+        MottuUsuario excluido = criarUsuario();
+        for (MottuUsuario usuario : new MottuUsuario[] { mantido, promovido, excluido }) {
+            usuarioService.buscarPrincipalAtivo(usuario.getEmail());
+        }
+        poller.sincronizar();
+        Path arquivo = diretorio.resolve("principais.snapshot");
+        assertThat(snapshot(principalCache, poller, arquivo).gravar()).isGreaterThanOrEqualTo(3);
+
+        jdbcTemplate.update("UPDATE mottu_usuarios_sistema SET perfil_acesso = 'ADMIN', versao = versao + 1 "
+                + "WHERE id_usuario = ?", promovido.getId());
+        jdbcTemplate.update("DELETE FROM mottu_usuarios_sistema WHERE id_usuario = ?", excluido.getId());
+
+        PrincipalCache cacheNovo = new PrincipalCache(300_000, 1_000);
+        UserChangePoller pollerNovo = new UserChangePoller(jdbcTemplate, cacheNovo, 10_000, 24);
+        assertThat(snapshot(cacheNovo, pollerNovo, arquivo).carregar()).isGreaterThanOrEqualTo(3);
+        // antes da reconciliação, nada do snapshot autentica
+        assertThat(cacheNovo.buscar(mantido.getEmail())).isEmpty();
+        assertThat(cacheNovo.buscar(excluido.getEmail())).isEmpty();
+        assertThat(cacheNovo.buscarUltimoConhecido(excluido.getEmail())).isEmpty();
+
+        pollerNovo.sincronizar();
+
+        assertThat(cacheNovo.buscar(mantido.getEmail())).isPresent();
+        assertThat(cacheNovo.buscar(promovido.getEmail()).get().perfil()).isEqualTo(PerfilUsuario.ADMIN);
+        assertThat(cacheNovo.buscar(excluido.getEmail())).isEmpty();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD) // deixa o circuito do banco aberto
+    void snapshotAntigoComBancoForaDoArNaoAutenticaUsuarioInativado() throws Exception {
+        MottuUsuario inativado = criarUsuario();
+        usuarioService.buscarPrincipalAtivo(inativado.getEmail());
+        poller.sincronizar();
+        Path arquivo = diretorio.resolve("principais.snapshot");
+        assertThat(snapshot(principalCache, poller, arquivo).gravar()).isPositive();
+
+        // nó parado: usuário inativado em outro nó; na subida, o banco está fora do ar
+        jdbcTemplate.update("UPDATE mottu_usuarios_sistema SET ativo = 0, versao = versao + 1 "
+                + "WHERE id_usuario = ?", inativado.getId());
+        principalCache.remover(inativado.getId());
+        PrincipalCacheSnapshot subida = new PrincipalCacheSnapshot(principalCache,
+                new UserChangePoller(jdbcTemplate, principalCache, 10_000, 24), null, true,
+                arquivo.toString(), 24, datasourceUrl);
+        assertThat(subida.carregar()).isPositive();
+        RepositorioSimulado.abrirCircuito(circuitBreaker);
+
+        assertThat(principalCache.buscarUltimoConhecido(inativado.getEmail())).isEmpty();
+        mockMvc.perform(get("/api/auth/perfil")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(inativado)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.codigo").value("BANCO_INDISPONIVEL"));
+    }
+
+    @Test
+    void semSincronizacaoConcluidaNaoGrava() {
+        PrincipalCache cache = new PrincipalCache(300_000, 1_000);
+        UserChangePoller pollerNovo = new UserChangePoller(jdbcTemplate, cache, 10_000, 24);
+        Path arquivo = diretorio.resolve("principais.snapshot");
+
+        assertThat(snapshot(cache, pollerNovo, arquivo).gravar()).isZero();
+        assertThat(arquivo).doesNotExist();
+    }
+
+    @Test
+    void arquivoCorrompidoOuDeOutroBancoEDescartado() throws Exception {
+        usuarioService.buscarPrincipalAtivo(criarUsuario().getEmail());
+        poller.sincronizar();
+        Path arquivo = diretorio.resolve("principais.snapshot");
+        snapshot(principalCache, poller, arquivo).gravar();
+        byte[] original = Files.readAllBytes(arquivo);
+
+        PrincipalCacheSnapshot outroBanco = new PrincipalCacheSnapshot(new PrincipalCache(300_000, 1_000),
+                new UserChangePoller(jdbcTemplate, principalCache, 10_000, 24), null, true,
+                arquivo.toString(), 24, "jdbc:h2:mem:outro-banco");
+        assertThat(outroBanco.carregar()).isZero();
+
+        byte[] corrompido = original.clone();
+        corrompido[corrompido.length / 2] ^= 0x55;
+        Files.write(arquivo, corrompido);
+        assertThat(snapshotNovo(arquivo).carregar()).isZero();
+
+        Files.write(arquivo, Arrays.copyOf(original, original.length - 20));
+        assertThat(snapshotNovo(arquivo).carregar()).isZero();
+
+        Files.write(arquivo, original);
+        assertThat(snapshotNovo(arquivo).carregar()).isPositive();
+
+        // retenção de exclusões zero: qualquer snapshot está velho demais
+        assertThat(new PrincipalCacheSnapshot(new PrincipalCache(300_000, 1_000),
+                new UserChangePoller(jdbcTemplate, principalCache, 10_000, 24), null, true,
+                arquivo.toString(), 0, datasourceUrl).carregar()).isZero();
+    }
+
+    private PrincipalCacheSnapshot snapshotNovo(Path arquivo) {
+        PrincipalCache cache = new PrincipalCache(300_000, 1_000);
+        return snapshot(cache, new UserChangePoller(jdbcTemplate, cache, 10_000, 24), arquivo);
+    }
+
+    private PrincipalCacheSnapshot snapshot(PrincipalCache cache, UserChangePoller pollerDoNo, Path arquivo) {
+        return new PrincipalCacheSnapshot(cache, pollerDoNo, null, true, arquivo.toString(), 24, datasourceUrl);
+    }
+
+    private MottuUsuario criarUsuario() {
+        MottuUsuario usuario = new MottuUsuario("Usuário Snapshot",
+                "snapshot-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        usuarioService.criarUsuarioAdmin(usuario);
+        return usuario;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fiap.mottu.datasource.ReadWriteRoutingDataSource;
+import com.fiap.mottu.datasource.ReadYourWritesTracker;
+
+/**
+ * Verifica o roteamento leitura/escrita: transações somente leitura vão à
+ * réplica, a réplica fora do ar cai no primário, e quem escreveu há pouco
+ * (ou sobre quem se escreveu) lê do primário. Requisições anônimas não
+ * compartilham uma chave de autor.
+ */
+class ReadReplicaRoutingTests {
+
+    private final Connection conexaoPrimario = mock(Connection.class);
+
+    private final Connection conexaoReplica = mock(Connection.class);
+
+    private DataSource primario;
+
+    private DataSource replica;
+
+    private ReadYourWritesTracker leituraPropria;
+
+    private ReadWriteRoutingDataSource roteamento;
+
+    @BeforeEach
+    void configurar() throws SQLException {
+        primario = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        when(replica.getConnection()).thenReturn(conexaoReplica);
+        leituraPropria = new ReadYourWritesTracker(60_000);
+        roteamento = new ReadWriteRoutingDataSource(primario, replica, leituraPropria, 60_000);
+    }
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraVaiParaAReplicaEEscritaParaOPrimario() throws SQLException {
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(roteamento.getConnection()).isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void replicaForaDoArCaiNoPrimarioSemNovaTentativaDuranteOIntervalo() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("ORA-12541: TNS:no listener"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void escritaRecenteLevaALeituraAoPrimario() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@mottu.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        leituraPropria.registrarEscrita("alterado@mottu.com");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(roteamento.getConnection()).isSameAs(conexaoPrimario);
+
+        SecurityContextHolder.clearContext();
+        assertThat(leituraPropria.consultandoUsuario("alterado@mottu.com", this::conectar))
+                .isSameAs(conexaoPrimario);
+        assertThat(leituraPropria.consultandoUsuario("outro@mottu.com", this::conectar))
+                .isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void escritaAnonimaNaoDesviaLeiturasAnonimasParaOPrimario() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "anonimo", "anonymousUser", List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))));
+        leituraPropria.registrarEscrita("novo@mottu.com");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(leituraPropria.escreveuRecentemente("anonymousUser")).isFalse();
+        assertThat(roteamento.getConnection()).isSameAs(conexaoReplica);
+        assertThat(leituraPropria.consultandoUsuario("novo@mottu.com", this::conectar))
+                .isSameAs(conexaoPrimario);
+    }
+
+    private Connection conectar() {
+        try {
+            return roteamento.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
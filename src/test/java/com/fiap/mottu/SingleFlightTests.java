@@ -0,0 +1,212 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fiap.mottu.cache.SingleFlight;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Verifica o SingleFlight: chamadas simultâneas da mesma chave compartilham
+ * uma única carga (resultado ou exceção), chaves diferentes não se
+ * misturam, a espera tem limite e as chamadas agrupadas aparecem na
+ * métrica mottu.singleflight.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class SingleFlightTests {
+
+    private static final int CHAMADAS = 20;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void chamadasSimultaneasCompartilhamUmaCarga() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(10_000, meterRegistryProvider);
+        String operacao = operacao();
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch chegaram = new CountDownLatch(CHAMADAS - 1);
+
+        List<Object> resultados = executarJuntas(CHAMADAS, chegaram,
+                () -> singleFlight.executar(operacao, "popular@mottu.com", () -> {
+                    cargas.incrementAndGet();
+                    aguardar(chegaram);
+                    return "principal";
+                }));
+
+        assertThat(resultados).hasSize(CHAMADAS).containsOnly("principal");
+        assertThat(cargas).hasValue(1);
+        assertThat(contador(operacao, "executada")).isEqualTo(1);
+        assertThat(contador(operacao, "agrupada")).isEqualTo(CHAMADAS - 1);
+        assertThat(singleFlight.emAndamento()).isZero();
+    }
+
+    @Test
+    void falhaDaCargaChegaATodasAsChamadasAgrupadas() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(10_000, meterRegistryProvider);
+        String operacao = operacao();
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch chegaram = new CountDownLatch(CHAMADAS - 1);
+
+        List<Object> resultados = executarJuntas(CHAMADAS, chegaram, () -> {
+            try {
+                return singleFlight.executar(operacao, "popular@mottu.com", () -> {
+                    cargas.incrementAndGet();
+                    aguardar(chegaram);
+                    throw new QueryTimeoutException("ORA-01013");
+                });
+            } catch (QueryTimeoutException e) {
+                return e.getClass();
+            }
+        });
+
+        assertThat(resultados).hasSize(CHAMADAS).containsOnly(QueryTimeoutException.class);
+        assertThat(cargas).hasValue(1);
+
+        // terminada a carga, a próxima chamada consulta de novo
+        assertThat(singleFlight.executar(operacao, "popular@mottu.com", () -> "recuperado")).isEqualTo("recuperado");
+    }
+
+    @Test
+    void esperaEsgotadaFazACargaPropriaEChavesDiferentesNaoSeMisturam() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(100, meterRegistryProvider);
+        String operacao = operacao();
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> lenta = executor.submit(() -> singleFlight.executar(operacao, "a@mottu.com", () -> {
+                iniciada.countDown();
+                aguardar(liberar);
+                return "a";
+            }));
+            assertThat(iniciada.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(singleFlight.executar(operacao, "b@mottu.com", () -> "b")).isEqualTo("b");
+            assertThat(singleFlight.executar(operacao, "a@mottu.com", () -> "a propria")).isEqualTo("a propria");
+            assertThat(contador(operacao, "espera_esgotada")).isEqualTo(1);
+
+            liberar.countDown();
+            assertThat(lenta.get(10, TimeUnit.SECONDS)).isEqualTo("a");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dentroDeTransacaoNaoAgrupa() {
+        SingleFlight singleFlight = new SingleFlight(10_000, meterRegistryProvider);
+        String operacao = operacao();
+
+        String resultado = transactionTemplate.execute(status ->
+                singleFlight.executar(operacao, "a@mottu.com", () -> "na transacao"));
+
+        assertThat(resultado).isEqualTo("na transacao");
+        assertThat(contador(operacao, "executada")).isZero();
+    }
+
+    @Test
+    void servicoPassaPeloSingleFlight() {
+        MottuUsuario usuario = new MottuUsuario("Usuário Agrupado",
+                "agrupado-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        usuarioService.criarUsuarioAdmin(usuario);
+        double antes = contador("buscarPorEmail", "executada");
+
+        assertThat(usuarioService.buscarPorEmail(usuario.getEmail()).getId()).isEqualTo(usuario.getId());
+        assertThat(usuarioService.loadUserByUsername(usuario.getEmail()).getUsername()).isEqualTo(usuario.getEmail());
+        assertThatThrownBy(() -> usuarioService.buscarPorEmail("inexistente-" + UUID.randomUUID() + "@mottu.com"))
+                .hasMessageContaining("Usuário não encontrado");
+
+        assertThat(contador("buscarPorEmail", "executada")).isEqualTo(antes + 2);
+        assertThat(contador("loadUserByUsername", "executada")).isPositive();
+    }
+
+    /**
+     * Executa a mesma chamada em várias threads ao mesmo tempo. A primeira
+     * a chegar vira a carga e espera (aguardar(chegaram)) as demais
+     * sinalizarem que estão prestes a chamar; uma pausa curta cobre o
+     * intervalo entre o sinal e a chegada ao SingleFlight.
+     */
+    private static List<Object> executarJuntas(int quantidade, CountDownLatch chegaram,
+                                               Callable<Object> chamada) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        try {
+            CountDownLatch primeiraIniciada = new CountDownLatch(1);
+            List<Future<Object>> futuros = new ArrayList<>();
+            futuros.add(executor.submit(() -> {
+                primeiraIniciada.countDown();
+                return chamada.call();
+            }));
+            assertThat(primeiraIniciada.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            for (int i = 1; i < quantidade; i++) {
+                futuros.add(executor.submit(() -> {
+                    chegaram.countDown();
+                    return chamada.call();
+                }));
+            }
+            List<Object> resultados = new ArrayList<>();
+            for (Future<Object> futuro : futuros) {
+                resultados.add(futuro.get(20, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double contador(String operacao, String resultado) {
+        Counter counter = meterRegistry.find("mottu.singleflight")
+                .tags("operacao", operacao, "resultado", resultado)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static String operacao() {
+        return "teste-" + UUID.randomUUID();
+    }
+}
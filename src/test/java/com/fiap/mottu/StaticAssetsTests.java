@@ -0,0 +1,62 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifica que as páginas referenciam CSS/JS por URLs com hash do conteúdo
+ * e que esses arquivos saem pré-comprimidos e com cache imutável.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class StaticAssetsTests {
+
+    private static final Pattern CSS_VERSIONADO = Pattern.compile("/css/login-[0-9a-f]{32}\\.css");
+
+    private static final Pattern JS_VERSIONADO = Pattern.compile("/js/login-[0-9a-f]{32}\\.js");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void paginaReferenciaArquivosComHashDoConteudo() throws Exception {
+        String html = mockMvc.perform(get("/login"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html).doesNotContain("<style>");
+        assertThat(CSS_VERSIONADO.matcher(html).find()).isTrue();
+        assertThat(JS_VERSIONADO.matcher(html).find()).isTrue();
+    }
+
+    @Test
+    void arquivoVersionadoSaiComprimidoEComCacheImutavel() throws Exception {
+        String html = mockMvc.perform(get("/login")).andReturn().getResponse().getContentAsString();
+        Matcher css = CSS_VERSIONADO.matcher(html);
+        assertThat(css.find()).isTrue();
+
+        mockMvc.perform(get(css.group()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+
+        mockMvc.perform(get(css.group()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+}
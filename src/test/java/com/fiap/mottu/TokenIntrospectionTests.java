@@ -0,0 +1,192 @@
+package com.fiap.mottu;
+
+import static com.fiap.mottu.support.SqlStatementBudgetAssertions.dentroDoOrcamento;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.mottu.dto.IntrospeccaoRequest;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.security.GatewayCredentialFilter;
+import com.fiap.mottu.security.JwtTokenVerifier;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Verifica a introspecção de tokens em lote (POST /api/auth/introspect):
+ * um resultado por token na ordem recebida, uma única consulta ao banco
+ * e nenhum dado além de active/sub/role/exp.
+ */
+@SpringBootTest(properties = "mottu.introspeccao.chave-gateway=" + TokenIntrospectionTests.CHAVE_GATEWAY)
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class TokenIntrospectionTests {
+
+    static final String CHAVE_GATEWAY = "chave-gateway-testes";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void loteMisturaTokensAtivosEInativosNaOrdemRecebida() throws Exception {
+        MottuUsuario admin = criarUsuario(PerfilUsuario.ADMIN);
+        MottuUsuario inativo = criarUsuario(PerfilUsuario.USUARIO);
+        usuarioService.alternarStatusAtivo(inativo.getId());
+        String tokenAdmin = jwtService.generateToken(admin);
+
+        introspectar(List.of(tokenAdmin, jwtService.generateToken(inativo), "nao-e-um-jwt",
+                        tokenExpirado(admin.getEmail()), tokenAdmin))
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].active").value(true))
+                .andExpect(jsonPath("$[0].sub").value(admin.getEmail()))
+                .andExpect(jsonPath("$[0].role").value("ADMIN"))
+                .andExpect(jsonPath("$[0].exp").isNumber())
+                .andExpect(jsonPath("$[1].active").value(false))
+                .andExpect(jsonPath("$[1].sub").doesNotExist())
+                .andExpect(jsonPath("$[2].active").value(false))
+                .andExpect(jsonPath("$[3].active").value(false))
+                .andExpect(jsonPath("$[4].sub").value(admin.getEmail()));
+    }
+
+    @Test
+    void loteGrandeVerificaComUmaConsulta() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            MottuUsuario usuario = criarUsuario(PerfilUsuario.USUARIO);
+            tokens.add(jwtService.generateToken(usuario));
+            emails.add(usuario.getEmail());
+        }
+        tokens.addAll(tokens.subList(0, 10));
+        emails.addAll(emails.subList(0, 10));
+
+        ResultActions resposta = introspectar(tokens)
+                .andExpect(status().isOk())
+                .andExpect(dentroDoOrcamento())
+                .andExpect(jsonPath("$.length()").value(40));
+        for (int i = 0; i < emails.size(); i++) {
+            resposta.andExpect(jsonPath("$[%d].sub", i).value(emails.get(i)));
+        }
+    }
+
+    @Test
+    void loteVazioOuGrandeDemaisDevolve400() throws Exception {
+        introspectar(List.of())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value("DADOS_INVALIDOS"));
+
+        introspectar(Collections.nCopies(IntrospeccaoRequest.MAXIMO_TOKENS + 1, "token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value("DADOS_INVALIDOS"));
+    }
+
+    @Test
+    void introspeccaoSemCredencialDeGatewayDevolve401() throws Exception {
+        MottuUsuario usuario = criarUsuario(PerfilUsuario.USUARIO);
+        String token = jwtService.generateToken(usuario);
+        String corpo = objectMapper.writeValueAsString(new IntrospeccaoRequest(List.of(token)));
+
+        mockMvc.perform(post("/api/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/auth/introspect")
+                        .header(GatewayCredentialFilter.HEADER, "chave-errada")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isUnauthorized());
+
+        // JWT de USUARIO autentica, mas não autoriza a introspecção
+        mockMvc.perform(post("/api/auth/introspect")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminAutenticadoPorJwtPodeIntrospectar() throws Exception {
+        MottuUsuario admin = criarUsuario(PerfilUsuario.ADMIN);
+        String token = jwtService.generateToken(admin);
+
+        mockMvc.perform(post("/api/auth/introspect")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new IntrospeccaoRequest(List.of(token)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].active").value(true));
+    }
+
+    @Test
+    void perfilNaoExpoeOHashDaSenha() throws Exception {
+        MottuUsuario usuario = criarUsuario(PerfilUsuario.USUARIO);
+
+        mockMvc.perform(get("/api/auth/perfil")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(usuario)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(usuario.getEmail()))
+                .andExpect(jsonPath("$.senha").doesNotExist())
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    private ResultActions introspectar(List<String> tokens) throws Exception {
+        return mockMvc.perform(post("/api/auth/introspect")
+                .header(GatewayCredentialFilter.HEADER, CHAVE_GATEWAY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new IntrospeccaoRequest(tokens))));
+    }
+
+    private MottuUsuario criarUsuario(PerfilUsuario perfil) {
+        MottuUsuario usuario = new MottuUsuario("Usuário Introspecção",
+                "introspeccao-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        usuario.setPerfil(perfil);
+        usuarioService.criarUsuarioAdmin(usuario);
+        return usuario;
+    }
+
+    private String tokenExpirado(String email) {
+        long agora = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(email)
+                .issuedAt(new Date(agora - 120_000))
+                .expiration(new Date(agora - 60_000))
+                .signWith(new JwtTokenVerifier(secret).chave(), Jwts.SIG.HS256)
+                .compact();
+    }
+}
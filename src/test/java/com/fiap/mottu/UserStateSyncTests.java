@@ -0,0 +1,146 @@
+package com.fiap.mottu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fiap.mottu.cache.PrincipalCache;
+import com.fiap.mottu.cache.UserChangePoller;
+import com.fiap.mottu.entity.MottuUsuario;
+import com.fiap.mottu.entity.PerfilUsuario;
+import com.fiap.mottu.security.PrincipalUsuario;
+import com.fiap.mottu.service.JwtService;
+import com.fiap.mottu.service.MottuUsuarioService;
+
+/**
+ * Verifica a convergência do PrincipalCache: alterações feitas por outro nó
+ * (aqui, direto por JDBC) chegam pelo UserChangePoller; alterações deste nó
+ * removem a entrada no commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class UserStateSyncTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MottuUsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserChangePoller poller;
+
+    @Test
+    void requisicaoAutenticadaGuardaOPrincipalEmCache() throws Exception {
+        MottuUsuario usuario = criarUsuario();
+
+        autenticar(usuario);
+
+        assertThat(principalCache.buscar(usuario.getEmail()))
+                .get()
+                .extracting(PrincipalUsuario::id, PrincipalUsuario::perfil)
+                .containsExactly(usuario.getId(), PerfilUsuario.USUARIO);
+    }
+
+    @Test
+    void alteracaoDePerfilEmOutroNoChegaNaSincronizacao() throws Exception {
+        MottuUsuario usuario = criarUsuario();
+        autenticar(usuario);
+
+        jdbcTemplate.update("UPDATE mottu_usuarios_sistema SET perfil_acesso = 'ADMIN', versao = versao + 1 "
+                + "WHERE id_usuario = ?", usuario.getId());
+        assertThat(principalCache.buscar(usuario.getEmail()).get().perfil()).isEqualTo(PerfilUsuario.USUARIO);
+
+        poller.sincronizar();
+
+        assertThat(principalCache.buscar(usuario.getEmail()).get().perfil()).isEqualTo(PerfilUsuario.ADMIN);
+    }
+
+    @Test
+    void inativacaoEmOutroNoRemoveDoCache() throws Exception {
+        MottuUsuario usuario = criarUsuario();
+        autenticar(usuario);
+
+        jdbcTemplate.update("UPDATE mottu_usuarios_sistema SET ativo = 0, versao = versao + 1 WHERE id_usuario = ?",
+                usuario.getId());
+        poller.sincronizar();
+
+        assertThat(principalCache.buscar(usuario.getEmail())).isEmpty();
+        assertThat(usuarioService.buscarPrincipalAtivo(usuario.getEmail())).isEmpty();
+    }
+
+    @Test
+    void exclusaoEmOutroNoChegaPeloRegistroDeExclusao() throws Exception {
+        MottuUsuario usuario = criarUsuario();
+        autenticar(usuario);
+
+        jdbcTemplate.update("DELETE FROM mottu_usuarios_sistema WHERE id_usuario = ?", usuario.getId());
+        // mottu_usuarios_excluidos sobrevive ao create-drop de outros contextos, que reiniciam a sequência
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM mottu_usuarios_excluidos WHERE id_usuario = ? AND email_usuario = ?",
+                Integer.class, usuario.getId(), usuario.getEmail())).isEqualTo(1);
+
+        poller.sincronizar();
+
+        assertThat(principalCache.buscar(usuario.getEmail())).isEmpty();
+    }
+
+    @Test
+    void alteracaoNesteNoRemoveDoCacheNoCommit() throws Exception {
+        MottuUsuario usuario = criarUsuario();
+        autenticar(usuario);
+
+        usuarioService.alternarStatusAtivo(usuario.getId());
+
+        assertThat(principalCache.buscar(usuario.getEmail())).isEmpty();
+    }
+
+    @Test
+    void expurgoApagaSoRegistrosDeExclusaoAntigos() {
+        long antigo = -System.nanoTime();
+        long recente = antigo - 1;
+        jdbcTemplate.update("INSERT INTO mottu_usuarios_excluidos (id_usuario, email_usuario, data_exclusao) VALUES (?, ?, ?)",
+                antigo, "antigo@mottu.com", LocalDateTime.now().minusDays(2));
+        jdbcTemplate.update("INSERT INTO mottu_usuarios_excluidos (id_usuario, email_usuario, data_exclusao) VALUES (?, ?, ?)",
+                recente, "recente@mottu.com", LocalDateTime.now());
+
+        poller.expurgarExclusoes();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id_usuario FROM mottu_usuarios_excluidos WHERE id_usuario IN (?, ?)",
+                Long.class, antigo, recente)).containsExactly(recente);
+    }
+
+    private void autenticar(MottuUsuario usuario) throws Exception {
+        mockMvc.perform(get("/api/auth/perfil")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(usuario)))
+                .andExpect(status().isOk());
+    }
+
+    private MottuUsuario criarUsuario() {
+        MottuUsuario usuario = new MottuUsuario("Usuário Sincronização",
+                "sincronizacao-" + UUID.randomUUID() + "@mottu.com", "senha123");
+        usuarioService.criarUsuarioAdmin(usuario);
+        return usuario;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fiap.mottu.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.fiap.mottu.dto.UsuarioResumo;
+
+/**
+ * Verifica as dicas da imagem nativa e o leitor de migrações usado com AOT,
+ * sem precisar compilar a imagem.
+ */
+class NativeHintsConfigTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsConfigTests() {
+        new NativeHintsConfig.MottuRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void classesDoJjwtRegistradasExistemNoClasspath() throws Exception {
+        for (String classe : NativeHintsConfig.JJWT_IMPL) {
+            Class.forName(classe);
+            assertThat(RuntimeHintsPredicates.reflection().onType(Class.forName(classe))).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    @Test
+    void recursosEProjecoesRegistrados() throws Exception {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__Criar_Tabela_Usuarios.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/admin-users-list.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UsuarioResumo.class)).accepts(hints);
+    }
+
+    @Test
+    void leitorDeMigracoesEncontraTodosOsScripts() throws Exception {
+        FluentConfiguration configuration = new FluentConfiguration().locations("classpath:db/migration");
+        SpringMigrationResourceProvider provider = new SpringMigrationResourceProvider(configuration);
+
+        int scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql").length;
+        Collection<LoadableResource> encontrados = provider.getResources("V", ".sql");
+
+        assertThat(encontrados).hasSize(scripts);
+        assertThat(encontrados).extracting(LoadableResource::getFilename).contains("V1__Criar_Tabela_Usuarios.sql");
+        assertThat(provider.getResource("V1__Criar_Tabela_Usuarios.sql")).isNotNull();
+        assertThat(provider.getResource("V999__Inexistente.sql")).isNull();
+    }
+}
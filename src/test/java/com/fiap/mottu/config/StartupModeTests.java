@@ -0,0 +1,117 @@
+package com.fiap.mottu.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fiap.mottu.audit.AuditWriter;
+
+/**
+ * Verifica o modo de inicialização rápida: probes de liveness/readiness
+ * públicas, aquecimento antes do readiness (sem gravar auditoria) e Flyway
+ * ignorado, com o atalho ligado, quando a impressão das migrações não mudou.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"management.endpoint.health.probes.enabled=true",
+                "mottu.startup.aquecimento.enabled=true", "mottu.startup.aquecimento.iteracoes=2"})
+@ActiveProfiles("it")
+class StartupModeTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StartupWarmup startupWarmup;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Test
+    void probesRespondemSemAutenticacaoDepoisDoAquecimento() {
+        assertThat(startupWarmup.getRequisicoesExecutadas()).isEqualTo(8);
+
+        ResponseEntity<String> liveness = restTemplate.getForEntity("/actuator/health/liveness", String.class);
+        ResponseEntity<String> readiness = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+
+        assertThat(liveness.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readiness.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readiness.getBody()).contains("\"UP\"");
+    }
+
+    @Test
+    void aquecimentoNaoGravaAuditoria() {
+        auditWriter.descarregar();
+
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM mottu_auditoria_autenticacao WHERE email_usuario = ?",
+                Integer.class, StartupWarmup.EMAIL_AQUECIMENTO)).isZero();
+    }
+
+    @Test
+    void comAtalhoFlywaySoRodaQuandoAsMigracoesMudam() {
+        new JdbcTemplate(dataSource).update("DELETE FROM mottu_schema_impressao");
+        Flyway flyway = flywaySimulado();
+
+        assertThat(new SchemaFingerprint(flyway, true).migrarSeNecessario()).isTrue();
+        assertThat(new SchemaFingerprint(flyway, true).migrarSeNecessario()).isFalse();
+        verify(flyway, times(1)).migrate();
+
+        new JdbcTemplate(dataSource).update("UPDATE mottu_schema_impressao SET impressao = 'antiga'");
+        Flyway outro = flywaySimulado();
+        assertThat(new SchemaFingerprint(outro, true).migrarSeNecessario()).isTrue();
+        verify(outro, times(1)).migrate();
+    }
+
+    @Test
+    void semAtalhoFlywayRodaEValidaEmTodaSubida() {
+        new JdbcTemplate(dataSource).update("DELETE FROM mottu_schema_impressao");
+        Flyway flyway = flywaySimulado();
+
+        assertThat(new SchemaFingerprint(flyway, false).migrarSeNecessario()).isTrue();
+        assertThat(new SchemaFingerprint(flyway, false).migrarSeNecessario()).isTrue();
+        verify(flyway, times(2)).migrate();
+
+        // impressão gravada mesmo sem o atalho: ligá-lo depois já evita o Flyway
+        assertThat(new SchemaFingerprint(flyway, true).migrarSeNecessario()).isFalse();
+    }
+
+    @Test
+    void impressaoConsideraTodosOsScripts() {
+        Flyway flyway = flywaySimulado();
+        SchemaFingerprint fingerprint = new SchemaFingerprint(flyway, true);
+
+        assertThat(fingerprint.lerScripts()).containsKey("db/migration/V1__Criar_Tabela_Usuarios.sql")
+                .hasSizeGreaterThanOrEqualTo(8);
+        verify(flyway, never()).migrate();
+    }
+
+    private Flyway flywaySimulado() {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getDataSource()).thenReturn(dataSource);
+        when(configuration.getClassLoader()).thenReturn(getClass().getClassLoader());
+        when(configuration.getLocations()).thenReturn(new Location[] {new Location("classpath:db/migration")});
+        Flyway flyway = mock(Flyway.class);
+        when(flyway.getConfiguration()).thenReturn(configuration);
+        return flyway;
+    }
+}
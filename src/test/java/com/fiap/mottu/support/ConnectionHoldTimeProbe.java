@@ -0,0 +1,97 @@
+package com.fiap.mottu.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * SUPORTE DE TESTES: ConnectionHoldTimeProbe
+ * 
+ * Envolve o DataSource da aplicação e mede quanto tempo cada conexão
+ * fica emprestada do pool (de getConnection() até close()) e quantas
+ * continuam emprestadas, por thread.
+ * 
+ * USO: declarar como @Bean em uma @TestConfiguration; o BeanPostProcessor
+ * substitui o DataSource pelo wrapper instrumentado.
+ */
+public class ConnectionHoldTimeProbe implements BeanPostProcessor {
+
+    private final AtomicInteger conexoes = new AtomicInteger();
+
+    private final ThreadLocal<long[]> maiorRetencaoNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ThreadLocal<int[]> abertas = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return medir(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return medir(super.getConnection(username, password));
+                }
+            };
+        }
+        return bean;
+    }
+
+    public void reiniciar() {
+        conexoes.set(0);
+        maiorRetencaoNanos.get()[0] = 0;
+    }
+
+    public int conexoesObtidas() {
+        return conexoes.get();
+    }
+
+    /**
+     * Maior retenção entre as conexões emprestadas pela thread atual desde
+     * reiniciar() (tarefas agendadas que usam o pool em paralelo não contam)
+     */
+    public long maiorRetencaoMillis() {
+        return maiorRetencaoNanos.get()[0] / 1_000_000;
+    }
+
+    /**
+     * Conexões emprestadas pela thread atual e ainda não devolvidas
+     */
+    public int conexoesAbertasNestaThread() {
+        return abertas.get()[0];
+    }
+
+    private Connection medir(Connection conexao) {
+        conexoes.incrementAndGet();
+        long[] maiorRetencao = maiorRetencaoNanos.get();
+        int[] abertasNaThread = abertas.get();
+        abertasNaThread[0]++;
+        AtomicBoolean devolvida = new AtomicBoolean();
+        long inicio = System.nanoTime();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && devolvida.compareAndSet(false, true)) {
+                        maiorRetencao[0] = Math.max(maiorRetencao[0], System.nanoTime() - inicio);
+                        abertasNaThread[0]--;
+                    }
+                    try {
+                        return method.invoke(conexao, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
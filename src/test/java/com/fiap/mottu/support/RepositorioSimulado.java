@@ -0,0 +1,119 @@
+package com.fiap.mottu.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker;
+import com.fiap.mottu.datasource.DatabaseCircuitBreaker.Estado;
+import com.fiap.mottu.repository.MottuUsuarioRepository;
+
+/**
+ * SUPORTE DE TESTES: RepositorioSimulado
+ *
+ * MottuUsuarioRepository falso, envolvido pelo mesmo proxy que o
+ * DatabaseCircuitBreaker aplica ao bean real; os testes exercitam o
+ * circuito pelo caminho de produção (postProcessAfterInitialization).
+ *
+ * COMPORTAMENTO:
+ * - Sem falha configurada: devolve vazio (Optional.empty, lista vazia, 0)
+ * - falharCom(erro): todas as chamadas lançam o erro
+ * - atrasoMs: espera antes de responder (chamada lenta)
+ * - chamadas(): quantas chamadas chegaram ao "banco"
+ */
+public class RepositorioSimulado implements InvocationHandler {
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    private volatile RuntimeException falha;
+
+    private volatile long atrasoMs;
+
+    /**
+     * Repositório simulado sob o circuito informado
+     */
+    public MottuUsuarioRepository sob(DatabaseCircuitBreaker circuito) {
+        Object alvo = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { MottuUsuarioRepository.class }, this);
+        return (MottuUsuarioRepository) circuito.postProcessAfterInitialization(alvo, "mottuUsuarioRepository");
+    }
+
+    public RepositorioSimulado falharCom(RuntimeException erro) {
+        this.falha = erro;
+        return this;
+    }
+
+    public RepositorioSimulado responder() {
+        this.falha = null;
+        return this;
+    }
+
+    public RepositorioSimulado atrasar(long atrasoMs) {
+        this.atrasoMs = atrasoMs;
+        return this;
+    }
+
+    public int chamadas() {
+        return chamadas.get();
+    }
+
+    /**
+     * Abre o circuito (bean da aplicação) com consultas de autenticação
+     * recusadas por banco inalcançável
+     */
+    public static void abrirCircuito(DatabaseCircuitBreaker circuito) {
+        MottuUsuarioRepository repositorio = new RepositorioSimulado()
+                .falharCom(new DataAccessResourceFailureException("ORA-12541: TNS:no listener"))
+                .sob(circuito);
+        for (int i = 0; i < 20 && circuito.estado() != Estado.ABERTO; i++) {
+            try {
+                repositorio.buscarPrincipalAtivo("circuito@mottu.com");
+            } catch (DataAccessResourceFailureException esperado) {
+                // falha contada pelo circuito
+            }
+        }
+        if (circuito.estado() != Estado.ABERTO) {
+            throw new IllegalStateException("Circuito não abriu: " + circuito.estado());
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "RepositorioSimulado";
+            };
+        }
+        chamadas.incrementAndGet();
+        if (atrasoMs > 0) {
+            Thread.sleep(atrasoMs);
+        }
+        if (falha != null) {
+            throw falha;
+        }
+        Class<?> tipo = method.getReturnType();
+        if (tipo == Optional.class) {
+            return Optional.empty();
+        }
+        if (List.class.isAssignableFrom(tipo)) {
+            return List.of();
+        }
+        if (tipo == int.class) {
+            return 0;
+        }
+        if (tipo == long.class) {
+            return 0L;
+        }
+        if (tipo == boolean.class) {
+            return false;
+        }
+        return null;
+    }
+}
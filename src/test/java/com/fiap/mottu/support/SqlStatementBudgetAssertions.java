@@ -0,0 +1,50 @@
+package com.fiap.mottu.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fiap.mottu.monitoring.SqlStatementBudgetFilter;
+
+/**
+ * SUPORTE DE TESTES: SqlStatementBudgetAssertions
+ * 
+ * ResultMatchers do MockMvc para verificar a quantidade de comandos SQL
+ * executados em uma requisição, contados pelo SqlStatementBudgetFilter.
+ */
+public final class SqlStatementBudgetAssertions {
+
+    private SqlStatementBudgetAssertions() {}
+
+    /**
+     * Verifica que a requisição respeitou o @SqlStatementBudget do handler.
+     * Handlers sem orçamento declarado falham o teste.
+     */
+    public static ResultMatcher dentroDoOrcamento() {
+        return result -> {
+            Object handler = result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            int orcamento = SqlStatementBudgetFilter.orcamentoDe(handler, -1);
+            assertThat(orcamento)
+                    .as("handler %s sem @SqlStatementBudget", handler)
+                    .isGreaterThanOrEqualTo(0);
+            assertThat(contagem(result.getRequest().getAttribute(SqlStatementBudgetFilter.ATRIBUTO_CONTAGEM)))
+                    .as("comandos SQL em %s", handler)
+                    .isLessThanOrEqualTo(orcamento);
+        };
+    }
+
+    /**
+     * Verifica um limite explícito de comandos SQL, independente da anotação.
+     */
+    public static ResultMatcher noMaximo(int maximo) {
+        return result -> assertThat(contagem(result.getRequest().getAttribute(SqlStatementBudgetFilter.ATRIBUTO_CONTAGEM)))
+                .as("comandos SQL em %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maximo);
+    }
+
+    private static int contagem(Object atributo) {
+        assertThat(atributo).as("contagem de SQL não registrada pelo filtro").isNotNull();
+        return (Integer) atributo;
+    }
+}
@@ -0,0 +1,73 @@
+package com.fiap.mottu.support;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.h2.api.Trigger;
+
+/**
+ * SUPORTE DE TESTES: UsuarioSyncTrigger
+ * 
+ * Equivalente H2 dos triggers Oracle de mottu_usuarios_sistema usados pelo
+ * UserChangePoller (db/it/sincronizacao.sql):
+ * - BEFORE UPDATE: TRG_MOTTU_USUARIOS_BU (V7), preenche data_atualizacao
+ *   quando muda alguma coluna de cadastro
+ * - AFTER DELETE: TRG_MOTTU_USUARIOS_AD (V11), grava em mottu_usuarios_excluidos
+ * 
+ * IMPORTANTE: o Oracle dispara o BU para colunas presentes no SET; aqui a
+ * comparação é entre os valores antigo e novo, o que dá o mesmo resultado
+ * com o UPDATE do @DynamicUpdate (só colunas alteradas)
+ */
+public class UsuarioSyncTrigger implements Trigger {
+
+    private static final String[] COLUNAS_CADASTRO = {
+            "NOME_COMPLETO", "EMAIL_USUARIO", "SENHA_CRIPTOGRAFADA", "PERFIL_ACESSO", "ATIVO" };
+
+    private static final String REGISTRO_EXCLUSAO = "INSERT INTO mottu_usuarios_excluidos "
+            + "(id_usuario, email_usuario, data_exclusao) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    private final Map<String, Integer> posicoes = new HashMap<>();
+
+    private int tipo;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        this.tipo = type;
+        try (PreparedStatement ps = conn.prepareStatement("SELECT column_name, ordinal_position "
+                + "FROM information_schema.columns WHERE table_schema = ? AND table_name = ?")) {
+            ps.setString(1, schemaName);
+            ps.setString(2, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    posicoes.put(rs.getString(1), rs.getInt(2) - 1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (tipo == UPDATE) {
+            for (String coluna : COLUNAS_CADASTRO) {
+                int posicao = posicoes.get(coluna);
+                if (!Objects.equals(oldRow[posicao], newRow[posicao])) {
+                    newRow[posicoes.get("DATA_ATUALIZACAO")] = LocalDateTime.now();
+                    return;
+                }
+            }
+        } else if (tipo == DELETE) {
+            try (PreparedStatement ps = conn.prepareStatement(REGISTRO_EXCLUSAO)) {
+                ps.setObject(1, oldRow[posicoes.get("ID_USUARIO")]);
+                ps.setObject(2, oldRow[posicoes.get("EMAIL_USUARIO")]);
+                ps.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Tabela de auditoria para o perfil "it" (H2): as migrações Flyway usam PL/SQL
+-- e o Hibernate só gera as tabelas de entidades. VARCHAR do H2 conta
+-- caracteres; os CHECK de OCTET_LENGTH reproduzem o limite em bytes do
+-- VARCHAR2(n) do Oracle (semântica BYTE, banco AL32UTF8)
+CREATE TABLE IF NOT EXISTS mottu_auditoria_autenticacao (
+  id_evento BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  tipo_evento VARCHAR(30) NOT NULL,
+  email_usuario VARCHAR(100) CHECK (OCTET_LENGTH(email_usuario) <= 100),
+  email_ator VARCHAR(100) CHECK (OCTET_LENGTH(email_ator) <= 100),
+  detalhe VARCHAR(500) CHECK (OCTET_LENGTH(detalhe) <= 500),
+  endereco_ip VARCHAR(45) CHECK (OCTET_LENGTH(endereco_ip) <= 45),
+  data_evento TIMESTAMP(6) NOT NULL
+);
+
+-- Impressão das migrações (V8)
+CREATE TABLE IF NOT EXISTS mottu_schema_impressao (
+  id NUMBER(1) NOT NULL PRIMARY KEY,
+  impressao VARCHAR(64) NOT NULL,
+  total_migracoes NUMBER(5) NOT NULL,
+  data_registro TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Sincronização de usuários entre nós (V11) para o perfil "it" (H2)
+-- data_atualizacao não é mapeada na entidade, então o Hibernate não a cria;
+-- os triggers PL/SQL viram UsuarioSyncTrigger (src/test/java/.../support)
+ALTER TABLE mottu_usuarios_sistema ADD COLUMN IF NOT EXISTS data_atualizacao TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_mottu_usuarios_atualizacao ON mottu_usuarios_sistema(data_atualizacao);
+
+CREATE TABLE IF NOT EXISTS mottu_usuarios_excluidos (
+  id_usuario NUMBER(19) NOT NULL,
+  email_usuario VARCHAR(100) NOT NULL,
+  data_exclusao TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_mottu_usuarios_exclusao ON mottu_usuarios_excluidos(data_exclusao);
+
+CREATE TRIGGER IF NOT EXISTS trg_mottu_usuarios_bu BEFORE UPDATE ON mottu_usuarios_sistema
+  FOR EACH ROW CALL 'com.fiap.mottu.support.UsuarioSyncTrigger';
+
+CREATE TRIGGER IF NOT EXISTS trg_mottu_usuarios_ad AFTER DELETE ON mottu_usuarios_sistema
+  FOR EACH ROW CALL 'com.fiap.mottu.support.UsuarioSyncTrigger';
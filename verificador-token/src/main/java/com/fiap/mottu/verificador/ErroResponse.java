@@ -0,0 +1,11 @@
+package com.fiap.mottu.verificador;
+
+/**
+ * Corpo das respostas de erro, no mesmo formato da API
+ * (com.fiap.mottu.dto.ErroResponse).
+ *
+ * @param codigo identificador estável para o cliente
+ * @param mensagem texto para exibição
+ */
+public record ErroResponse(String codigo, String mensagem) {
+}
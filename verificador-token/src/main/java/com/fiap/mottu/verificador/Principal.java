@@ -0,0 +1,12 @@
+package com.fiap.mottu.verificador;
+
+/**
+ * Usuário ativo dono do token.
+ *
+ * @param id id_usuario
+ * @param email email canônico
+ * @param nome nome_completo
+ * @param perfil perfil_acesso (ADMIN ou USUARIO)
+ */
+public record Principal(Long id, String email, String nome, String perfil) {
+}
@@ -0,0 +1,53 @@
+package com.fiap.mottu.verificador;
+
+import java.math.BigDecimal;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * REPOSITÓRIO: PrincipalRepository
+ *
+ * Consulta reativa do principal em mottu_usuarios_sistema.
+ *
+ * IMPORTANTE:
+ * - Lê só as colunas do principal (sem senha_criptografada)
+ * - email_usuario = :email AND ativo = 1 é resolvido pelo
+ *   idx_mottu_usuarios_login (V10), como o findByEmailAndAtivoTrue da API
+ * - id_usuario é NUMBER: o driver o entrega como BigDecimal
+ * - O email chega na forma canônica (JwtTokenVerifier), a mesma gravada (V9)
+ */
+@Repository
+public class PrincipalRepository {
+
+    private static final String SQL_PRINCIPAL_ATIVO = """
+            SELECT id_usuario, email_usuario, nome_completo, perfil_acesso
+              FROM mottu_usuarios_sistema
+             WHERE email_usuario = :email AND ativo = 1
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public PrincipalRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * MÉTODO: buscarAtivoPorEmail(String email)
+     *
+     * RETORNO: Mono com o principal, vazio se o usuário não existir ou
+     * estiver inativo
+     */
+    public Mono<Principal> buscarAtivoPorEmail(String email) {
+        return databaseClient.sql(SQL_PRINCIPAL_ATIVO)
+                .bind("email", email)
+                .map((row, metadata) -> new Principal(
+                        row.get("id_usuario", BigDecimal.class).longValue(), // NUMBER sem escala
+                        row.get("email_usuario", String.class),
+                        row.get("nome_completo", String.class),
+                        row.get("perfil_acesso", String.class)))
+                .one();
+    }
+}
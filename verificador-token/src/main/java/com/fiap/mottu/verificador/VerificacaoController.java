@@ -0,0 +1,96 @@
+package com.fiap.mottu.verificador;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fiap.mottu.security.JwtTokenVerifier;
+import com.fiap.mottu.security.JwtTokenVerifier.TokenVerificado;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * CONTROLLER: VerificacaoController
+ *
+ * Endpoints consultados pelo gateway, com o token no cabeçalho
+ * Authorization: Bearer, como nas requisições à API.
+ *
+ * ENDPOINTS:
+ * - GET /api/token/verificar: assinatura e expiração, sem banco
+ * - GET /api/token/principal: verificação + usuário ativo no banco
+ *   (equivale ao que o JwtAuthenticationFilter da API faz por requisição)
+ *
+ * RESPOSTAS:
+ * - 200: VerificacaoResponse
+ * - 401 TOKEN_INVALIDO: ausente, malformado, assinatura inválida ou expirado
+ * - 401 USUARIO_INATIVO: token válido de usuário inexistente ou inativo
+ * - 503 BANCO_INDISPONIVEL: sem conexão R2DBC dentro de max-acquire-time
+ *
+ * IMPORTANTE: nada aqui bloqueia; a verificação do token é só CPU e a
+ * consulta devolve a thread ao event loop até o banco responder
+ */
+@RestController
+@RequestMapping("/api/token")
+public class VerificacaoController {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificacaoController.class);
+
+    private static final String PREFIXO_BEARER = "Bearer ";
+
+    @Autowired
+    private JwtTokenVerifier tokenVerifier;
+
+    @Autowired
+    private PrincipalRepository principalRepository;
+
+    @GetMapping("/verificar")
+    public ResponseEntity<Object> verificar(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return verificarToken(authorization)
+                .<ResponseEntity<Object>>map(token -> ResponseEntity.ok(
+                        new VerificacaoResponse(token.email(), token.expiraEm(), null)))
+                .orElseGet(VerificacaoController::tokenInvalido);
+    }
+
+    @GetMapping("/principal")
+    public Mono<ResponseEntity<Object>> principal(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Optional<TokenVerificado> verificado = verificarToken(authorization);
+        if (verificado.isEmpty()) {
+            return Mono.just(tokenInvalido());
+        }
+        TokenVerificado token = verificado.get();
+        return principalRepository.buscarAtivoPorEmail(token.email())
+                .map(principal -> ResponseEntity.<Object>ok(
+                        new VerificacaoResponse(token.email(), token.expiraEm(), principal)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ErroResponse("USUARIO_INATIVO", "Usuário inexistente ou inativo")))
+                .onErrorResume(DataAccessException.class, e -> {
+                    log.warn("Consulta do principal falhou: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .body(new ErroResponse("BANCO_INDISPONIVEL", "Banco de dados indisponível")));
+                });
+    }
+
+    private Optional<TokenVerificado> verificarToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(PREFIXO_BEARER)) {
+            return Optional.empty();
+        }
+        return tokenVerifier.verificar(authorization.substring(PREFIXO_BEARER.length()));
+    }
+
+    private static ResponseEntity<Object> tokenInvalido() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErroResponse("TOKEN_INVALIDO", "Token ausente, inválido ou expirado"));
+    }
+}
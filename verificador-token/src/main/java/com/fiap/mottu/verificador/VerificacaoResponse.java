@@ -0,0 +1,17 @@
+package com.fiap.mottu.verificador;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resposta de token aceito.
+ *
+ * @param email subject canônico do token
+ * @param expiraEm expiração do token
+ * @param principal usuário ativo; ausente em /api/token/verificar, que não
+ *                  consulta o banco
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VerificacaoResponse(String email, Instant expiraEm, Principal principal) {
+}
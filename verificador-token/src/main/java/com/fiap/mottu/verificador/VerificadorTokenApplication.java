@@ -0,0 +1,38 @@
+package com.fiap.mottu.verificador;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import com.fiap.mottu.security.JwtTokenVerifier;
+
+/**
+ * CLASSE PRINCIPAL: VerificadorTokenApplication
+ *
+ * Serviço separado para o gateway verificar tokens emitidos pela Mottu Auth
+ * API em alta concorrência. Roda em Netty (WebFlux) e consulta
+ * mottu_usuarios_sistema por R2DBC: nenhuma requisição ocupa uma thread
+ * enquanto espera o banco, então dezenas de milhares de verificações em
+ * andamento cabem nas poucas threads de event loop (uma por núcleo, mínimo 4).
+ *
+ * FUNÇÃO: Verificação de token e consulta do principal
+ * TECNOLOGIA: Spring Boot 3.2.0, WebFlux, R2DBC (Oracle)
+ *
+ * IMPORTANTE:
+ * - A validação do token é a da API (JwtTokenVerifier, artefato jwt)
+ * - jwt.secret deve ser o mesmo da API
+ * - Somente leitura: o schema continua sendo migrado pelo Flyway da API
+ */
+@SpringBootApplication
+public class VerificadorTokenApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(VerificadorTokenApplication.class, args);
+    }
+
+    @Bean
+    JwtTokenVerifier jwtTokenVerifier(@Value("${jwt.secret}") String secret) {
+        return new JwtTokenVerifier(secret);
+    }
+}
@@ -0,0 +1,163 @@
+package com.fiap.mottu.verificador;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fiap.mottu.security.JwtTokenVerifier;
+
+import io.jsonwebtoken.Jwts;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Verifica os endpoints do verificador reativo contra H2 (R2DBC) e que
+ * milhares de requisições simultâneas são atendidas pelas poucas threads
+ * de event loop do servidor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("it")
+class VerificadorTokenTests {
+
+    private static final AtomicLong PROXIMO_ID = new AtomicLong(1);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private JwtTokenVerifier tokenVerifier;
+
+    @Test
+    void tokenValidoDeUsuarioAtivoDevolveOPrincipal() {
+        String email = inserirUsuario("ativo", true);
+
+        webTestClient.get().uri("/api/token/principal")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(email.toUpperCase(), 60_000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(email)
+                .jsonPath("$.principal.email").isEqualTo(email)
+                .jsonPath("$.principal.perfil").isEqualTo("USUARIO")
+                .jsonPath("$.principal.senha").doesNotExist();
+
+        webTestClient.get().uri("/api/token/verificar")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(email, 60_000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(email)
+                .jsonPath("$.principal").doesNotExist();
+    }
+
+    @Test
+    void tokenRecusadoOuUsuarioInativoDevolve401() {
+        String inativo = inserirUsuario("inativo", false);
+
+        webTestClient.get().uri("/api/token/principal")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(inativo, 60_000))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.codigo").isEqualTo("USUARIO_INATIVO");
+
+        webTestClient.get().uri("/api/token/verificar")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(inativo, -1_000))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.codigo").isEqualTo("TOKEN_INVALIDO");
+
+        webTestClient.get().uri("/api/token/principal")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(inativo, 60_000) + "x")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.codigo").isEqualTo("TOKEN_INVALIDO");
+
+        webTestClient.get().uri("/api/token/principal")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void milharesDeRequisicoesSimultaneasEmPoucasThreads() {
+        int simultaneas = 2000;
+        String email = inserirUsuario("carga", true);
+        String bearer = "Bearer " + token(email, 60_000);
+
+        ConnectionProvider conexoes = ConnectionProvider.builder("carga")
+                .maxConnections(simultaneas)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient cliente = WebClient.builder()
+                .baseUrl("http://localhost:" + porta)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(conexoes)))
+                .build();
+        try {
+            List<Integer> status = Flux.range(0, simultaneas)
+                    .flatMap(i -> cliente.get().uri("/api/token/principal")
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .exchangeToMono(resposta -> resposta.releaseBody()
+                                    .thenReturn(resposta.statusCode().value())), simultaneas)
+                    .collectList()
+                    .block(Duration.ofMinutes(2));
+
+            assertThat(status).hasSize(simultaneas).containsOnly(200);
+        } finally {
+            conexoes.dispose();
+        }
+        // Servidor e cliente compartilham os LoopResources padrão do Reactor Netty:
+        // o total de threads de event loop continua limitado ao número de núcleos
+        long threadsEventLoop = Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(nome -> nome.startsWith("reactor-http"))
+                .count();
+        assertThat(threadsEventLoop).isLessThanOrEqualTo(Math.max(Runtime.getRuntime().availableProcessors(), 4));
+    }
+
+    private String inserirUsuario(String prefixo, boolean ativo) {
+        long id = PROXIMO_ID.getAndIncrement();
+        String email = prefixo + "-" + id + "@mottu.com";
+        databaseClient.sql("""
+                        INSERT INTO mottu_usuarios_sistema
+                            (id_usuario, nome_completo, email_usuario, senha_criptografada, perfil_acesso, ativo)
+                        VALUES (:id, :nome, :email, 'hash', 'USUARIO', :ativo)
+                        """)
+                .bind("id", id)
+                .bind("nome", "Usuário " + id)
+                .bind("email", email)
+                .bind("ativo", ativo ? 1 : 0)
+                .then()
+                .block();
+        return email;
+    }
+
+    private String token(String subject, long validadeMs) {
+        long agora = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(subject)
+                .issuedAt(new Date(agora))
+                .expiration(new Date(agora + validadeMs))
+                .signWith(tokenVerifier.chave(), Jwts.SIG.HS256)
+                .compact();
+    }
+}
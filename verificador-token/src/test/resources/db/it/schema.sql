@@ -0,0 +1,11 @@
+-- Colunas de mottu_usuarios_sistema lidas pelo verificador (schema completo: migrações da API)
+CREATE TABLE IF NOT EXISTS mottu_usuarios_sistema (
+    id_usuario NUMBER(19) PRIMARY KEY,
+    nome_completo VARCHAR2(100) NOT NULL,
+    email_usuario VARCHAR2(150) NOT NULL UNIQUE,
+    senha_criptografada VARCHAR2(255) NOT NULL,
+    perfil_acesso VARCHAR2(20) DEFAULT 'USUARIO' NOT NULL,
+    ativo NUMBER(1) DEFAULT 1 NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_mottu_usuarios_login ON mottu_usuarios_sistema(email_usuario, ativo);